@@ -0,0 +1,33 @@
+package io.conduktor.connect.websocket;
+
+/**
+ * JSON messages of a given size for the benchmarks, shaped like a typical feed frame.
+ */
+final class BenchmarkPayloads {
+
+    private BenchmarkPayloads() {
+    }
+
+    /**
+     * A message {"seq":N,"data":"xxx..."} padded to (at least) the given number of bytes.
+     */
+    static String json(long seq, int sizeBytes) {
+        StringBuilder message = new StringBuilder(sizeBytes + 32)
+                .append("{\"seq\":").append(seq).append(",\"data\":\"");
+        while (message.length() < sizeBytes - 2) {
+            message.append('x');
+        }
+        return message.append("\"}").toString();
+    }
+
+    /**
+     * A cycle of distinct messages, so the JIT cannot specialise on one string.
+     */
+    static String[] jsonCycle(int count, int sizeBytes) {
+        String[] messages = new String[count];
+        for (int i = 0; i < count; i++) {
+            messages[i] = json(i, sizeBytes);
+        }
+        return messages;
+    }
+}
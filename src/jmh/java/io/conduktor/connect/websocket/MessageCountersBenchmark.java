@@ -0,0 +1,52 @@
+package io.conduktor.connect.websocket;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-message cost of counting a received message: the shared striped core against the previous
+ * scheme (client and metrics each with an AtomicLong and their own System.currentTimeMillis()).
+ * The two-thread variants model both legs of a redundant connection counting at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageCountersBenchmark {
+
+    private final MessageCounters counters = new MessageCounters();
+
+    private final AtomicLong clientReceived = new AtomicLong();
+    private final AtomicLong metricsReceived = new AtomicLong();
+    private volatile long clientLastMessage;
+    private volatile long metricsLastMessage;
+
+    @Benchmark
+    public void sharedCore() {
+        counters.recordMessageReceived();
+    }
+
+    @Benchmark
+    public void duplicateAtomics() {
+        clientReceived.incrementAndGet();
+        clientLastMessage = System.currentTimeMillis();
+        metricsReceived.incrementAndGet();
+        metricsLastMessage = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void sharedCoreTwoLegs() {
+        counters.recordMessageReceived();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void duplicateAtomicsTwoLegs() {
+        duplicateAtomics();
+    }
+}
@@ -0,0 +1,69 @@
+package io.conduktor.connect.websocket;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the client's message queue: onMessage() (counting, size tracking, enqueue) on the
+ * WebSocket listener thread against getMessages() draining from the task thread.
+ *
+ * The handoff group runs both sides at once; the producer backs off on a full queue rather than
+ * measuring the drop path, and empty drains count as drain operations. The single-threaded batch
+ * variant gives the per-message cost without contention. The client is never connected: messages
+ * are fed straight into the listener callback.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageQueueBenchmark {
+
+    private static final int QUEUE_CAPACITY = 100000;
+    private static final int BATCH = 1000;
+
+    @Param({"128", "1024"})
+    public int payloadBytes;
+
+    private WebSocketClient client;
+    private String[] payloads;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        client = new WebSocketClient("ws://localhost:1", null, false, 1000, 0, 1000, null,
+                QUEUE_CAPACITY, 1000);
+        payloads = BenchmarkPayloads.jsonCycle(BATCH, payloadBytes);
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public void enqueue() {
+        if (client.getQueueSize() >= QUEUE_CAPACITY) {
+            Thread.onSpinWait();
+            return;
+        }
+        client.onMessage(null, payloads[next++ % BATCH]);
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public List<String> drain() {
+        return client.getMessages(BATCH);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void enqueueThenDrainBatch(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            client.onMessage(null, payloads[i]);
+        }
+        blackhole.consume(client.getMessages(BATCH));
+    }
+}
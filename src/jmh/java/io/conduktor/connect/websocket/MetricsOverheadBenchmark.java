@@ -0,0 +1,75 @@
+package io.conduktor.connect.websocket;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the JMX metrics cost: the per-message listener path with and without a WebSocketMetrics
+ * bean attached, and the periodic work done off that path (rate ticks, a Prometheus scrape).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private static final int BATCH = 1000;
+
+    private WebSocketClient bare;
+    private WebSocketClient instrumented;
+    private WebSocketMetrics metrics;
+    private String[] payloads;
+
+    @Setup
+    public void setUp() throws Exception {
+        bare = newClient();
+        instrumented = newClient();
+        metrics = new WebSocketMetrics("metrics-benchmark", "ws://localhost:1", new MessageCounters());
+        instrumented.setCounters(metrics.getCounters());
+        instrumented.setMetrics(metrics);
+        payloads = BenchmarkPayloads.jsonCycle(BATCH, 256);
+    }
+
+    @TearDown
+    public void tearDown() {
+        metrics.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void onMessageWithoutMetrics(Blackhole blackhole) {
+        feed(bare, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void onMessageWithMetrics(Blackhole blackhole) {
+        feed(instrumented, blackhole);
+    }
+
+    @Benchmark
+    public void tickRates() {
+        metrics.tickRates();
+    }
+
+    @Benchmark
+    public String prometheusScrape() {
+        return PrometheusExporter.scrape(List.of(metrics));
+    }
+
+    private void feed(WebSocketClient client, Blackhole blackhole) {
+        for (String payload : payloads) {
+            client.onMessage(null, payload);
+        }
+        blackhole.consume(client.getMessages(BATCH));
+    }
+
+    private static WebSocketClient newClient() {
+        return new WebSocketClient("ws://localhost:1", null, false, 1000, 0, 1000, null, BATCH * 2, 1000);
+    }
+}
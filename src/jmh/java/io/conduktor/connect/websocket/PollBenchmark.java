@@ -0,0 +1,75 @@
+package io.conduktor.connect.websocket;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record cost of the task's poll path: draining the queue, building SourceRecords (offsets,
+ * cursor tracking) and acknowledging them through commitRecord(), reported per record.
+ *
+ * The task runs against a MockWebSocketServer that never sends anything; each invocation feeds a
+ * batch straight into the client's listener callback and polls it back out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PollBenchmark {
+
+    private static final int BATCH = 500;
+
+    @Param({"128", "1024"})
+    public int payloadBytes;
+
+    @Param({"false", "true"})
+    public boolean cursor;
+
+    private MockWebSocketServer server;
+    private WebSocketSourceTask task;
+    private WebSocketClient client;
+    private String[] payloads;
+
+    @Setup
+    public void setUp() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        Map<String, String> props = new HashMap<>();
+        props.put("name", "poll-benchmark");
+        props.put(WebSocketSourceConnectorConfig.WEBSOCKET_URL_CONFIG, server.getUrl());
+        props.put(WebSocketSourceConnectorConfig.KAFKA_TOPIC_CONFIG, "benchmark");
+        props.put(WebSocketSourceConnectorConfig.RECONNECT_ENABLED_CONFIG, "false");
+        props.put(WebSocketSourceConnectorConfig.MESSAGE_QUEUE_SIZE_CONFIG, String.valueOf(BATCH * 2));
+        if (cursor) {
+            props.put(WebSocketSourceConnectorConfig.CURSOR_FIELD_CONFIG, "seq");
+        }
+        task = new WebSocketSourceTask();
+        task.start(props);
+        client = task.getClient();
+        payloads = BenchmarkPayloads.jsonCycle(BATCH, payloadBytes);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        task.stop();
+        server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int pollBatch() throws InterruptedException {
+        for (String payload : payloads) {
+            client.onMessage(null, payload);
+        }
+        List<SourceRecord> records = task.poll();
+        for (SourceRecord record : records) {
+            task.commitRecord(record, null);
+        }
+        return records.size();
+    }
+}
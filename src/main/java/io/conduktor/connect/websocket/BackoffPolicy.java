@@ -0,0 +1,159 @@
+package io.conduktor.connect.websocket;
+
+import okhttp3.Response;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reconnect delay decisions driven by why the connection failed.
+ *
+ * <ul>
+ *   <li>A Retry-After sent with any handshake response is honored (never retrying earlier than
+ *       it asks).</li>
+ *   <li>Other 4xx responses will not fix themselves by retrying quickly: after a number of them in
+ *       a row, a circuit breaker holds reconnects for a cool-down period.</li>
+ *   <li>A clean 1001 (going away) close retries immediately.</li>
+ *   <li>Everything else uses the exponential backoff computed by the caller.</li>
+ * </ul>
+ * Thread-safe: decisions are made on the reconnect path and reset from connection callbacks.
+ */
+public class BackoffPolicy {
+    private static final long MAX_RETRY_AFTER_MS = TimeUnit.HOURS.toMillis(1);
+
+    public enum FailureClass {
+        NETWORK,
+        RATE_LIMITED,
+        UNAVAILABLE,
+        SERVER_ERROR,
+        CLIENT_ERROR,
+        GOING_AWAY,
+        CLOSED
+    }
+
+    private final int circuitBreakerThreshold;
+    private final long circuitBreakerCooldownMs;
+    private int consecutiveClientErrors = 0;
+    private boolean circuitOpen = false;
+    private boolean circuitOpened = false;
+
+    /**
+     * @param circuitBreakerThreshold  consecutive 4xx handshake responses that open the circuit (0 disables)
+     * @param circuitBreakerCooldownMs how long an open circuit holds reconnects
+     */
+    public BackoffPolicy(int circuitBreakerThreshold, long circuitBreakerCooldownMs) {
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+        this.circuitBreakerCooldownMs = circuitBreakerCooldownMs;
+    }
+
+    /**
+     * Classify a failed connection by its handshake response, if there was one.
+     */
+    public static FailureClass classify(Response response) {
+        if (response == null) {
+            return FailureClass.NETWORK;
+        }
+        return classifyStatus(response.code());
+    }
+
+    static FailureClass classifyStatus(int code) {
+        if (code == 429) {
+            return FailureClass.RATE_LIMITED;
+        }
+        if (code == 503) {
+            return FailureClass.UNAVAILABLE;
+        }
+        if (code >= 500) {
+            return FailureClass.SERVER_ERROR;
+        }
+        if (code >= 400) {
+            return FailureClass.CLIENT_ERROR;
+        }
+        // A 101 that then failed, or an unexpected 2xx/3xx to the upgrade
+        return FailureClass.NETWORK;
+    }
+
+    /**
+     * Parse a Retry-After header: either delay-seconds or an HTTP-date.
+     *
+     * @return the delay in milliseconds, or -1 if absent or invalid
+     */
+    public static long parseRetryAfterMillis(String header, long nowMillis) {
+        if (header == null || header.trim().isEmpty()) {
+            return -1;
+        }
+        String value = header.trim();
+        try {
+            long seconds = Long.parseLong(value);
+            return seconds >= 0 ? Math.min(TimeUnit.SECONDS.toMillis(seconds), MAX_RETRY_AFTER_MS) : -1;
+        } catch (NumberFormatException e) {
+            // Not delay-seconds, try HTTP-date
+        }
+        try {
+            long at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return Math.min(Math.max(0, at - nowMillis), MAX_RETRY_AFTER_MS);
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Decide how long to wait before the next connect attempt.
+     *
+     * @param failure            why the connection failed or closed
+     * @param retryAfterMs       the server's Retry-After in milliseconds, whatever the status, or -1
+     * @param exponentialDelayMs the regular exponential backoff for this attempt
+     */
+    public synchronized long nextDelayMs(FailureClass failure, long retryAfterMs, long exponentialDelayMs) {
+        circuitOpened = false;
+        if (failure != FailureClass.CLIENT_ERROR) {
+            consecutiveClientErrors = 0;
+            circuitOpen = false;
+        }
+        long delay;
+        switch (failure) {
+            case GOING_AWAY:
+                delay = 0;
+                break;
+            case CLIENT_ERROR:
+                consecutiveClientErrors++;
+                if (circuitBreakerThreshold > 0 && consecutiveClientErrors >= circuitBreakerThreshold) {
+                    // Half-open after the cool-down: one attempt, and straight back open if it fails again
+                    circuitOpened = !circuitOpen;
+                    circuitOpen = true;
+                    delay = Math.max(circuitBreakerCooldownMs, exponentialDelayMs);
+                } else {
+                    delay = exponentialDelayMs;
+                }
+                break;
+            default:
+                delay = exponentialDelayMs;
+                break;
+        }
+        return retryAfterMs >= 0 ? Math.max(retryAfterMs, delay) : delay;
+    }
+
+    /**
+     * Reset after a successful connection.
+     */
+    public synchronized void onConnected() {
+        consecutiveClientErrors = 0;
+        circuitOpen = false;
+    }
+
+    /**
+     * Whether the last decision held reconnects because of repeated 4xx responses.
+     */
+    public synchronized boolean isCircuitOpen() {
+        return circuitOpen;
+    }
+
+    /**
+     * Whether the last decision opened the circuit, rather than keeping an open one open.
+     */
+    public synchronized boolean isCircuitJustOpened() {
+        return circuitOpened;
+    }
+}
@@ -0,0 +1,38 @@
+package io.conduktor.connect.websocket;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JVM-wide wall clock cached by a single daemon thread, for timestamps taken on every message.
+ *
+ * Reading a volatile field is cheaper than System.currentTimeMillis() and, more importantly,
+ * gives the same value to every caller within a tick, so a "last seen" field is only written
+ * once per tick instead of once per message. The value lags real time by at most TICK_MILLIS.
+ */
+final class CoarseClock {
+    static final long TICK_MILLIS = 10;
+
+    private static volatile long now = System.currentTimeMillis();
+
+    static {
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "websocket-coarse-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> now = System.currentTimeMillis(), TICK_MILLIS, TICK_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private CoarseClock() {
+    }
+
+    /**
+     * Current time in milliseconds, at most one tick old.
+     */
+    static long currentTimeMillis() {
+        return now;
+    }
+}
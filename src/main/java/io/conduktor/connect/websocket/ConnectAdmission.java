@@ -0,0 +1,209 @@
+package io.conduktor.connect.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Worker-wide admission control for connect attempts.
+ *
+ * When an upstream blips, every client in the worker wants to reconnect at once. A token bucket
+ * caps the rate of new handshakes across the JVM, and a per-host limit caps how many handshakes
+ * to the same endpoint are in flight. A client that is not admitted retries after the delay
+ * returned by {@link #retryDelayMillis()}, which includes jitter so that waiters spread out.
+ *
+ * One instance is shared by all tasks in the worker (see {@link #acquire}); it keeps the settings
+ * of the task that created it until its last user releases it. Tasks asking for other settings
+ * meanwhile are admitted under the existing ones, with a warning.
+ */
+public class ConnectAdmission {
+    private static final Logger log = LoggerFactory.getLogger(ConnectAdmission.class);
+    private static final long MIN_RETRY_DELAY_MS = 10;
+    private static final long MAX_RETRY_DELAY_MS = 1000;
+
+    private static ConnectAdmission shared;
+    private static int users = 0;
+
+    private final LongSupplier nanoClock;
+    private final double ratePerSecond;
+    private final int burst;
+    private final int maxPerHost;
+    private double tokens;
+    private long lastRefillNanos;
+    private final Map<String, Integer> inFlight = new HashMap<>();
+    private final Set<Object> waiters = new HashSet<>();
+
+    ConnectAdmission(double ratePerSecond, int burst, int maxPerHost, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.ratePerSecond = ratePerSecond;
+        this.burst = Math.max(1, burst);
+        this.maxPerHost = maxPerHost;
+        this.tokens = this.burst;
+    }
+
+    /**
+     * Register a user of the worker-wide instance, creating it on first use. Settings that
+     * differ from the running instance's are ignored: one connector must not change the limits
+     * every other connector in the worker is admitted under.
+     *
+     * @param ratePerSecond sustained connect attempts per second across the worker (0 for no rate limit)
+     * @param burst         attempts allowed back to back before the rate limit applies
+     * @param maxPerHost    concurrent handshakes per host (0 for no limit)
+     */
+    public static synchronized ConnectAdmission acquire(double ratePerSecond, int burst, int maxPerHost) {
+        if (shared == null) {
+            shared = new ConnectAdmission(ratePerSecond, burst, maxPerHost, System::nanoTime);
+            log.info("event=connect_admission_started rate_per_second={} burst={} max_per_host={}",
+                    ratePerSecond, burst, maxPerHost);
+        } else if (!shared.hasSettings(ratePerSecond, burst, maxPerHost)) {
+            log.warn("event=connect_admission_settings_ignored requested_rate_per_second={} requested_burst={} "
+                    + "requested_max_per_host={} active_rate_per_second={} active_burst={} active_max_per_host={}",
+                    ratePerSecond, burst, maxPerHost, shared.ratePerSecond, shared.burst, shared.maxPerHost);
+        }
+        users++;
+        return shared;
+    }
+
+    /**
+     * Unregister a user; the last one discards the instance, so the next task's settings apply.
+     */
+    public static synchronized void release() {
+        if (users == 0) {
+            return;
+        }
+        users--;
+        if (users == 0) {
+            shared = null;
+            log.info("event=connect_admission_stopped");
+        }
+    }
+
+    /**
+     * Get the worker-wide instance, or null if no task enabled admission control.
+     */
+    static synchronized ConnectAdmission current() {
+        return shared;
+    }
+
+    /**
+     * Key connect attempts by endpoint host and port.
+     */
+    public static String hostKey(String url) {
+        try {
+            URI uri = new URI(url);
+            int port = uri.getPort();
+            if (port == -1) {
+                port = "wss".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+            }
+            return uri.getHost() + ":" + port;
+        } catch (Exception e) {
+            return url;
+        }
+    }
+
+    /**
+     * Try to admit a connect attempt.
+     *
+     * @param hostKey endpoint key, see {@link #hostKey(String)}
+     * @param waiter  the caller; it counts as waiting until it is admitted or calls {@link #cancel}
+     * @return a permit to release once the handshake completed or failed, or null if not admitted now
+     */
+    public synchronized Permit tryAcquire(String hostKey, Object waiter) {
+        refill();
+        boolean hostFull = maxPerHost > 0 && inFlight.getOrDefault(hostKey, 0) >= maxPerHost;
+        boolean rateLimited = ratePerSecond > 0 && tokens < 1;
+        if (hostFull || rateLimited) {
+            waiters.add(waiter);
+            return null;
+        }
+        if (ratePerSecond > 0) {
+            tokens -= 1;
+        }
+        inFlight.merge(hostKey, 1, Integer::sum);
+        waiters.remove(waiter);
+        return new Permit(hostKey);
+    }
+
+    /**
+     * Stop counting the caller as waiting, e.g. on shutdown.
+     */
+    public synchronized void cancel(Object waiter) {
+        waiters.remove(waiter);
+    }
+
+    /**
+     * Get how long a rejected caller should wait before trying again.
+     */
+    public synchronized long retryDelayMillis() {
+        long delay = MIN_RETRY_DELAY_MS;
+        if (ratePerSecond > 0 && tokens < 1) {
+            delay = Math.max(delay, (long) Math.ceil((1 - tokens) * 1000 / ratePerSecond));
+        }
+        // Spread waiters out so they do not all come back in the same instant
+        delay += ThreadLocalRandom.current().nextLong(delay + 1);
+        return Math.min(delay, MAX_RETRY_DELAY_MS);
+    }
+
+    /**
+     * Get the number of callers currently waiting for admission.
+     */
+    public synchronized int getWaiting() {
+        return waiters.size();
+    }
+
+    /**
+     * Get the number of admitted handshakes still in flight.
+     */
+    public synchronized int getInFlight() {
+        int total = 0;
+        for (int count : inFlight.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    private boolean hasSettings(double ratePerSecond, int burst, int maxPerHost) {
+        return ratePerSecond == this.ratePerSecond && Math.max(1, burst) == this.burst && maxPerHost == this.maxPerHost;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        if (ratePerSecond > 0) {
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * ratePerSecond / 1_000_000_000.0);
+        }
+        lastRefillNanos = now;
+    }
+
+    private synchronized void release(String hostKey) {
+        inFlight.computeIfPresent(hostKey, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * An admitted connect attempt. Releasing it more than once has no effect.
+     */
+    public final class Permit {
+        private final String hostKey;
+        private boolean released = false;
+
+        private Permit(String hostKey) {
+            this.hostKey = hostKey;
+        }
+
+        public void release() {
+            synchronized (ConnectAdmission.this) {
+                if (!released) {
+                    released = true;
+                    ConnectAdmission.this.release(hostKey);
+                }
+            }
+        }
+    }
+}
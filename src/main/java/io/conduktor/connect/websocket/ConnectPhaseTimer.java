@@ -0,0 +1,208 @@
+package io.conduktor.connect.websocket;
+
+import okhttp3.Dns;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import javax.net.SocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.List;
+
+/**
+ * Times the phases of each connect attempt: DNS resolution, TCP connect, TLS handshake and
+ * the HTTP upgrade.
+ *
+ * OkHttp replaces the client's EventListener with EventListener.NONE for WebSocket calls, so
+ * the phases are measured through the hooks it keeps instead: a timing {@link Dns}, a
+ * {@link SocketFactory} whose sockets time {@code connect()}, and an application/network
+ * interceptor pair around the exchange. OkHttp runs a connect attempt on a single dispatcher
+ * thread, so the attempt in progress is tracked in a thread local.
+ */
+class ConnectPhaseTimer {
+    private final ThreadLocal<Phases> current = new ThreadLocal<>();
+    private final WebSocketMetrics metrics;
+    private volatile Phases lastAttempt;
+    private volatile Phases lastUpgrade;
+
+    ConnectPhaseTimer(WebSocketMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Install the timing hooks on the given client builder.
+     */
+    void install(OkHttpClient.Builder builder) {
+        builder.dns(this::lookup)
+               .socketFactory(new TimedSocketFactory())
+               .addInterceptor(this::timeAttempt)
+               .addNetworkInterceptor(this::timeExchange);
+    }
+
+    /**
+     * Get the phases of the most recent attempt, or null if none completed yet.
+     */
+    Phases getLastAttempt() {
+        return lastAttempt;
+    }
+
+    /**
+     * Get the phases of the most recent WebSocket upgrade attempt, ignoring plain HTTP requests.
+     */
+    Phases getLastUpgrade() {
+        return lastUpgrade;
+    }
+
+    private List<InetAddress> lookup(String hostname) throws java.net.UnknownHostException {
+        long start = System.nanoTime();
+        try {
+            return Dns.SYSTEM.lookup(hostname);
+        } finally {
+            Phases phases = current.get();
+            if (phases != null) {
+                phases.dnsNanos += System.nanoTime() - start;
+            }
+        }
+    }
+
+    private Response timeAttempt(Interceptor.Chain chain) throws IOException {
+        Phases phases = new Phases();
+        FlightEvents.ConnectAttempt event = new FlightEvents.ConnectAttempt();
+        event.begin();
+        long start = System.nanoTime();
+        current.set(phases);
+        try {
+            Response response = chain.proceed(chain.request());
+            // An upgrade only succeeds when the server switches protocols
+            phases.success = !isUpgrade(chain.request()) || response.code() == 101;
+            return response;
+        } finally {
+            current.remove();
+            long end = System.nanoTime();
+            if (!phases.exchangeStarted && phases.tcpConnected && chain.request().isHttps()) {
+                // Connected but never got to send the upgrade: the handshake failed or timed out
+                phases.tlsNanos = end - phases.tcpEndNanos;
+            }
+            phases.totalNanos = end - start;
+            lastAttempt = phases;
+            if (isUpgrade(chain.request())) {
+                lastUpgrade = phases;
+                if (metrics != null) {
+                    metrics.recordConnectPhases(phases.dnsNanos, phases.tcpNanos, phases.tlsNanos,
+                            phases.upgradeNanos, phases.totalNanos, phases.success);
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.url = MirrorSelector.displayName(chain.request().url().toString());
+                    event.successful = phases.success;
+                    event.reused = phases.reused;
+                    event.dns = phases.dnsNanos;
+                    event.tcp = phases.tcpNanos;
+                    event.tls = phases.tlsNanos;
+                    event.upgrade = phases.upgradeNanos;
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    private Response timeExchange(Interceptor.Chain chain) throws IOException {
+        long start = System.nanoTime();
+        Phases phases = current.get();
+        if (phases != null) {
+            phases.exchangeStarted = true;
+            if (phases.tcpEndNanos == 0) {
+                phases.reused = true;
+            } else if (chain.request().isHttps()) {
+                // The connection is handed to the network interceptors right after the handshake
+                phases.tlsNanos = start - phases.tcpEndNanos;
+            }
+        }
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            if (phases != null) {
+                phases.upgradeNanos = System.nanoTime() - start;
+            }
+        }
+    }
+
+    private static boolean isUpgrade(Request request) {
+        return "websocket".equalsIgnoreCase(request.header("Upgrade"));
+    }
+
+    /**
+     * Phase durations of one connect attempt, in nanoseconds. A phase that did not run
+     * (e.g. TLS on ws://, or everything but the upgrade on a reused connection) is 0.
+     */
+    static final class Phases {
+        long dnsNanos;
+        long tcpNanos;
+        long tlsNanos;
+        long upgradeNanos;
+        long totalNanos;
+        long tcpEndNanos;
+        boolean tcpConnected;
+        boolean exchangeStarted;
+        boolean reused;
+        boolean success;
+
+        String describe() {
+            return String.format("dns_ms=%d tcp_ms=%d tls_ms=%d upgrade_ms=%d total_ms=%d reused_connection=%s",
+                    dnsNanos / 1_000_000, tcpNanos / 1_000_000, tlsNanos / 1_000_000,
+                    upgradeNanos / 1_000_000, totalNanos / 1_000_000, reused);
+        }
+    }
+
+    private final class TimedSocketFactory extends SocketFactory {
+        @Override
+        public Socket createSocket() {
+            return new TimedSocket();
+        }
+
+        @Override
+        public Socket createSocket(String host, int port) throws IOException {
+            return SocketFactory.getDefault().createSocket(host, port);
+        }
+
+        @Override
+        public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+            return SocketFactory.getDefault().createSocket(host, port, localHost, localPort);
+        }
+
+        @Override
+        public Socket createSocket(InetAddress host, int port) throws IOException {
+            return SocketFactory.getDefault().createSocket(host, port);
+        }
+
+        @Override
+        public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort)
+                throws IOException {
+            return SocketFactory.getDefault().createSocket(address, port, localAddress, localPort);
+        }
+    }
+
+    private final class TimedSocket extends Socket {
+        @Override
+        public void connect(SocketAddress endpoint, int timeout) throws IOException {
+            long start = System.nanoTime();
+            boolean connected = false;
+            try {
+                super.connect(endpoint, timeout);
+                connected = true;
+            } finally {
+                Phases phases = current.get();
+                if (phases != null) {
+                    // Failed routes count towards the phase, like they count towards the reconnect gap
+                    phases.tcpEndNanos = System.nanoTime();
+                    phases.tcpNanos += phases.tcpEndNanos - start;
+                    phases.tcpConnected = connected;
+                }
+            }
+        }
+    }
+}
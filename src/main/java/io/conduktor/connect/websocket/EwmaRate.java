@@ -0,0 +1,76 @@
+package io.conduktor.connect.websocket;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Rolling rates of a monotonic counter: the rate over the last tick and exponentially weighted
+ * moving averages over 1, 5 and 15 minutes (the same decay as Unix load averages).
+ *
+ * The counter is sampled by {@link #tick()} once per TICK_SECONDS from a background ticker, so
+ * the message path pays nothing for rates. Because only deltas of the sampled counter are used,
+ * resetting the JMX counters does not disturb the rates. Ticks come from one thread; reads may
+ * come from any.
+ */
+final class EwmaRate {
+    static final int TICK_SECONDS = 1;
+
+    private static final double ALPHA_1M = alpha(1);
+    private static final double ALPHA_5M = alpha(5);
+    private static final double ALPHA_15M = alpha(15);
+
+    private final LongSupplier counter;
+    private long lastCount;
+    private boolean initialized = false;
+    private volatile double currentRate = 0.0;
+    private volatile double oneMinuteRate = 0.0;
+    private volatile double fiveMinuteRate = 0.0;
+    private volatile double fifteenMinuteRate = 0.0;
+
+    EwmaRate(LongSupplier counter) {
+        this.counter = counter;
+        this.lastCount = counter.getAsLong();
+    }
+
+    private static double alpha(int minutes) {
+        return 1 - Math.exp(-TICK_SECONDS / (60.0 * minutes));
+    }
+
+    /**
+     * Sample the counter and fold the rate since the previous tick into the averages.
+     */
+    void tick() {
+        long count = counter.getAsLong();
+        double rate = (double) (count - lastCount) / TICK_SECONDS;
+        lastCount = count;
+        currentRate = rate;
+        if (!initialized) {
+            oneMinuteRate = rate;
+            fiveMinuteRate = rate;
+            fifteenMinuteRate = rate;
+            initialized = true;
+            return;
+        }
+        oneMinuteRate += ALPHA_1M * (rate - oneMinuteRate);
+        fiveMinuteRate += ALPHA_5M * (rate - fiveMinuteRate);
+        fifteenMinuteRate += ALPHA_15M * (rate - fifteenMinuteRate);
+    }
+
+    /**
+     * Events per second over the last tick.
+     */
+    double getCurrentRate() {
+        return currentRate;
+    }
+
+    double getOneMinuteRate() {
+        return oneMinuteRate;
+    }
+
+    double getFiveMinuteRate() {
+        return fiveMinuteRate;
+    }
+
+    double getFifteenMinuteRate() {
+        return fifteenMinuteRate;
+    }
+}
@@ -0,0 +1,222 @@
+package io.conduktor.connect.websocket;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events of the connector, for lining up feed behavior with GC pauses,
+ * safepoints and thread activity in a recording.
+ *
+ * Call sites create the event and check {@code isEnabled()} before filling it in: with the
+ * event disabled (no recording, or a settings file that turns it off) that check is a constant
+ * and the allocation is eliminated, so the events cost nothing in production. URLs are reported
+ * without their query string, which may carry credentials.
+ */
+final class FlightEvents {
+    static final String CATEGORY = "Kafka Connect";
+    static final String SUBCATEGORY = "WebSocket";
+
+    private FlightEvents() {
+    }
+
+    static void connectionOpened(String url, int responseCode) {
+        ConnectionOpened event = new ConnectionOpened();
+        if (event.isEnabled()) {
+            event.url = MirrorSelector.displayName(url);
+            event.responseCode = responseCode;
+            event.commit();
+        }
+    }
+
+    static void connectionClosed(String url, int code, String reason) {
+        ConnectionClosed event = new ConnectionClosed();
+        if (event.isEnabled()) {
+            event.url = MirrorSelector.displayName(url);
+            event.code = code;
+            event.reason = reason;
+            event.commit();
+        }
+    }
+
+    static void connectionFailed(String url, BackoffPolicy.FailureClass failure, int responseCode, String message) {
+        ConnectionFailed event = new ConnectionFailed();
+        if (event.isEnabled()) {
+            event.url = MirrorSelector.displayName(url);
+            event.failureClass = failure.name();
+            event.responseCode = responseCode;
+            event.message = message;
+            event.commit();
+        }
+    }
+
+    /**
+     * Start an overflow burst at its first dropped message, or return null if the event is disabled.
+     */
+    static QueueOverflow overflowStarted(String url, int queueCapacity) {
+        QueueOverflow event = new QueueOverflow();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        event.url = MirrorSelector.displayName(url);
+        event.queueCapacity = queueCapacity;
+        return event;
+    }
+
+    static void overflowEnded(QueueOverflow event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+
+    static void commitGap(long previousSequence, long sequence, long missing) {
+        CommitGap event = new CommitGap();
+        if (event.isEnabled()) {
+            event.previousSequence = previousSequence;
+            event.sequence = sequence;
+            event.missing = missing;
+            event.commit();
+        }
+    }
+
+    @Name("io.conduktor.connect.websocket.ConnectAttempt")
+    @Label("WebSocket Connect Attempt")
+    @Description("One connect attempt, from DNS resolution to the end of the HTTP upgrade")
+    @Category({CATEGORY, SUBCATEGORY})
+    @StackTrace(false)
+    static final class ConnectAttempt extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Successful")
+        boolean successful;
+
+        @Label("Reused Connection")
+        boolean reused;
+
+        @Label("DNS")
+        @Timespan(Timespan.NANOSECONDS)
+        long dns;
+
+        @Label("TCP Connect")
+        @Timespan(Timespan.NANOSECONDS)
+        long tcp;
+
+        @Label("TLS Handshake")
+        @Timespan(Timespan.NANOSECONDS)
+        long tls;
+
+        @Label("HTTP Upgrade")
+        @Timespan(Timespan.NANOSECONDS)
+        long upgrade;
+    }
+
+    @Name("io.conduktor.connect.websocket.ConnectionOpened")
+    @Label("WebSocket Connection Opened")
+    @Category({CATEGORY, SUBCATEGORY})
+    @StackTrace(false)
+    static final class ConnectionOpened extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Response Code")
+        int responseCode;
+    }
+
+    @Name("io.conduktor.connect.websocket.ConnectionClosed")
+    @Label("WebSocket Connection Closed")
+    @Category({CATEGORY, SUBCATEGORY})
+    @StackTrace(false)
+    static final class ConnectionClosed extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Close Code")
+        int code;
+
+        @Label("Reason")
+        String reason;
+    }
+
+    @Name("io.conduktor.connect.websocket.ConnectionFailed")
+    @Label("WebSocket Connection Failed")
+    @Category({CATEGORY, SUBCATEGORY})
+    @StackTrace(false)
+    static final class ConnectionFailed extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Failure Class")
+        String failureClass;
+
+        @Label("Response Code")
+        int responseCode;
+
+        @Label("Message")
+        String message;
+    }
+
+    @Name("io.conduktor.connect.websocket.QueueOverflow")
+    @Label("WebSocket Queue Overflow Burst")
+    @Description("A run of messages dropped because the queue was full, from the first drop to the next accepted message")
+    @Category({CATEGORY, SUBCATEGORY})
+    @StackTrace(false)
+    static final class QueueOverflow extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Messages Dropped")
+        long messagesDropped;
+
+        @Label("Bytes Dropped")
+        @DataAmount
+        long bytesDropped;
+
+        @Label("Queue Capacity")
+        int queueCapacity;
+    }
+
+    @Name("io.conduktor.connect.websocket.PollBatch")
+    @Label("WebSocket Poll Batch")
+    @Description("A sampled poll() batch: draining the queue and building its records")
+    @Category({CATEGORY, SUBCATEGORY})
+    @StackTrace(false)
+    static final class PollBatch extends Event {
+        @Label("Messages")
+        int messages;
+
+        @Label("Records")
+        int records;
+
+        @Label("Records In Flight")
+        long recordsInFlight;
+
+        @Label("Max Dwell Time")
+        @Description("Time since the previous poll handed out messages, an upper bound for how long they waited")
+        @Timespan(Timespan.MILLISECONDS)
+        long dwell;
+    }
+
+    @Name("io.conduktor.connect.websocket.CommitGap")
+    @Label("WebSocket Commit Sequence Gap")
+    @Description("commitRecord() acknowledged a sequence that does not follow the previous one")
+    @Category({CATEGORY, SUBCATEGORY})
+    @StackTrace(false)
+    static final class CommitGap extends Event {
+        @Label("Previous Sequence")
+        long previousSequence;
+
+        @Label("Sequence")
+        long sequence;
+
+        @Label("Missing")
+        long missing;
+    }
+}
@@ -0,0 +1,253 @@
+package io.conduktor.connect.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal single-pass JSON scanner for the message hot path.
+ *
+ * Walks the raw frame text by index and returns slices of it, without building
+ * a document tree and without a JSON library dependency. Field paths are dotted
+ * names into nested objects (e.g. "data.updates"); keys are matched on their raw,
+ * unescaped text.
+ */
+public final class JsonScanner {
+
+    private JsonScanner() {
+        // Utility class
+    }
+
+    /**
+     * Compile a dotted field path into its segments.
+     * A null or blank path means the document root.
+     */
+    public static String[] compilePath(String path) {
+        if (path == null || path.trim().isEmpty()) {
+            return new String[0];
+        }
+        String[] segments = path.trim().split("\\.");
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = segments[i].trim();
+        }
+        return segments;
+    }
+
+    /**
+     * Split the array found at the given path into its raw element slices.
+     *
+     * @return the elements in document order, or null if the path does not
+     *         resolve to an array or the frame is malformed
+     */
+    public static List<String> splitArray(String json, String[] path) {
+        if (json == null) {
+            return null;
+        }
+        int pos = resolve(json, path);
+        if (pos < 0 || json.charAt(pos) != '[') {
+            return null;
+        }
+
+        List<String> elements = new ArrayList<>();
+        pos = skipWhitespace(json, pos + 1);
+        if (pos < json.length() && json.charAt(pos) == ']') {
+            return elements;
+        }
+
+        while (pos < json.length()) {
+            int end = skipValue(json, pos);
+            if (end < 0) {
+                return null;
+            }
+            elements.add(json.substring(pos, end));
+
+            pos = skipWhitespace(json, end);
+            if (pos >= json.length()) {
+                return null;
+            }
+            char c = json.charAt(pos);
+            if (c == ']') {
+                return elements;
+            }
+            if (c != ',') {
+                return null;
+            }
+            pos = skipWhitespace(json, pos + 1);
+        }
+        return null;
+    }
+
+    /**
+     * Extract the raw value of the field at the given path.
+     * String values are returned without their surrounding quotes (escapes are kept as-is),
+     * other values as their literal text.
+     *
+     * @return the value, or null if the path does not resolve or the frame is malformed
+     */
+    public static String extractField(String json, String[] path) {
+        if (json == null || path.length == 0) {
+            return null;
+        }
+        int pos = resolve(json, path);
+        if (pos < 0) {
+            return null;
+        }
+        int end = skipValue(json, pos);
+        if (end < 0) {
+            return null;
+        }
+        if (json.charAt(pos) == '"') {
+            return json.substring(pos + 1, end - 1);
+        }
+        return json.substring(pos, end);
+    }
+
+    /**
+     * Walk the field path from the document root.
+     *
+     * @return the index of the first character of the value at the path, or -1
+     */
+    private static int resolve(String json, String[] path) {
+        int pos = skipWhitespace(json, 0);
+        for (String segment : path) {
+            if (pos >= json.length() || json.charAt(pos) != '{') {
+                return -1;
+            }
+            pos = findField(json, pos, segment);
+            if (pos < 0) {
+                return -1;
+            }
+        }
+        return pos < json.length() ? pos : -1;
+    }
+
+    /**
+     * Find a field in the object starting at {@code pos} (which must point at '{').
+     *
+     * @return the index of the field's value, or -1 if absent or malformed
+     */
+    private static int findField(String json, int pos, String name) {
+        int len = json.length();
+        pos = skipWhitespace(json, pos + 1);
+        while (pos < len) {
+            if (json.charAt(pos) != '"') {
+                return -1;
+            }
+            int keyStart = pos + 1;
+            int keyEnd = skipString(json, pos);
+            if (keyEnd < 0) {
+                return -1;
+            }
+            int keyLength = keyEnd - 1 - keyStart;
+
+            pos = skipWhitespace(json, keyEnd);
+            if (pos >= len || json.charAt(pos) != ':') {
+                return -1;
+            }
+            pos = skipWhitespace(json, pos + 1);
+            if (pos >= len) {
+                return -1;
+            }
+
+            if (keyLength == name.length() && json.regionMatches(keyStart, name, 0, keyLength)) {
+                return pos;
+            }
+
+            pos = skipValue(json, pos);
+            if (pos < 0) {
+                return -1;
+            }
+            pos = skipWhitespace(json, pos);
+            if (pos >= len || json.charAt(pos) != ',') {
+                return -1;
+            }
+            pos = skipWhitespace(json, pos + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Skip over the value starting at {@code pos}.
+     *
+     * @return the index just past the value, or -1 if it is unterminated
+     */
+    static int skipValue(String json, int pos) {
+        char c = json.charAt(pos);
+        if (c == '"') {
+            return skipString(json, pos);
+        }
+        if (c == '{' || c == '[') {
+            return skipContainer(json, pos);
+        }
+
+        // Scalar: number, true, false or null
+        int len = json.length();
+        int i = pos;
+        while (i < len) {
+            char s = json.charAt(i);
+            if (s == ',' || s == ']' || s == '}' || isWhitespace(s)) {
+                break;
+            }
+            i++;
+        }
+        return i > pos ? i : -1;
+    }
+
+    private static int skipContainer(String json, int pos) {
+        int len = json.length();
+        int depth = 0;
+        int i = pos;
+        while (i < len) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                i = skipString(json, i);
+                if (i < 0) {
+                    return -1;
+                }
+                continue;
+            }
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Skip over the string starting at {@code pos} (which must point at its opening quote).
+     *
+     * @return the index just past the closing quote, or -1 if it is unterminated
+     */
+    static int skipString(String json, int pos) {
+        int len = json.length();
+        int i = pos + 1;
+        while (i < len) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    static int skipWhitespace(String json, int pos) {
+        int len = json.length();
+        while (pos < len && isWhitespace(json.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+}
@@ -0,0 +1,111 @@
+package io.conduktor.connect.websocket;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-bucket latency histogram for JMX.
+ *
+ * Buckets follow a 1-2-5 progression from 1 ms to 30 s, plus an overflow bucket, which is
+ * enough resolution to tell a slow DNS server from a slow TLS handshake. Recording is
+ * lock-free; a bucket holds values up to and including its bound, as a Prometheus {@code le}
+ * bucket does, and percentiles are reported as the upper bound of the bucket they fall in.
+ *
+ * {@link #reset()} starts the JMX view over by moving a baseline; the lifetime counts keep
+ * growing, since the Prometheus endpoint exports them as a monotonic histogram.
+ */
+final class LatencyHistogram {
+    static final long[] BUCKET_BOUNDS_MILLIS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+    private final AtomicLong count = new AtomicLong(0);
+    private final AtomicLong maxNanos = new AtomicLong(0);
+    private final AtomicLong sumNanos = new AtomicLong(0);
+    private volatile long[] countsBaseline = new long[BUCKET_BOUNDS_MILLIS.length + 1];
+    private volatile long countBaseline = 0;
+    private volatile long sumNanosBaseline = 0;
+
+    void record(long nanos) {
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MILLIS.length && nanos > BUCKET_BOUNDS_MILLIS[bucket] * 1_000_000) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+        count.incrementAndGet();
+        sumNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    long getCount() {
+        return count.get() - countBaseline;
+    }
+
+    long getSumNanos() {
+        return sumNanos.get() - sumNanosBaseline;
+    }
+
+    long getLifetimeSumNanos() {
+        return sumNanos.get();
+    }
+
+    double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Get the upper bound, in milliseconds, of the bucket holding the given quantile
+     * (the maximum for the overflow bucket), or 0 if nothing was recorded.
+     */
+    double getPercentileMillis(double quantile) {
+        long[] snapshot = getBucketCounts();
+        long total = 0;
+        for (long bucketCount : snapshot) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return BUCKET_BOUNDS_MILLIS[i];
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Get the per-bucket counts since the last reset; element i counts values up to
+     * {@code BUCKET_BOUNDS_MILLIS[i]}, the last element counts the overflow.
+     */
+    long[] getBucketCounts() {
+        long[] snapshot = getLifetimeBucketCounts();
+        long[] baseline = countsBaseline;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] -= baseline[i];
+        }
+        return snapshot;
+    }
+
+    /**
+     * Get the per-bucket counts since creation, unaffected by {@link #reset()}.
+     */
+    long[] getLifetimeBucketCounts() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    void reset() {
+        countsBaseline = getLifetimeBucketCounts();
+        countBaseline = count.get();
+        sumNanosBaseline = sumNanos.get();
+        maxNanos.set(0);
+    }
+}
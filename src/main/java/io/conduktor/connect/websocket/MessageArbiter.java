@@ -0,0 +1,93 @@
+package io.conduktor.connect.websocket;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * First-arrival-wins arbitration between two connections carrying the same feed.
+ *
+ * Each message is keyed by a payload ID/sequence field (or by its full content when no
+ * field is configured). The first copy of a key is forwarded and the copy from the other
+ * leg is dropped. Keys are remembered in a bounded window; a key that leaves the window
+ * without its twin is counted as unmatched for the leg that delivered it.
+ */
+public class MessageArbiter {
+    public static final int PRIMARY = 0;
+    public static final int STANDBY = 1;
+
+    private final String[] idPath;
+    private final Map<String, Arrival> window;
+    private WebSocketMetrics metrics;
+
+    public MessageArbiter(String[] idPath, int windowSize) {
+        this.idPath = idPath != null && idPath.length > 0 ? idPath : null;
+        this.window = new LinkedHashMap<String, Arrival>(Math.min(windowSize, 1024) * 2) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Arrival> eldest) {
+                if (size() <= windowSize) {
+                    return false;
+                }
+                if (!eldest.getValue().matched && metrics != null) {
+                    metrics.incrementLegUnmatched(eldest.getValue().leg);
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Set the metrics tracker that records leg wins and divergence.
+     */
+    public void setMetrics(WebSocketMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Decide whether a message received on the given leg should be forwarded.
+     *
+     * @return true if this is the first copy of the message, false if the other leg already delivered it
+     */
+    public boolean accept(int leg, String message) {
+        String key = idPath != null ? JsonScanner.extractField(message, idPath) : null;
+        if (key == null) {
+            key = message;
+        }
+        long now = System.nanoTime();
+
+        synchronized (window) {
+            Arrival first = window.get(key);
+            if (first != null && first.leg != leg && !first.matched) {
+                first.matched = true;
+                if (metrics != null) {
+                    metrics.recordLegDivergence(now - first.nanos);
+                }
+                return false;
+            }
+
+            // New key, or a genuine repeat of a key already seen
+            if (first != null) {
+                if (!first.matched && metrics != null) {
+                    metrics.incrementLegUnmatched(first.leg);
+                }
+                window.remove(key);
+            }
+            window.put(key, new Arrival(leg, now));
+        }
+
+        if (metrics != null) {
+            metrics.incrementLegWins(leg);
+        }
+        return true;
+    }
+
+    private static final class Arrival {
+        final int leg;
+        final long nanos;
+        boolean matched;
+
+        Arrival(int leg, long nanos) {
+            this.leg = leg;
+            this.nanos = nanos;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.conduktor.connect.websocket;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Message path counters shared by the client legs, the task and the JMX metrics of one task.
+ *
+ * Each event is counted exactly once, here. Counters are striped (LongAdder) so the reader
+ * threads of both legs and the poll thread never contend on one cache line, and the last-message
+ * timestamp comes from the {@link CoarseClock} and is only written when the tick has moved on.
+ * Counters are monotonic: resetting is the reader's business (see WebSocketMetrics), which keeps
+ * rates derived from them correct across resets. The size distribution is the exception; it is
+ * reset with the JMX counters.
+ *
+ * The queued totals track what sits in the shared message queue, for a heap estimate: messages
+ * are JSON text and mostly Latin-1, which compact strings store at one byte per char.
+ */
+public class MessageCounters {
+    private final LongAdder messagesReceived = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder messagesDropped = new LongAdder();
+    private final LongAdder recordsProduced = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private final SizeHistogram messageSizes = new SizeHistogram();
+    private final LongAdder queuedMessages = new LongAdder();
+    private final LongAdder queuedChars = new LongAdder();
+    private volatile long lastMessageMillis = 0;
+
+    /**
+     * Count a received message whose size is unknown.
+     */
+    public void recordMessageReceived() {
+        messagesReceived.increment();
+        touch();
+    }
+
+    /**
+     * Count a received message of the given payload size in bytes.
+     */
+    public void recordMessageReceived(int bytes) {
+        messagesReceived.increment();
+        bytesReceived.add(bytes);
+        messageSizes.record(bytes);
+        touch();
+    }
+
+    private void touch() {
+        long now = CoarseClock.currentTimeMillis();
+        if (now != lastMessageMillis) {
+            lastMessageMillis = now;
+        }
+    }
+
+    /**
+     * Account for a message added to the queue.
+     */
+    public void recordEnqueued(String message) {
+        queuedMessages.increment();
+        queuedChars.add(message.length());
+    }
+
+    /**
+     * Account for messages taken from the queue, {@code messages[from..]}.
+     */
+    public void recordDequeued(List<String> messages, int from) {
+        long chars = 0;
+        for (int i = from; i < messages.size(); i++) {
+            chars += messages.get(i).length();
+        }
+        queuedMessages.add(-(messages.size() - from));
+        queuedChars.add(-chars);
+    }
+
+    public void recordMessageDropped() {
+        messagesDropped.increment();
+    }
+
+    public void recordRecordsProduced(long count) {
+        recordsProduced.add(count);
+    }
+
+    public void recordReconnect() {
+        reconnects.increment();
+    }
+
+    public long getMessagesReceived() {
+        return messagesReceived.sum();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    SizeHistogram getMessageSizes() {
+        return messageSizes;
+    }
+
+    public long getQueuedMessages() {
+        return queuedMessages.sum();
+    }
+
+    public long getQueuedChars() {
+        return queuedChars.sum();
+    }
+
+    public long getMessagesDropped() {
+        return messagesDropped.sum();
+    }
+
+    public long getRecordsProduced() {
+        return recordsProduced.sum();
+    }
+
+    public long getReconnects() {
+        return reconnects.sum();
+    }
+
+    /**
+     * Size in bytes of the UTF-8 encoding of a text frame, computed without encoding it.
+     */
+    public static int utf8Length(String text) {
+        int length = text.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                // 2 bytes below U+0800, 3 above; a surrogate pair's two chars add up to 4
+                bytes += c < 0x800 ? 1 : (Character.isSurrogate(c) ? 1 : 2);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Milliseconds since the last message was received, or -1 if none was. May overstate the age
+     * by up to one clock tick, never understate it.
+     */
+    public long getMillisSinceLastMessage() {
+        long last = lastMessageMillis;
+        if (last == 0) return -1;
+        return Math.max(0, System.currentTimeMillis() - last);
+    }
+}
@@ -0,0 +1,183 @@
+package io.conduktor.connect.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Local file holding messages that were received but not yet handed to Kafka Connect, so they
+ * survive a task stop (or a long pause) and are replayed afterwards.
+ *
+ * Messages are stored as length-prefixed UTF-8 records, which keeps arbitrary payloads (including
+ * newlines) intact. A record cut short by a crash mid-write, or with a corrupt length, ends the
+ * read; the records before it are kept. A large spool is read back in chunks through
+ * {@link #startReplay()} rather than all at once. Not thread-safe.
+ */
+public class MessageSpool {
+    private static final Logger log = LoggerFactory.getLogger(MessageSpool.class);
+
+    private final Path file;
+
+    public MessageSpool(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Append messages to the spool, creating it (and its directory) if needed.
+     */
+    public void appendAll(Collection<String> messages) throws IOException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)))) {
+            for (String message : messages) {
+                byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Whether the spool holds messages.
+     */
+    public boolean hasMessages() {
+        try {
+            return Files.exists(file) && Files.size(file) > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the spool a replay of this one reads from; it is only left behind by a crash mid-replay.
+     */
+    public MessageSpool getReplaySpool() {
+        return new MessageSpool(file.resolveSibling(file.getFileName() + ".replay"));
+    }
+
+    /**
+     * Move the spool aside and open it for reading in chunks. New messages can be appended to this
+     * spool meanwhile; they start a fresh file. The moved file is removed when the replay is closed.
+     *
+     * @return the replay, or null if the spool holds nothing
+     */
+    public Replay startReplay() throws IOException {
+        if (!hasMessages()) {
+            Files.deleteIfExists(file);
+            return null;
+        }
+        Path replayFile = getReplaySpool().getFile();
+        Files.move(file, replayFile, StandardCopyOption.REPLACE_EXISTING);
+        return new Replay(replayFile);
+    }
+
+    /**
+     * Read all spooled messages in the order they were written and remove the spool.
+     */
+    public List<String> takeAll() throws IOException {
+        if (!Files.exists(file)) {
+            return new ArrayList<>();
+        }
+        try (Replay replay = new Replay(file)) {
+            return replay.next(Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Sequential reader over a spool file, which it removes when closed.
+     */
+    public static final class Replay implements Closeable {
+        private final Path file;
+        private final DataInputStream in;
+        private long remaining;
+        private long recordsRead = 0;
+        private boolean done = false;
+
+        private Replay(Path file) throws IOException {
+            this.file = file;
+            this.remaining = Files.size(file);
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        /**
+         * Read up to maxMessages messages, in the order they were written. Fewer are returned
+         * only once the end of the spool is reached.
+         */
+        public List<String> next(int maxMessages) throws IOException {
+            List<String> messages = new ArrayList<>();
+            while (!done && messages.size() < maxMessages) {
+                String message = readRecord();
+                if (message == null) {
+                    done = true;
+                } else {
+                    messages.add(message);
+                }
+            }
+            return messages;
+        }
+
+        /**
+         * Whether every record has been read.
+         */
+        public boolean isDone() {
+            return done;
+        }
+
+        private String readRecord() throws IOException {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                return null;
+            }
+            remaining -= 4;
+            if (length < 0 || length > remaining) {
+                // Corrupt or cut-short length: nothing after it can be trusted
+                log.warn("event=spool_record_truncated file={} records_read={} record_length={} bytes_left={}",
+                        file, recordsRead, length, remaining);
+                return null;
+            }
+            remaining -= length;
+            byte[] bytes = new byte[length];
+            try {
+                in.readFully(bytes);
+            } catch (EOFException e) {
+                return null; // Truncated last record
+            }
+            recordsRead++;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package io.conduktor.connect.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Health scoring for a list of equivalent endpoints (regional mirrors of the same feed).
+ *
+ * Each mirror's score is an estimate in milliseconds, lower is better:
+ * <ul>
+ *   <li>the moving average of its probed TCP/TLS connect time (a fixed estimate until measured),</li>
+ *   <li>plus a penalty per recent failure, decaying with a one-minute half-life,</li>
+ *   <li>plus a penalty when its last session delivered under half the message rate of the best mirror.</li>
+ * </ul>
+ * Ties go to the mirror listed first, so the configured primary is preferred.
+ */
+public class MirrorSelector {
+    static final double UNMEASURED_RTT_MS = 1000.0;
+    static final double FAILURE_PENALTY_MS = 2000.0;
+    static final double SLOW_FEED_PENALTY_MS = 1000.0;
+    private static final double RTT_EWMA_ALPHA = 0.3;
+    private static final double FAILURE_HALF_LIFE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long MIN_RATE_SESSION_MS = 10_000;
+
+    private final List<Mirror> mirrors = new ArrayList<>();
+    private final long latencyThresholdMs;
+    private final LongSupplier nanoClock;
+
+    public MirrorSelector(List<String> urls, long latencyThresholdMs) {
+        this(urls, latencyThresholdMs, System::nanoTime);
+    }
+
+    MirrorSelector(List<String> urls, long latencyThresholdMs, LongSupplier nanoClock) {
+        for (String url : urls) {
+            mirrors.add(new Mirror(url));
+        }
+        this.latencyThresholdMs = latencyThresholdMs;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Get the mirror URLs, in configured order.
+     */
+    public synchronized List<String> getUrls() {
+        List<String> urls = new ArrayList<>(mirrors.size());
+        for (Mirror mirror : mirrors) {
+            urls.add(mirror.url);
+        }
+        return urls;
+    }
+
+    /**
+     * Pick the best-scoring mirror.
+     */
+    public synchronized String select() {
+        long now = nanoClock.getAsLong();
+        double bestRate = bestRate();
+        Mirror best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (Mirror mirror : mirrors) {
+            double score = mirror.score(now, bestRate);
+            if (score < bestScore) {
+                best = mirror;
+                bestScore = score;
+            }
+        }
+        return best.url;
+    }
+
+    /**
+     * Whether the active mirror's latency has drifted above the threshold while another mirror
+     * scores better.
+     */
+    public synchronized boolean shouldMoveAway(String activeUrl) {
+        Mirror active = find(activeUrl);
+        if (latencyThresholdMs <= 0 || active == null || active.rttMs < 0 || active.rttMs <= latencyThresholdMs) {
+            return false;
+        }
+        return !select().equals(activeUrl);
+    }
+
+    /**
+     * Record a probe round-trip time: TCP connect plus TLS handshake. All samples should be of
+     * this one kind, so that mirrors are compared on the same measurement.
+     */
+    public synchronized void recordRtt(String url, long nanos) {
+        Mirror mirror = find(url);
+        if (mirror == null) {
+            return;
+        }
+        double millis = nanos / 1_000_000.0;
+        mirror.rttMs = mirror.rttMs < 0 ? millis : RTT_EWMA_ALPHA * millis + (1 - RTT_EWMA_ALPHA) * mirror.rttMs;
+    }
+
+    /**
+     * Record a failed connect, probe or dropped connection.
+     */
+    public synchronized void recordFailure(String url) {
+        Mirror mirror = find(url);
+        if (mirror != null) {
+            long now = nanoClock.getAsLong();
+            mirror.failures = mirror.decayedFailures(now) + 1;
+            mirror.failuresUpdatedNanos = now;
+        }
+    }
+
+    /**
+     * Record the message rate of a finished session. Sessions too short to be representative are ignored.
+     */
+    public synchronized void recordSession(String url, long messages, long durationMs) {
+        Mirror mirror = find(url);
+        if (mirror != null && durationMs >= MIN_RATE_SESSION_MS) {
+            mirror.messagesPerSecond = messages * 1000.0 / durationMs;
+        }
+    }
+
+    /**
+     * Get a "url score=... rtt_ms=... failures=..." line per mirror, for JMX.
+     */
+    public synchronized String[] describeScores() {
+        long now = nanoClock.getAsLong();
+        double bestRate = bestRate();
+        String[] lines = new String[mirrors.size()];
+        for (int i = 0; i < lines.length; i++) {
+            Mirror mirror = mirrors.get(i);
+            lines[i] = String.format("%s score=%.1f rtt_ms=%.1f failures=%.2f msg_rate=%.1f",
+                    displayName(mirror.url), mirror.score(now, bestRate), mirror.rttMs, mirror.decayedFailures(now),
+                    mirror.messagesPerSecond);
+        }
+        return lines;
+    }
+
+    /**
+     * Get a mirror URL safe for logs and JMX: the query string, which may carry credentials, is dropped.
+     */
+    public static String displayName(String url) {
+        if (url == null) {
+            return null;
+        }
+        int query = url.indexOf('?');
+        return query >= 0 ? url.substring(0, query) : url;
+    }
+
+    synchronized double score(String url) {
+        Mirror mirror = find(url);
+        return mirror != null ? mirror.score(nanoClock.getAsLong(), bestRate()) : Double.MAX_VALUE;
+    }
+
+    private double bestRate() {
+        double best = 0;
+        for (Mirror mirror : mirrors) {
+            best = Math.max(best, mirror.messagesPerSecond);
+        }
+        return best;
+    }
+
+    private Mirror find(String url) {
+        for (Mirror mirror : mirrors) {
+            if (mirror.url.equals(url)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static final class Mirror {
+        final String url;
+        double rttMs = -1;
+        double failures;
+        long failuresUpdatedNanos;
+        double messagesPerSecond = -1;
+
+        Mirror(String url) {
+            this.url = url;
+        }
+
+        double decayedFailures(long now) {
+            if (failures == 0) {
+                return 0;
+            }
+            return failures * Math.pow(0.5, (now - failuresUpdatedNanos) / FAILURE_HALF_LIFE_NANOS);
+        }
+
+        double score(long now, double bestRate) {
+            double score = rttMs >= 0 ? rttMs : UNMEASURED_RTT_MS;
+            score += decayedFailures(now) * FAILURE_PENALTY_MS;
+            if (messagesPerSecond >= 0 && messagesPerSecond < bestRate / 2) {
+                score += SLOW_FEED_PENALTY_MS;
+            }
+            return score;
+        }
+    }
+}
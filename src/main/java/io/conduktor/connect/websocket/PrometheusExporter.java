@@ -0,0 +1,275 @@
+package io.conduktor.connect.websocket;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Worker-wide HTTP endpoint serving the metrics of every WebSocket connector task in the JVM in
+ * Prometheus text format, as an alternative to scraping the JMX beans through an exporter.
+ *
+ * Scalar attributes of {@link WebSocketMetricsMBean} are exported by name (MessagesReceived
+ * becomes websocket_messages_received_total), labelled with the connector and URL; the connect
+ * phase and message size distributions are exported as Prometheus histograms. Counters and
+ * histograms carry their lifetime values, so a JMX resetCounters() never makes them go
+ * backwards. The server is the JDK's built-in one on a single daemon thread. One instance is
+ * shared by all tasks (see {@link #acquire}); it runs while at least one task uses it, on the
+ * port of the first one.
+ */
+final class PrometheusExporter {
+    private static final Logger log = LoggerFactory.getLogger(PrometheusExporter.class);
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String PREFIX = "websocket_";
+
+    // Attributes that only grow and are exported as counters
+    private static final Set<String> COUNTERS = Set.of(
+            "MessagesReceived", "MessagesDropped", "RecordsProduced", "BytesReceived", "TotalReconnects",
+            "InFlightLimitedPolls", "ConnectAttempts", "ConnectFailures", "FailuresNetwork",
+            "FailuresRateLimited", "FailuresUnavailable", "FailuresServerError", "FailuresClientError",
+            "GoingAwayCloses", "CleanCloses", "CircuitBreakerOpens", "FlowControlPauses", "MessagesSpilled",
+            "ConnectsAdmitted", "ConnectsDeferred", "MirrorFailovers", "StaleConnectionsDetected",
+            "TotalRotations", "RotationDuplicatesDropped", "SequenceGaps", "SequenceMessagesMissing",
+            "SequenceRegressions", "GapResubscribes", "PrimaryLegWins", "StandbyLegWins",
+            "PrimaryLegUnmatched", "StandbyLegUnmatched", "LegDuplicatesDropped");
+
+    private static final List<Method> SCALAR_ATTRIBUTES = scalarAttributes();
+
+    private static PrometheusExporter shared;
+    private static int users = 0;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private PrometheusExporter(String bindAddress, int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "websocket-prometheus");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+    }
+
+    /**
+     * Start the worker-wide endpoint, or register one more user of the running one. A task asking
+     * for a different port than the running endpoint's shares it anyway (with a warning).
+     */
+    static synchronized void acquire(String bindAddress, int port) throws IOException {
+        if (shared == null) {
+            shared = new PrometheusExporter(bindAddress, port);
+            log.info("event=prometheus_endpoint_started bind_address={} port={}", bindAddress, shared.getPort());
+        } else if (port != 0 && port != shared.getPort()) {
+            log.warn("event=prometheus_endpoint_port_ignored requested_port={} active_port={}", port, shared.getPort());
+        }
+        users++;
+    }
+
+    /**
+     * Unregister a user; the last one stops the endpoint.
+     */
+    static synchronized void release() {
+        if (users == 0) {
+            return;
+        }
+        users--;
+        if (users == 0) {
+            shared.server.stop(0);
+            shared.executor.shutdownNow();
+            log.info("event=prometheus_endpoint_stopped port={}", shared.getPort());
+            shared = null;
+        }
+    }
+
+    /**
+     * Get the running endpoint, or null.
+     */
+    static synchronized PrometheusExporter current() {
+        return shared;
+    }
+
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape(WebSocketMetrics.registered()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (RuntimeException e) {
+            log.warn("event=prometheus_scrape_failed error_message={}", e.getMessage(), e);
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Render the given metrics in Prometheus text exposition format.
+     */
+    static String scrape(Collection<WebSocketMetrics> instances) {
+        List<WebSocketMetrics> sorted = new ArrayList<>(instances);
+        sorted.sort(Comparator.comparing(WebSocketMetrics::getConnectorName));
+        StringBuilder out = new StringBuilder(4096 + sorted.size() * 8192);
+
+        for (Method attribute : SCALAR_ATTRIBUTES) {
+            String name = attributeName(attribute);
+            boolean counter = COUNTERS.contains(name);
+            String family = PREFIX + snakeCase(name) + (counter ? "_total" : "");
+            out.append("# TYPE ").append(family).append(counter ? " counter\n" : " gauge\n");
+            for (WebSocketMetrics metrics : sorted) {
+                Object value;
+                try {
+                    value = attribute.invoke(metrics);
+                } catch (ReflectiveOperationException e) {
+                    continue;
+                }
+                if (counter) {
+                    value = ((Number) value).longValue() + metrics.getResetOffset(name);
+                }
+                out.append(family).append(labels(metrics, null, null)).append(' ')
+                        .append(formatValue(value)).append('\n');
+            }
+        }
+
+        String family = PREFIX + "connect_phase_seconds";
+        out.append("# HELP ").append(family).append(" Connect attempt phase durations\n");
+        out.append("# TYPE ").append(family).append(" histogram\n");
+        for (WebSocketMetrics metrics : sorted) {
+            for (Map.Entry<String, LatencyHistogram> phase : metrics.getConnectPhaseHistograms().entrySet()) {
+                LatencyHistogram histogram = phase.getValue();
+                long[] bounds = LatencyHistogram.BUCKET_BOUNDS_MILLIS;
+                String[] le = new String[bounds.length];
+                for (int i = 0; i < bounds.length; i++) {
+                    le[i] = formatDouble(bounds[i] / 1000.0);
+                }
+                appendHistogram(out, family, metrics, "phase", phase.getKey(), le,
+                        histogram.getLifetimeBucketCounts(), formatDouble(histogram.getLifetimeSumNanos() / 1e9));
+            }
+        }
+
+        family = PREFIX + "message_size_bytes";
+        out.append("# HELP ").append(family).append(" Received message payload sizes\n");
+        out.append("# TYPE ").append(family).append(" histogram\n");
+        for (WebSocketMetrics metrics : sorted) {
+            SizeHistogram histogram = metrics.getCounters().getMessageSizes();
+            long[] bounds = SizeHistogram.BUCKET_BOUNDS_BYTES;
+            String[] le = new String[bounds.length];
+            for (int i = 0; i < bounds.length; i++) {
+                le[i] = String.valueOf(bounds[i]);
+            }
+            appendHistogram(out, family, metrics, null, null, le,
+                    histogram.getLifetimeBucketCounts(), String.valueOf(histogram.getLifetimeSumBytes()));
+        }
+        return out.toString();
+    }
+
+    private static void appendHistogram(StringBuilder out, String family, WebSocketMetrics metrics,
+                                        String labelName, String labelValue, String[] le, long[] counts,
+                                        String sum) {
+        long cumulative = 0;
+        for (int i = 0; i < le.length; i++) {
+            cumulative += counts[i];
+            out.append(family).append("_bucket").append(labels(metrics, labelName, labelValue, "le", le[i]))
+                    .append(' ').append(cumulative).append('\n');
+        }
+        cumulative += counts[counts.length - 1];
+        out.append(family).append("_bucket").append(labels(metrics, labelName, labelValue, "le", "+Inf"))
+                .append(' ').append(cumulative).append('\n');
+        out.append(family).append("_sum").append(labels(metrics, labelName, labelValue))
+                .append(' ').append(sum).append('\n');
+        out.append(family).append("_count").append(labels(metrics, labelName, labelValue))
+                .append(' ').append(cumulative).append('\n');
+    }
+
+    private static String labels(WebSocketMetrics metrics, String... extra) {
+        StringBuilder labels = new StringBuilder("{connector=\"").append(escape(metrics.getConnectorName()))
+                .append("\",url=\"").append(escape(metrics.getWebSocketUrl())).append('"');
+        for (int i = 0; i + 1 < extra.length; i += 2) {
+            if (extra[i] != null) {
+                labels.append(',').append(extra[i]).append("=\"").append(escape(extra[i + 1])).append('"');
+            }
+        }
+        return labels.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String formatValue(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value ? "1" : "0";
+        }
+        if (value instanceof Double) {
+            return formatDouble((Double) value);
+        }
+        return String.valueOf(value);
+    }
+
+    private static String formatDouble(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+
+    private static List<Method> scalarAttributes() {
+        List<Method> attributes = new ArrayList<>();
+        for (Method method : WebSocketMetricsMBean.class.getMethods()) {
+            Class<?> type = method.getReturnType();
+            boolean getter = method.getName().startsWith("get") || method.getName().startsWith("is");
+            boolean scalar = type == long.class || type == int.class || type == double.class || type == boolean.class;
+            if (getter && scalar && method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())) {
+                attributes.add(method);
+            }
+        }
+        attributes.sort(Comparator.comparing(PrometheusExporter::attributeName));
+        return attributes;
+    }
+
+    private static String attributeName(Method method) {
+        String name = method.getName();
+        return name.startsWith("is") ? name.substring(2) : name.substring(3);
+    }
+
+    static String snakeCase(String attribute) {
+        return attribute.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,94 @@
+package io.conduktor.connect.websocket;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks the feed's own monotonically increasing update IDs and detects gaps and regressions.
+ *
+ * Sequences are tracked per key (e.g. per symbol) when a key field is configured, otherwise
+ * for the whole stream. Payloads without a numeric sequence are ignored. Not thread-safe:
+ * it is driven from the task's poll() thread only.
+ */
+public class SequenceGapMonitor {
+    private static final String STREAM_KEY = "";
+
+    private final String[] sequencePath;
+    private final String[] keyPath;
+    private final Map<String, Long> lastSequences = new HashMap<>();
+    private WebSocketMetrics metrics;
+
+    public SequenceGapMonitor(String[] sequencePath, String[] keyPath) {
+        this.sequencePath = sequencePath;
+        this.keyPath = keyPath != null && keyPath.length > 0 ? keyPath : null;
+    }
+
+    /**
+     * Set the metrics tracker that records gaps and regressions.
+     */
+    public void setMetrics(WebSocketMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Check the payload's sequence against the last one seen for its key.
+     *
+     * @return the number of missing sequences (positive on a gap), 0 when in order or
+     *         unsequenced, or a negative distance when the sequence went backwards or repeated
+     */
+    public long check(String payload) {
+        String raw = JsonScanner.extractField(payload, sequencePath);
+        if (raw == null) {
+            return 0;
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(raw);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+
+        String key = STREAM_KEY;
+        if (keyPath != null) {
+            String extracted = JsonScanner.extractField(payload, keyPath);
+            if (extracted != null) {
+                key = extracted;
+            }
+        }
+
+        Long previous = lastSequences.get(key);
+        if (previous == null) {
+            lastSequences.put(key, sequence);
+            return 0;
+        }
+
+        long delta = sequence - previous - 1;
+        if (delta < 0) {
+            // Stale or repeated update: keep the high-water mark
+            if (metrics != null) {
+                metrics.incrementSequenceRegressions();
+            }
+            return delta;
+        }
+
+        lastSequences.put(key, sequence);
+        if (delta > 0 && metrics != null) {
+            metrics.recordSequenceGap(delta);
+        }
+        return delta;
+    }
+
+    /**
+     * Forget all tracked sequences, e.g. after a resubscribe that restarts the stream.
+     */
+    public void reset() {
+        lastSequences.clear();
+    }
+
+    /**
+     * Get the number of keys currently tracked.
+     */
+    public int getTrackedKeys() {
+        return lastSequences.size();
+    }
+}
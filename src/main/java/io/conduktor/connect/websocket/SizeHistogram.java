@@ -0,0 +1,137 @@
+package io.conduktor.connect.websocket;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Message size distribution for capacity planning.
+ *
+ * Buckets are powers of two from 64 bytes to 16 MiB, plus an overflow bucket, so a record is
+ * placed with one leading-zero count; a bucket holds sizes up to and including its bound, as a
+ * Prometheus {@code le} bucket does. Buckets and sums are striped to keep the legs of a
+ * redundant connection from contending; min and max are only written when they change.
+ * Percentiles are reported as the upper bound of the bucket they fall in.
+ *
+ * {@link #reset()} starts the JMX view over by moving a baseline; the lifetime counts keep
+ * growing, since the Prometheus endpoint exports them as a monotonic histogram.
+ */
+final class SizeHistogram {
+    private static final int MIN_SHIFT = 6;
+    static final long[] BUCKET_BOUNDS_BYTES = new long[19];
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS_BYTES.length; i++) {
+            BUCKET_BOUNDS_BYTES[i] = 1L << (MIN_SHIFT + i);
+        }
+    }
+
+    private final LongAdder[] counts = new LongAdder[BUCKET_BOUNDS_BYTES.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalBytes = new LongAdder();
+    private final AtomicLong minBytes = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxBytes = new AtomicLong(0);
+    private volatile long[] countsBaseline = new long[BUCKET_BOUNDS_BYTES.length + 1];
+    private volatile long countBaseline = 0;
+    private volatile long totalBytesBaseline = 0;
+
+    SizeHistogram() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    void record(int bytes) {
+        int bucket = bytes <= (1 << MIN_SHIFT) ? 0 : 32 - Integer.numberOfLeadingZeros(bytes - 1) - MIN_SHIFT;
+        counts[Math.min(bucket, counts.length - 1)].increment();
+        count.increment();
+        totalBytes.add(bytes);
+        if (bytes < minBytes.get()) {
+            minBytes.accumulateAndGet(bytes, Math::min);
+        }
+        if (bytes > maxBytes.get()) {
+            maxBytes.accumulateAndGet(bytes, Math::max);
+        }
+    }
+
+    long getCount() {
+        return count.sum() - countBaseline;
+    }
+
+    long getMinBytes() {
+        long min = minBytes.get();
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    long getMaxBytes() {
+        return maxBytes.get();
+    }
+
+    long getSumBytes() {
+        return totalBytes.sum() - totalBytesBaseline;
+    }
+
+    long getLifetimeSumBytes() {
+        return totalBytes.sum();
+    }
+
+    double getMeanBytes() {
+        long total = getCount();
+        return total == 0 ? 0.0 : (double) getSumBytes() / total;
+    }
+
+    /**
+     * Get the upper bound, in bytes, of the bucket holding the given quantile (the maximum for
+     * the overflow bucket, and never more than the maximum), or 0 if nothing was recorded.
+     */
+    long getPercentileBytes(double quantile) {
+        long[] snapshot = getBucketCounts();
+        long total = 0;
+        for (long bucketCount : snapshot) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_BYTES.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(BUCKET_BOUNDS_BYTES[i], getMaxBytes());
+            }
+        }
+        return getMaxBytes();
+    }
+
+    /**
+     * Get the per-bucket counts since the last reset; element i counts sizes up to
+     * {@code BUCKET_BOUNDS_BYTES[i]}, the last element counts the overflow.
+     */
+    long[] getBucketCounts() {
+        long[] snapshot = getLifetimeBucketCounts();
+        long[] baseline = countsBaseline;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] -= baseline[i];
+        }
+        return snapshot;
+    }
+
+    /**
+     * Get the per-bucket counts since creation, unaffected by {@link #reset()}.
+     */
+    long[] getLifetimeBucketCounts() {
+        long[] snapshot = new long[counts.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts[i].sum();
+        }
+        return snapshot;
+    }
+
+    void reset() {
+        countsBaseline = getLifetimeBucketCounts();
+        countBaseline = count.sum();
+        totalBytesBaseline = totalBytes.sum();
+        minBytes.set(Long.MAX_VALUE);
+        maxBytes.set(0);
+    }
+}
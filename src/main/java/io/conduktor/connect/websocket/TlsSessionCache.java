@@ -0,0 +1,84 @@
+package io.conduktor.connect.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+/**
+ * JVM-wide TLS context whose client session cache lets reconnects resume TLS sessions.
+ *
+ * OkHttp creates a new SSLContext, and with it an empty session cache, for every client it
+ * builds. Sharing one context across clients keeps sessions (and TLS 1.3 tickets) across
+ * task restarts and between the legs of a redundant connection, so a reconnect to a known
+ * host performs an abbreviated handshake.
+ */
+final class TlsSessionCache {
+    private static final Logger log = LoggerFactory.getLogger(TlsSessionCache.class);
+    private static final int SESSION_TIMEOUT_SECONDS = 3600;
+
+    private static volatile TlsSessionCache instance;
+    private static volatile boolean unavailable = false;
+
+    private final SSLSocketFactory socketFactory;
+    private final X509TrustManager trustManager;
+
+    private TlsSessionCache(SSLSocketFactory socketFactory, X509TrustManager trustManager) {
+        this.socketFactory = socketFactory;
+        this.trustManager = trustManager;
+    }
+
+    /**
+     * Get the shared context, or null if the platform's default trust store cannot be loaded
+     * (callers then fall back to OkHttp's own TLS setup).
+     */
+    static TlsSessionCache get() {
+        if (instance == null && !unavailable) {
+            synchronized (TlsSessionCache.class) {
+                if (instance == null && !unavailable) {
+                    try {
+                        instance = create();
+                    } catch (GeneralSecurityException | RuntimeException e) {
+                        unavailable = true;
+                        log.warn("event=tls_session_cache_unavailable error_message={}", e.getMessage());
+                    }
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static TlsSessionCache create() throws GeneralSecurityException {
+        TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        factory.init((KeyStore) null);
+        X509TrustManager trustManager = null;
+        for (TrustManager candidate : factory.getTrustManagers()) {
+            if (candidate instanceof X509TrustManager) {
+                trustManager = (X509TrustManager) candidate;
+                break;
+            }
+        }
+        if (trustManager == null) {
+            throw new GeneralSecurityException("No X509TrustManager in default trust managers");
+        }
+
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, new TrustManager[]{trustManager}, null);
+        context.getClientSessionContext().setSessionTimeout(SESSION_TIMEOUT_SECONDS);
+        return new TlsSessionCache(context.getSocketFactory(), trustManager);
+    }
+
+    SSLSocketFactory getSocketFactory() {
+        return socketFactory;
+    }
+
+    X509TrustManager getTrustManager() {
+        return trustManager;
+    }
+}
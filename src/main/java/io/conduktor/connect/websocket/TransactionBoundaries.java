@@ -0,0 +1,102 @@
+package io.conduktor.connect.websocket;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.TransactionContext;
+
+import java.util.List;
+
+/**
+ * Connector-defined transaction boundaries for exactly-once delivery
+ * ({@code transaction.boundary=connector}).
+ *
+ * A transaction is committed after the record that completes it: the N-th record, the first
+ * record after the interval elapsed, or a record carrying the end-of-batch marker (e.g. the end of
+ * a snapshot), whichever comes first. With none of these configured, every poll batch is its own
+ * transaction. Large transactions spread the commit cost over more records; markers keep a
+ * logical unit of the feed in one transaction. Not thread-safe: driven from poll() only.
+ */
+public class TransactionBoundaries {
+    private final TransactionContext context;
+    private final int maxRecords;
+    private final long intervalMs;
+    private final String[] markerPath;
+    private final String markerValue;
+    private int recordsInTransaction = 0;
+    private long transactionStartMillis = -1;
+    private long commitsRequested = 0;
+
+    /**
+     * @param context     the framework's transaction context
+     * @param maxRecords  commit after this many records (0 for no limit)
+     * @param intervalMs  commit once a transaction has been open this long (0 for no limit)
+     * @param markerPath  payload field marking the last record of a transaction (null for none)
+     * @param markerValue value of the marker field that ends a transaction (null or empty: any value)
+     */
+    public TransactionBoundaries(TransactionContext context, int maxRecords, long intervalMs,
+                                 String[] markerPath, String markerValue) {
+        this.context = context;
+        this.maxRecords = maxRecords;
+        this.intervalMs = intervalMs;
+        this.markerPath = markerPath != null && markerPath.length > 0 ? markerPath : null;
+        this.markerValue = markerValue != null && !markerValue.isEmpty() ? markerValue : null;
+    }
+
+    /**
+     * Request commits for a batch that is about to be returned from poll().
+     */
+    public void onBatch(List<SourceRecord> records, long nowMillis) {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (maxRecords <= 0 && intervalMs <= 0 && markerPath == null) {
+            context.commitTransaction(records.get(records.size() - 1));
+            commitsRequested++;
+            return;
+        }
+        for (SourceRecord record : records) {
+            if (transactionStartMillis < 0) {
+                transactionStartMillis = nowMillis;
+            }
+            recordsInTransaction++;
+            if (isBoundary(record, nowMillis)) {
+                context.commitTransaction(record);
+                commitsRequested++;
+                recordsInTransaction = 0;
+                transactionStartMillis = -1;
+            }
+        }
+    }
+
+    /**
+     * Commit an open transaction whose interval elapsed while no records arrived.
+     */
+    public void onIdlePoll(long nowMillis) {
+        if (intervalMs > 0 && recordsInTransaction > 0 && nowMillis - transactionStartMillis >= intervalMs) {
+            context.commitTransaction();
+            commitsRequested++;
+            recordsInTransaction = 0;
+            transactionStartMillis = -1;
+        }
+    }
+
+    /**
+     * Get the number of commits requested from the framework.
+     */
+    public long getCommitsRequested() {
+        return commitsRequested;
+    }
+
+    private boolean isBoundary(SourceRecord record, long nowMillis) {
+        if (maxRecords > 0 && recordsInTransaction >= maxRecords) {
+            return true;
+        }
+        if (intervalMs > 0 && nowMillis - transactionStartMillis >= intervalMs) {
+            return true;
+        }
+        if (markerPath != null && record.value() instanceof String) {
+            String marker = JsonScanner.extractField((String) record.value(), markerPath);
+            return marker != null && (markerValue == null || markerValue.equals(marker));
+        }
+        return false;
+    }
+}
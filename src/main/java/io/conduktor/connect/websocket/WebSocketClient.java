@@ -5,13 +5,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * WebSocket client that handles connection, reconnection, and message buffering.
@@ -19,6 +27,25 @@ import java.util.concurrent.atomic.AtomicLong;
 public class WebSocketClient extends WebSocketListener {
     private static final Logger log = LoggerFactory.getLogger(WebSocketClient.class);
     private static final double QUEUE_WARNING_THRESHOLD = 0.80; // 80% threshold
+    private static final int CLOSE_GOING_AWAY = 1001;
+    private static final int HANDOVER_DEDUP_WINDOW = 10000;
+    private static final String CURSOR_PLACEHOLDER = "${cursor}";
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+    private static final int SPILL_FLUSH_BATCH = 1000;
+
+    /**
+     * What to do when the task stops draining messages, e.g. because the connector was paused.
+     */
+    public enum PauseAction {
+        /** Keep reading; messages are dropped once the queue is full */
+        NONE,
+        /** Send the unsubscribe message; resubscribe (from the cursor, if known) on resume */
+        UNSUBSCRIBE,
+        /** Close the connection; reconnect and resubscribe (from the cursor, if known) on resume */
+        CLOSE,
+        /** Keep reading and spill messages that do not fit the queue to disk; replay them on resume */
+        SPILL
+    }
 
     private final String url;
     private final String subscriptionMessage;
@@ -31,19 +58,75 @@ public class WebSocketClient extends WebSocketListener {
     private final long connectionTimeoutMs;
 
     private OkHttpClient httpClient;
-    private WebSocket webSocket;
+    private volatile WebSocket webSocket;
     private final LinkedBlockingDeque<String> messageQueue;
     private final AtomicBoolean connected = new AtomicBoolean(false);
     private final AtomicBoolean shouldReconnect = new AtomicBoolean(true);
     private final AtomicBoolean reconnecting = new AtomicBoolean(false);
-    private final AtomicLong messagesReceived = new AtomicLong(0);
-    private final AtomicLong messagesDropped = new AtomicLong(0);
+    private MessageCounters counters = new MessageCounters();
     private final AtomicLong reconnectAttempts = new AtomicLong(0);
-    private volatile long lastMessageTimestamp = 0;
+    private volatile long lastFrameNanos = System.nanoTime();
     private volatile boolean queueWarningLogged = false;
+    private FlightEvents.QueueOverflow overflowBurst;
     private ScheduledExecutorService reconnectExecutor;
     private ScheduledFuture<?> reconnectTask;
     private WebSocketMetrics metrics;
+    private MessageArbiter arbiter;
+    private int arbiterLeg = MessageArbiter.PRIMARY;
+    private boolean warmupEnabled = false;
+    private volatile String activeUrl;
+    private MirrorSelector mirrors;
+    private long mirrorProbeIntervalMs = 0;
+    private final AtomicLong sessionMessages = new AtomicLong(0);
+    private volatile long sessionStartMillis = 0;
+    private ConnectPhaseTimer phaseTimer;
+    private ConnectAdmission admission;
+    private int circuitBreakerThreshold = 0;
+    private long circuitBreakerCooldownMs = 0;
+    private BackoffPolicy backoffPolicy = new BackoffPolicy(0, 0);
+    private volatile ConnectAdmission.Permit handshakePermit;
+    private String cursorSubscriptionMessage;
+    private Supplier<String> cursorSupplier;
+
+    // Liveness: protocol pings, data-idle watchdog and application-level heartbeat
+    private long pingIntervalMs = 30000;
+    private long idleTimeoutMs = 0;
+    private String heartbeatMessage;
+    private long heartbeatIntervalMs = 0;
+    private volatile long lastHeartbeatNanos = 0;
+
+    // Pause handling: when the task stops polling (connector paused through the REST API), stop
+    // the flood instead of dropping every message, and pick up again on the next poll.
+    private PauseAction pauseAction = PauseAction.NONE;
+    private long pauseDetectMs = 0;
+    private String unsubscribeMessage;
+    private MessageSpool spill;
+    private long spillMaxBytes = 0;
+    private volatile long lastPollNanos = System.nanoTime();
+    private final AtomicBoolean paused = new AtomicBoolean(false);
+    private final Object spillLock = new Object();
+    private final List<String> spillBuffer = new ArrayList<>();
+    private MessageSpool.Replay spillReplay; // Older than anything queued while it is open
+    private long spilledBytes = 0;
+    private long replayBytes = 0;
+    private boolean spillActive = false;
+    private WebSocketClient standbyLeg;
+
+    // Make-before-break rotation: a pending connection is opened and subscribed while the
+    // current one keeps delivering; the current one is retired once the pending one delivers.
+    private long rotationIntervalMs = 0;
+    private boolean rotateOnGoingAway = false;
+    private long rotationOverlapMs = 2000;
+    private String[] rotationIdPath;
+    private final Object rotationLock = new Object();
+    private volatile WebSocket pendingWebSocket;
+    private String pendingUrl;
+    private boolean pendingOpen = false;
+    private WebSocket pendingUnsubscribed; // Opened while paused with UNSUBSCRIBE
+    private WebSocket retiringWebSocket;
+    private WebSocket handoverTarget;
+    private volatile MessageArbiter handoverArbiter;
+    private volatile long handoverUntilNanos;
 
     public WebSocketClient(
             String url,
@@ -55,6 +138,22 @@ public class WebSocketClient extends WebSocketListener {
             Map<String, String> headers,
             int queueSize,
             long connectionTimeoutMs
+    ) {
+        this(url, subscriptionMessage, reconnectEnabled, reconnectIntervalMs, maxReconnectAttempts,
+             maxBackoffMs, headers, queueSize, connectionTimeoutMs, new LinkedBlockingDeque<>(queueSize));
+    }
+
+    private WebSocketClient(
+            String url,
+            String subscriptionMessage,
+            boolean reconnectEnabled,
+            long reconnectIntervalMs,
+            int maxReconnectAttempts,
+            long maxBackoffMs,
+            Map<String, String> headers,
+            int queueSize,
+            long connectionTimeoutMs,
+            LinkedBlockingDeque<String> messageQueue
     ) {
         this.url = url;
         this.subscriptionMessage = subscriptionMessage;
@@ -65,7 +164,141 @@ public class WebSocketClient extends WebSocketListener {
         this.headers = headers != null ? headers : new HashMap<>();
         this.queueSize = queueSize;
         this.connectionTimeoutMs = connectionTimeoutMs;
-        this.messageQueue = new LinkedBlockingDeque<>(queueSize);
+        this.messageQueue = messageQueue;
+        this.activeUrl = url;
+    }
+
+    /**
+     * Create a second, independent connection with the same settings that delivers into
+     * this client's message queue. Used for redundant (dual-connection) mode, together
+     * with a shared {@link MessageArbiter} that drops the slower copy of each message.
+     */
+    public WebSocketClient createStandbyLeg(String standbyUrl) {
+        WebSocketClient standby = new WebSocketClient(standbyUrl, subscriptionMessage, reconnectEnabled,
+                reconnectIntervalMs, maxReconnectAttempts, maxBackoffMs, headers, queueSize, connectionTimeoutMs,
+                messageQueue);
+        standby.configureRotation(rotationIntervalMs, rotateOnGoingAway, rotationOverlapMs, rotationIdPath);
+        standby.setCursorResume(cursorSubscriptionMessage, cursorSupplier);
+        standby.configureLiveness(pingIntervalMs, idleTimeoutMs, heartbeatMessage, heartbeatIntervalMs);
+        standby.setWarmupEnabled(warmupEnabled);
+        standby.setAdmission(admission);
+        standby.configureCircuitBreaker(circuitBreakerThreshold, circuitBreakerCooldownMs);
+        standby.setCounters(counters);
+        // Only this leg's queue is drained, so it pauses and resumes the standby (which stops
+        // reading instead of spilling; the spill belongs to this leg)
+        standby.configurePauseHandling(pauseAction == PauseAction.SPILL ? PauseAction.CLOSE : pauseAction,
+                0, unsubscribeMessage, null, 0);
+        this.standbyLeg = standby;
+        return standby;
+    }
+
+    /**
+     * Configure make-before-break connection rotation. Must be called before {@link #start()}.
+     *
+     * @param intervalMs   rotate proactively at this interval (0 disables scheduled rotation)
+     * @param onGoingAway  rotate immediately, without backoff, when the server closes with 1001
+     * @param overlapMs    how long old and new connections overlap, with duplicates dropped
+     * @param idPath       payload ID field used for handover dedup (null matches on full content)
+     */
+    public void configureRotation(long intervalMs, boolean onGoingAway, long overlapMs, String[] idPath) {
+        this.rotationIntervalMs = intervalMs;
+        this.rotateOnGoingAway = onGoingAway;
+        this.rotationOverlapMs = overlapMs;
+        this.rotationIdPath = idPath;
+    }
+
+    /**
+     * Configure stale-connection detection. Must be called before {@link #start()}.
+     *
+     * @param pingIntervalMs      WebSocket ping interval; OkHttp fails the connection when a pong is missed (0 disables)
+     * @param idleTimeoutMs       replace the connection when no data frame arrives for this long (0 disables)
+     * @param heartbeatMessage    optional application-level message sent while the connection is idle
+     * @param heartbeatIntervalMs idle time after which the heartbeat message is sent
+     */
+    public void configureLiveness(long pingIntervalMs, long idleTimeoutMs, String heartbeatMessage,
+                                  long heartbeatIntervalMs) {
+        this.pingIntervalMs = pingIntervalMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.heartbeatMessage = heartbeatMessage != null && !heartbeatMessage.isEmpty() ? heartbeatMessage : null;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+
+    /**
+     * Fail over between equivalent endpoints. The selector's first URL should be this client's URL.
+     * Must be called before {@link #start()}.
+     *
+     * @param mirrors          health scoring for the endpoints; reconnects go to the best-scoring one
+     * @param probeIntervalMs  measure every mirror's TCP/TLS connect time at this interval, and move away
+     *                         from the active mirror when its latency drifts above the threshold (0 disables)
+     */
+    public void configureFailover(MirrorSelector mirrors, long probeIntervalMs) {
+        this.mirrors = mirrors;
+        this.mirrorProbeIntervalMs = probeIntervalMs;
+    }
+
+    /**
+     * Hold reconnects for a cool-down after repeated 4xx handshake responses. Must be called
+     * before {@link #start()}.
+     *
+     * @param threshold  consecutive 4xx responses that open the circuit (0 disables)
+     * @param cooldownMs how long reconnects are held once it is open
+     */
+    public void configureCircuitBreaker(int threshold, long cooldownMs) {
+        this.circuitBreakerThreshold = threshold;
+        this.circuitBreakerCooldownMs = cooldownMs;
+        this.backoffPolicy = new BackoffPolicy(threshold, cooldownMs);
+    }
+
+    /**
+     * React when messages are no longer drained. Must be called before {@link #start()}.
+     *
+     * @param action             what to do once the queue has not been drained for pauseDetectMs
+     * @param pauseDetectMs      time without a {@link #getMessages()} call that counts as paused (0 disables)
+     * @param unsubscribeMessage message sent for {@link PauseAction#UNSUBSCRIBE}; without it the connection is closed
+     * @param spill              where {@link PauseAction#SPILL} writes messages that do not fit the queue
+     * @param spillMaxBytes      spill size beyond which messages are dropped again
+     */
+    public void configurePauseHandling(PauseAction action, long pauseDetectMs, String unsubscribeMessage,
+                                       MessageSpool spill, long spillMaxBytes) {
+        this.unsubscribeMessage = unsubscribeMessage != null && !unsubscribeMessage.isEmpty() ? unsubscribeMessage : null;
+        if (action == PauseAction.UNSUBSCRIBE && this.unsubscribeMessage == null) {
+            log.warn("event=pause_action_fallback configured=UNSUBSCRIBE used=CLOSE reason=no_unsubscribe_message");
+            action = PauseAction.CLOSE;
+        }
+        if (action == PauseAction.SPILL && spill == null) {
+            action = PauseAction.NONE;
+        }
+        this.pauseAction = action;
+        this.pauseDetectMs = pauseDetectMs;
+        this.spill = action == PauseAction.SPILL ? spill : null;
+        this.spillMaxBytes = spillMaxBytes;
+    }
+
+    /**
+     * Gate every connect attempt (initial, reconnect and rotation) through worker-wide admission
+     * control. Must be called before {@link #start()}; null disables it.
+     */
+    public void setAdmission(ConnectAdmission admission) {
+        this.admission = admission;
+    }
+
+    /**
+     * Resolve the host and complete a TLS handshake before the first upgrade, so the first
+     * connect finds the address cached and resumes the TLS session. Only applies to wss://;
+     * runs on the reconnect thread, so {@link #start()} does not wait for it.
+     */
+    public void setWarmupEnabled(boolean warmupEnabled) {
+        this.warmupEnabled = warmupEnabled;
+    }
+
+    /**
+     * Resume from a server-side cursor on every (re)connect.
+     * When the supplier returns a cursor, the resume message (or the plain subscription message if
+     * none is set) is sent with {@code ${cursor}} replaced by it.
+     */
+    public void setCursorResume(String cursorSubscriptionMessage, Supplier<String> cursorSupplier) {
+        this.cursorSubscriptionMessage = cursorSubscriptionMessage;
+        this.cursorSupplier = cursorSupplier;
     }
 
     /**
@@ -76,12 +309,22 @@ public class WebSocketClient extends WebSocketListener {
         log.info("event=websocket_client_starting url={} queue_capacity={} connection_timeout_ms={} reconnect_enabled={}",
                  url, queueSize, connectionTimeoutMs, reconnectEnabled);
 
-        this.httpClient = new OkHttpClient.Builder()
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
                 .connectTimeout(connectionTimeoutMs, TimeUnit.MILLISECONDS)
                 .readTimeout(0, TimeUnit.MILLISECONDS) // No read timeout for streaming
                 .writeTimeout(10, TimeUnit.SECONDS)
-                .pingInterval(30, TimeUnit.SECONDS) // Keep connection alive
-                .build();
+                .pingInterval(pingIntervalMs, TimeUnit.MILLISECONDS) // Keep alive, fail on missed pong
+                .protocols(Collections.singletonList(Protocol.HTTP_1_1)); // WebSocket upgrades are HTTP/1.1 only
+
+        // Share TLS sessions across reconnects so they resume instead of doing a full handshake
+        TlsSessionCache tls = TlsSessionCache.get();
+        if (tls != null) {
+            builder.sslSocketFactory(tls.getSocketFactory(), tls.getTrustManager());
+        }
+
+        this.phaseTimer = new ConnectPhaseTimer(metrics);
+        phaseTimer.install(builder);
+        this.httpClient = builder.build();
 
         // Initialize reconnect executor with a single thread
         this.reconnectExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
@@ -94,7 +337,71 @@ public class WebSocketClient extends WebSocketListener {
             metrics.setQueueCapacity(queueSize);
         }
 
-        connect();
+        if (rotationIntervalMs > 0) {
+            reconnectExecutor.scheduleWithFixedDelay(() -> {
+                if (connected.get() && !isFeedStopped()) {
+                    MDC.put("websocket_url", url);
+                    startRotation("scheduled");
+                    MDC.clear();
+                }
+            }, rotationIntervalMs, rotationIntervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        if (mirrors != null) {
+            publishMirrors();
+            if (mirrorProbeIntervalMs > 0) {
+                reconnectExecutor.scheduleWithFixedDelay(() -> {
+                    try {
+                        probeMirrors();
+                    } catch (Exception e) {
+                        log.error("event=mirror_probe_error error_message={}", e.getMessage(), e);
+                    }
+                }, mirrorProbeIntervalMs, mirrorProbeIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        long watchdogPeriodMs = livenessCheckPeriodMs();
+        if (watchdogPeriodMs > 0) {
+            reconnectExecutor.scheduleAtFixedRate(() -> {
+                try {
+                    checkLiveness();
+                } catch (Exception e) {
+                    log.error("event=liveness_check_error error_message={}", e.getMessage(), e);
+                }
+            }, watchdogPeriodMs, watchdogPeriodMs, TimeUnit.MILLISECONDS);
+        }
+
+        if (pauseAction != PauseAction.NONE && pauseDetectMs > 0) {
+            long period = Math.max(100, Math.min(pauseDetectMs / 4, 1000));
+            reconnectExecutor.scheduleWithFixedDelay(() -> {
+                try {
+                    checkPaused();
+                } catch (Exception e) {
+                    log.error("event=pause_check_error error_message={}", e.getMessage(), e);
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        }
+
+        lastPollNanos = System.nanoTime();
+        if (warmupEnabled && activeUrl.regionMatches(true, 0, "wss:", 0, 4)) {
+            // Off the caller's thread: an unreachable host would otherwise hold up start()
+            // for the DNS lookup plus a connect timeout for each of TCP and TLS
+            reconnectExecutor.execute(() -> {
+                MDC.put("websocket_url", url);
+                try {
+                    warmUp();
+                    if (shouldReconnect.get()) {
+                        connect();
+                    }
+                } catch (Exception e) {
+                    log.error("event=reconnect_error error_message={}", e.getMessage(), e);
+                } finally {
+                    MDC.clear();
+                }
+            });
+        } else {
+            connect();
+        }
         log.info("event=websocket_client_started url={}", url);
         MDC.clear();
     }
@@ -103,7 +410,62 @@ public class WebSocketClient extends WebSocketListener {
      * Connect to the WebSocket endpoint.
      */
     private void connect() {
-        Request.Builder requestBuilder = new Request.Builder().url(url);
+        String target = activeUrl;
+        if (!acquireHandshakePermit(target)) {
+            long delay = admission.retryDelayMillis();
+            log.debug("event=connect_deferred reason=admission retry_in_ms={}", delay);
+            reconnectTask = reconnectExecutor.schedule(() -> {
+                try {
+                    if (shouldReconnect.get()) {
+                        MDC.put("websocket_url", url);
+                        connect();
+                    }
+                } catch (Exception e) {
+                    log.error("event=reconnect_error error_message={}", e.getMessage(), e);
+                } finally {
+                    MDC.clear();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+        webSocket = openWebSocket(target);
+    }
+
+    /**
+     * Ask worker-wide admission control for a handshake slot. The permit is held until the
+     * handshake completes or fails.
+     *
+     * @return true if the connect attempt may go ahead now
+     */
+    private boolean acquireHandshakePermit(String target) {
+        if (admission == null) {
+            return true;
+        }
+        ConnectAdmission.Permit permit = admission.tryAcquire(ConnectAdmission.hostKey(target), this);
+        if (permit == null) {
+            if (metrics != null) {
+                metrics.incrementConnectsDeferred();
+            }
+            return false;
+        }
+        releaseHandshakePermit();
+        handshakePermit = permit;
+        if (metrics != null) {
+            metrics.incrementConnectsAdmitted();
+        }
+        return true;
+    }
+
+    private void releaseHandshakePermit() {
+        ConnectAdmission.Permit permit = handshakePermit;
+        handshakePermit = null;
+        if (permit != null) {
+            permit.release();
+        }
+    }
+
+    private WebSocket openWebSocket(String target) {
+        Request.Builder requestBuilder = new Request.Builder().url(target);
 
         // Add custom headers
         for (Map.Entry<String, String> header : headers.entrySet()) {
@@ -111,55 +473,574 @@ public class WebSocketClient extends WebSocketListener {
         }
 
         Request request = requestBuilder.build();
-        webSocket = httpClient.newWebSocket(request, this);
+        return httpClient.newWebSocket(request, this);
+    }
+
+    /**
+     * Resolve the host and complete a throwaway TCP and TLS handshake ahead of the first upgrade,
+     * which then finds the address cached and resumes the TLS session. The socket is closed
+     * afterwards. Failures are logged and otherwise ignored; the connect attempt reports them.
+     */
+    private void warmUp() {
+        try {
+            ConnectPhaseTimer.Phases phases = openPlainConnection(activeUrl);
+            log.info("event=connection_warmup_complete dns_ms={} tcp_ms={} tls_ms={}",
+                    TimeUnit.NANOSECONDS.toMillis(phases.dnsNanos), TimeUnit.NANOSECONDS.toMillis(phases.tcpNanos),
+                    TimeUnit.NANOSECONDS.toMillis(phases.tlsNanos));
+        } catch (IOException e) {
+            log.warn("event=connection_warmup_failed error_type={} error_message={}",
+                    e.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Resolve the target, open a TCP connection and, for wss, complete a TLS handshake, then
+     * close the socket. Plain sockets rather than an HTTP request: a HEAD would reach the
+     * application and, on servers that answer every request with an upgrade, use up a
+     * connection slot.
+     *
+     * @return the DNS, TCP and TLS durations
+     */
+    private ConnectPhaseTimer.Phases openPlainConnection(String target) throws IOException {
+        HttpUrl endpoint = HttpUrl.get(target.replaceFirst("(?i)^ws", "http"));
+        ConnectPhaseTimer.Phases phases = new ConnectPhaseTimer.Phases();
+        long startNanos = System.nanoTime();
+        InetAddress address = Dns.SYSTEM.lookup(endpoint.host()).get(0);
+        phases.dnsNanos = System.nanoTime() - startNanos;
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(address, endpoint.port()), (int) connectionTimeoutMs);
+            phases.tcpNanos = System.nanoTime() - startNanos - phases.dnsNanos;
+            TlsSessionCache tls = TlsSessionCache.get();
+            if (endpoint.isHttps() && tls != null) {
+                // Same context and host:port key as OkHttp's, so the upgrade resumes this session
+                socket.setSoTimeout((int) connectionTimeoutMs);
+                try (SSLSocket sslSocket = (SSLSocket) tls.getSocketFactory()
+                        .createSocket(socket, endpoint.host(), endpoint.port(), false)) {
+                    sslSocket.startHandshake();
+                }
+                phases.tlsNanos = System.nanoTime() - startNanos - phases.dnsNanos - phases.tcpNanos;
+            }
+        }
+        phases.totalNanos = System.nanoTime() - startNanos;
+        return phases;
+    }
+
+    /**
+     * Measure the connect time (TCP plus TLS, DNS excluded) of every mirror, then move off the
+     * active mirror if its latency has drifted above the threshold and another one scores
+     * better. Probes are the only source of round-trip samples, so every mirror is scored on
+     * the same measurement.
+     */
+    private void probeMirrors() {
+        for (String target : mirrors.getUrls()) {
+            // On OkHttp's dispatcher threads: a mirror that times out must not hold up reconnects
+            httpClient.dispatcher().executorService().execute(() -> {
+                try {
+                    ConnectPhaseTimer.Phases phases = openPlainConnection(target);
+                    mirrors.recordRtt(target, phases.tcpNanos + phases.tlsNanos);
+                } catch (IOException | RuntimeException e) {
+                    mirrors.recordFailure(target);
+                    log.debug("event=mirror_probe_failed mirror={} error_message={}",
+                            MirrorSelector.displayName(target), e.getMessage());
+                }
+            });
+        }
+
+        MDC.put("websocket_url", url);
+        String current = activeUrl;
+        if (connected.get() && mirrors.shouldMoveAway(current)) {
+            String best = mirrors.select();
+            log.warn("event=mirror_latency_drift active_mirror={} active_score={} target_mirror={} target_score={}",
+                    MirrorSelector.displayName(current), String.format("%.1f", mirrors.score(current)),
+                    MirrorSelector.displayName(best), String.format("%.1f", mirrors.score(best)));
+            startRotation("latency_drift", best);
+        }
+        publishMirrors();
+        MDC.clear();
+    }
+
+    /**
+     * Point reconnects at the best-scoring mirror.
+     */
+    private void selectMirror() {
+        String best = mirrors.select();
+        String current = activeUrl;
+        if (!best.equals(current)) {
+            log.warn("event=mirror_failover from_mirror={} to_mirror={} from_score={} to_score={}",
+                    MirrorSelector.displayName(current), MirrorSelector.displayName(best),
+                    String.format("%.1f", mirrors.score(current)), String.format("%.1f", mirrors.score(best)));
+            activeUrl = best;
+            if (metrics != null) {
+                metrics.incrementMirrorFailovers();
+            }
+        }
+        publishMirrors();
+    }
+
+    private void publishMirrors() {
+        if (metrics != null) {
+            metrics.updateMirrors(MirrorSelector.displayName(activeUrl), mirrors.describeScores());
+        }
+    }
+
+    /**
+     * Report the message rate of the session that just ended to the mirror selector.
+     */
+    private void endSession() {
+        long started = sessionStartMillis;
+        if (mirrors != null && started > 0) {
+            mirrors.recordSession(activeUrl, sessionMessages.get(), System.currentTimeMillis() - started);
+        }
+        sessionStartMillis = 0;
+    }
+
+    private void beginSession() {
+        sessionMessages.set(0);
+        sessionStartMillis = System.currentTimeMillis();
+    }
+
+    private long livenessCheckPeriodMs() {
+        long period = Long.MAX_VALUE;
+        if (idleTimeoutMs > 0) {
+            period = idleTimeoutMs / 4;
+        }
+        if (heartbeatMessage != null && heartbeatIntervalMs > 0) {
+            period = Math.min(period, heartbeatIntervalMs / 4);
+        }
+        return period == Long.MAX_VALUE ? 0 : Math.max(100, period);
+    }
+
+    /**
+     * Watchdog tick: send the heartbeat when idle and replace the connection when it has been
+     * silent for longer than the idle timeout (half-open TCP connections never fail on their own).
+     */
+    private void checkLiveness() {
+        WebSocket current = webSocket;
+        if (!connected.get() || current == null || pendingWebSocket != null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long idleMs = TimeUnit.NANOSECONDS.toMillis(now - lastFrameNanos);
+
+        if (heartbeatMessage != null && heartbeatIntervalMs > 0 && idleMs >= heartbeatIntervalMs
+                && TimeUnit.NANOSECONDS.toMillis(now - lastHeartbeatNanos) >= heartbeatIntervalMs) {
+            lastHeartbeatNanos = now;
+            current.send(heartbeatMessage);
+        }
+
+        // A feed stopped on purpose is silent by design: replacing the connection would resubscribe
+        if (idleTimeoutMs > 0 && idleMs >= idleTimeoutMs && !isFeedStopped()) {
+            MDC.put("websocket_url", url);
+            log.warn("event=stale_connection_detected reason=idle_timeout idle_ms={} idle_timeout_ms={}",
+                     idleMs, idleTimeoutMs);
+            if (metrics != null) {
+                metrics.recordStaleConnection(idleMs);
+            }
+            lastFrameNanos = now; // Give the replacement a full window
+            startRotation("idle_timeout");
+            MDC.clear();
+        }
+    }
+
+    /**
+     * Whether the feed was stopped on purpose because the task is paused. Spilling keeps reading,
+     * so its connection is still expected to deliver.
+     */
+    private boolean isFeedStopped() {
+        return paused.get() && pauseAction != PauseAction.SPILL;
+    }
+
+    /**
+     * Pause check tick: the task did not poll for the detection window, so it is paused (or
+     * stuck) and further messages would only be dropped.
+     */
+    private void checkPaused() {
+        long undrainedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastPollNanos);
+        if (undrainedMs < pauseDetectMs || paused.get() || !connected.get() || pendingWebSocket != null) {
+            return;
+        }
+        MDC.put("websocket_url", url);
+        log.info("event=flow_control_paused action={} undrained_ms={} queue_size={}",
+                pauseAction, undrainedMs, messageQueue.size());
+        MDC.clear();
+        if (metrics != null) {
+            metrics.recordFlowControlPause();
+        }
+        pause();
+        if (standbyLeg != null) {
+            standbyLeg.pause();
+        }
+    }
+
+    private void pause() {
+        WebSocket current = webSocket;
+        if (pauseAction == PauseAction.NONE || !connected.get() || current == null
+                || !paused.compareAndSet(false, true)) {
+            return;
+        }
+        MDC.put("websocket_url", url);
+        switch (pauseAction) {
+            case UNSUBSCRIBE:
+                log.info("event=unsubscribe_sent message_preview={}", redactSensitiveData(unsubscribeMessage));
+                current.send(unsubscribeMessage);
+                break;
+            case CLOSE:
+                log.info("event=connection_closing reason=paused");
+                current.close(1000, "Consumer paused");
+                break;
+            default:
+                // SPILL: keep reading, onMessage spills what does not fit the queue
+                break;
+        }
+        MDC.clear();
+    }
+
+    /**
+     * The task is polling again: undo what {@link #checkPaused()} did.
+     */
+    private void resume() {
+        if (standbyLeg != null) {
+            standbyLeg.resume();
+        }
+        if (!paused.compareAndSet(true, false)) {
+            return;
+        }
+        MDC.put("websocket_url", url);
+        log.info("event=flow_control_resumed action={}", pauseAction);
+        if (metrics != null && arbiterLeg != MessageArbiter.STANDBY) {
+            metrics.setFlowControlPaused(false);
+        }
+        if (shouldReconnect.get()) {
+            switch (pauseAction) {
+                case UNSUBSCRIBE:
+                    // Also covers connections opened while paused, which were not subscribed
+                    WebSocket current = webSocket;
+                    if (connected.get() && current != null) {
+                        lastFrameNanos = System.nanoTime(); // The feed was silent on purpose until now
+                        sendSubscription(current);
+                    }
+                    synchronized (rotationLock) {
+                        // A rotation opened meanwhile is cut over to next, so it needs the feed too
+                        if (pendingUnsubscribed != null && pendingUnsubscribed == pendingWebSocket) {
+                            sendSubscription(pendingUnsubscribed);
+                        }
+                        pendingUnsubscribed = null;
+                    }
+                    break;
+                case CLOSE:
+                    if (!connected.get()) {
+                        reconnectExecutor.execute(() -> {
+                            MDC.put("websocket_url", url);
+                            connect();
+                            MDC.clear();
+                        });
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        MDC.clear();
+    }
+
+    /**
+     * Write a message that did not fit the queue to the spill. Once anything is spilled, newer
+     * messages go to the spill as well until it has been replayed, to keep them in order.
+     *
+     * @return false if the spill is full (or failed) and the message must be dropped
+     */
+    private boolean spillMessage(String text) {
+        synchronized (spillLock) {
+            long size = text.length() + 4L; // Approximate: exact for ASCII payloads
+            if (spilledBytes + replayBytes + size > spillMaxBytes) {
+                return false;
+            }
+            spillBuffer.add(text);
+            spilledBytes += size;
+            spillActive = true;
+            if (spillBuffer.size() >= SPILL_FLUSH_BATCH) {
+                return flushSpill();
+            }
+            return true;
+        }
+    }
+
+    private boolean flushSpill() {
+        try {
+            spill.appendAll(spillBuffer);
+            if (metrics != null) {
+                metrics.incrementMessagesSpilled(spillBuffer.size());
+            }
+            return true;
+        } catch (IOException e) {
+            log.error("event=spill_write_failed file={} error={}", spill.getFile(), e.getMessage(), e);
+            return false;
+        } finally {
+            spillBuffer.clear();
+        }
+    }
+
+    /**
+     * Start replaying the spill once the queue (holding the older messages) has been drained.
+     * Messages spilled from now on go to a fresh file, replayed after this one. Callers hold
+     * spillLock.
+     */
+    private void loadSpill() {
+        if (!spillBuffer.isEmpty()) {
+            flushSpill();
+        }
+        try {
+            spillReplay = spill.startReplay();
+            if (spillReplay != null) {
+                MDC.put("websocket_url", url);
+                log.info("event=spill_replay_started bytes={} file={}", spilledBytes, spillReplay.getFile());
+                MDC.clear();
+            }
+        } catch (IOException e) {
+            log.error("event=spill_read_failed file={} error={}", spill.getFile(), e.getMessage(), e);
+        }
+        replayBytes = spillReplay != null ? spilledBytes : 0;
+        spilledBytes = 0;
+        spillActive = false;
+    }
+
+    /**
+     * Read the next chunk of the spill replay, up to limit messages in total. The file is only
+     * read as far as needed, so a large spill does not have to fit in memory. Callers hold
+     * spillLock.
+     */
+    private void readSpillReplay(List<String> messages, int limit) {
+        try {
+            List<String> chunk = spillReplay.next(limit - messages.size());
+            for (String message : chunk) {
+                replayBytes -= message.length() + 4L;
+            }
+            messages.addAll(chunk);
+            if (!spillReplay.isDone()) {
+                return;
+            }
+        } catch (IOException e) {
+            log.error("event=spill_read_failed file={} error={}", spillReplay.getFile(), e.getMessage(), e);
+        }
+        try {
+            spillReplay.close();
+        } catch (IOException e) {
+            log.warn("event=spill_delete_failed file={} error={}", spillReplay.getFile(), e.getMessage());
+        }
+        spillReplay = null;
+        replayBytes = 0;
+    }
+
+    /**
+     * Open and subscribe a fresh connection alongside the current one.
+     * The current connection is retired once the new one delivers (see {@link #cutOver}).
+     */
+    private void startRotation(String reason) {
+        startRotation(reason, activeUrl);
+    }
+
+    private void startRotation(String reason, String target) {
+        synchronized (rotationLock) {
+            if (!shouldReconnect.get() || pendingWebSocket != null || httpClient == null) {
+                return;
+            }
+            if (!acquireHandshakePermit(target)) {
+                long delay = admission.retryDelayMillis();
+                log.debug("event=rotation_deferred reason=admission retry_in_ms={}", delay);
+                reconnectExecutor.schedule(() -> {
+                    // If the current connection dropped meanwhile, the reconnect path has taken over
+                    if (connected.get()) {
+                        MDC.put("websocket_url", url);
+                        startRotation(reason, target);
+                        MDC.clear();
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+                return;
+            }
+            handoverArbiter = new MessageArbiter(rotationIdPath, HANDOVER_DEDUP_WINDOW);
+            handoverUntilNanos = Long.MAX_VALUE;
+            pendingOpen = false;
+            pendingUrl = target;
+            pendingWebSocket = openWebSocket(target);
+            handoverTarget = pendingWebSocket;
+        }
+        if (metrics != null) {
+            metrics.incrementRotations();
+        }
+        log.info("event=rotation_started reason={} mirror={}", reason, MirrorSelector.displayName(target));
+    }
+
+    /**
+     * Promote the pending connection to current and close the previous one.
+     * Messages from both keep being deduplicated until the overlap window elapses.
+     */
+    private void cutOver(WebSocket next, String trigger) {
+        WebSocket previous;
+        synchronized (rotationLock) {
+            if (next == null || next != pendingWebSocket) {
+                return; // Already cut over, or the rotation was abandoned
+            }
+            previous = webSocket;
+            webSocket = next;
+            pendingWebSocket = null;
+            if (mirrors != null && !pendingUrl.equals(activeUrl)) {
+                endSession();
+                log.info("event=mirror_switched from_mirror={} to_mirror={}",
+                        MirrorSelector.displayName(activeUrl), MirrorSelector.displayName(pendingUrl));
+                activeUrl = pendingUrl;
+                if (metrics != null) {
+                    metrics.incrementMirrorFailovers();
+                }
+                publishMirrors();
+                beginSession();
+            }
+            pendingOpen = false;
+            retiringWebSocket = previous;
+            handoverUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(rotationOverlapMs);
+        }
+        connected.set(true);
+        reconnectAttempts.set(0);
+        lastFrameNanos = System.nanoTime();
+        reportConnected(true);
+        log.info("event=rotation_cut_over trigger={} overlap_ms={}", trigger, rotationOverlapMs);
+        if (previous != null) {
+            previous.close(1000, "Connection rotated");
+        }
+    }
+
+    /**
+     * Route close/failure callbacks that belong to a connection rotation.
+     *
+     * @return true if the callback was fully handled and no reconnect is needed
+     */
+    private boolean handleRotationClose(WebSocket source) {
+        synchronized (rotationLock) {
+            if (source == retiringWebSocket) {
+                retiringWebSocket = null;
+                log.debug("event=rotation_previous_connection_released");
+                return true;
+            }
+            if (source == pendingWebSocket) {
+                if (mirrors != null) {
+                    mirrors.recordFailure(pendingUrl);
+                }
+                pendingWebSocket = null;
+                pendingOpen = false;
+                handoverArbiter = null;
+                log.warn("event=rotation_abandoned reason=new_connection_lost current_connected={}", connected.get());
+                return connected.get();
+            }
+            if (pendingWebSocket != null && source == webSocket) {
+                // Current connection lost mid-rotation: the pending one takes over
+                connected.set(false);
+                reportConnected(false);
+                if (pendingOpen) {
+                    cutOver(pendingWebSocket, "previous_connection_closed");
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deduplicate messages while two connections overlap during a rotation.
+     *
+     * @return false if the message is a duplicate of one already delivered by the other connection
+     */
+    private boolean acceptDuringRotation(WebSocket source, String text) {
+        if (source == pendingWebSocket) {
+            cutOver(source, "first_message");
+        }
+        MessageArbiter handover = handoverArbiter;
+        if (handover == null) {
+            return true;
+        }
+        if (System.nanoTime() > handoverUntilNanos) {
+            handoverArbiter = null;
+            return true;
+        }
+        int leg = source == handoverTarget ? MessageArbiter.STANDBY : MessageArbiter.PRIMARY;
+        if (!handover.accept(leg, text)) {
+            if (metrics != null) {
+                metrics.incrementRotationDuplicatesDropped();
+            }
+            return false;
+        }
+        return true;
     }
 
     /**
      * Stop the WebSocket connection.
      */
     public void stop() {
+        initiateStop();
+        awaitStop(System.nanoTime() + TimeUnit.SECONDS.toNanos(STOP_TIMEOUT_SECONDS));
+    }
+
+    /**
+     * Begin shutting down without waiting: stop reconnecting, start closing the connections and
+     * shut down the executors. Callers stopping several clients initiate all of them first, then
+     * wait for them under one deadline with {@link #awaitStop(long)}.
+     */
+    public void initiateStop() {
         MDC.put("websocket_url", url);
         log.info("event=websocket_client_stopping url={}", url);
         shouldReconnect.set(false);
+        if (admission != null) {
+            admission.cancel(this);
+        }
 
         // Cancel any pending reconnection task
         if (reconnectTask != null && !reconnectTask.isDone()) {
             reconnectTask.cancel(false);
             log.debug("event=reconnect_task_cancelled");
         }
-
-        // Shutdown reconnect executor
         if (reconnectExecutor != null) {
             reconnectExecutor.shutdown();
-            try {
-                if (!reconnectExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    log.warn("event=executor_shutdown_timeout executor=reconnect action=forcing_shutdown");
-                    reconnectExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("event=executor_shutdown_interrupted executor=reconnect");
-                reconnectExecutor.shutdownNow();
-            }
         }
 
         // Close WebSocket connection
         if (webSocket != null) {
             webSocket.close(1000, "Connector shutdown");
         }
+        WebSocket pending = pendingWebSocket;
+        if (pending != null) {
+            pending.close(1000, "Connector shutdown");
+        }
+
+        if (httpClient != null) {
+            httpClient.dispatcher().executorService().shutdown();
+        }
+        MDC.clear();
+    }
+
+    /**
+     * Wait for a stop started by {@link #initiateStop()} to finish. Whatever is still running at
+     * the deadline is cancelled: sockets are closed without waiting for the server's close frame.
+     *
+     * @param deadlineNanos {@link System#nanoTime()} by which the client must be stopped
+     */
+    public void awaitStop(long deadlineNanos) {
+        MDC.put("websocket_url", url);
+        if (reconnectExecutor != null && !awaitTermination(reconnectExecutor, deadlineNanos)) {
+            log.warn("event=executor_shutdown_timeout executor=reconnect action=forcing_shutdown");
+            reconnectExecutor.shutdownNow();
+        }
 
         // Shutdown HTTP client resources
         if (httpClient != null) {
             ExecutorService dispatcherExecutor = httpClient.dispatcher().executorService();
-            dispatcherExecutor.shutdown();
-            try {
-                if (!dispatcherExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    log.warn("event=executor_shutdown_timeout executor=dispatcher action=forcing_shutdown");
-                    dispatcherExecutor.shutdownNow();
+            if (!awaitTermination(dispatcherExecutor, deadlineNanos)) {
+                log.warn("event=executor_shutdown_timeout executor=dispatcher action=forcing_shutdown");
+                if (webSocket != null) {
+                    webSocket.cancel();
+                }
+                WebSocket pending = pendingWebSocket;
+                if (pending != null) {
+                    pending.cancel();
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("event=executor_shutdown_interrupted executor=dispatcher");
+                httpClient.dispatcher().cancelAll();
                 dispatcherExecutor.shutdownNow();
             }
 
@@ -168,17 +1049,114 @@ public class WebSocketClient extends WebSocketListener {
         }
 
         connected.set(false);
+        releaseHandshakePermit();
+        if (overflowBurst != null) {
+            FlightEvents.overflowEnded(overflowBurst); // The reader is gone, close the burst it left open
+            overflowBurst = null;
+        }
         log.info("event=websocket_client_stopped url={} messages_received={} messages_dropped={} reconnect_attempts={}",
-                 url, messagesReceived.get(), messagesDropped.get(), reconnectAttempts.get());
+                 url, counters.getMessagesReceived(), counters.getMessagesDropped(), reconnectAttempts.get());
+        MDC.clear();
+    }
+
+    private boolean awaitTermination(ExecutorService executor, long deadlineNanos) {
+        try {
+            return executor.awaitTermination(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("event=executor_shutdown_interrupted");
+            return false;
+        }
+    }
+
+    /**
+     * Resubscribe on a fresh connection (make-before-break), e.g. after the payload stream
+     * was detected to be corrupt. The current connection keeps delivering until then.
+     *
+     * @return true if a new connection is being opened
+     */
+    public boolean resubscribe(String reason) {
+        if (!connected.get() || pendingWebSocket != null) {
+            return false;
+        }
+        MDC.put("websocket_url", url);
+        startRotation(reason);
         MDC.clear();
+        return pendingWebSocket != null;
+    }
+
+    /**
+     * Record that the task polled, whether or not it then drains the queue. A poll held back by
+     * the in-flight window or served from the replay backlog is backpressure, not a pause.
+     */
+    public void markPolled() {
+        lastPollNanos = System.nanoTime();
+        resume();
     }
 
     /**
-     * Get available messages from the queue.
+     * Get all available messages from the queue.
      */
     public List<String> getMessages() {
+        return getMessages(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get at most maxMessages available messages; the rest stay queued.
+     */
+    public List<String> getMessages(int maxMessages) {
+        markPolled();
         List<String> messages = new ArrayList<>();
-        messageQueue.drainTo(messages);
+        if (spill == null) {
+            messageQueue.drainTo(messages, maxMessages);
+            counters.recordDequeued(messages, 0);
+            return messages;
+        }
+        int limit = Math.min(queueSize, maxMessages);
+        synchronized (spillLock) {
+            // Spilled messages are older than anything queued after the replay started
+            if (spillReplay != null) {
+                readSpillReplay(messages, limit);
+            }
+            if (spillReplay == null && messages.isEmpty()) {
+                messageQueue.drainTo(messages, maxMessages);
+                counters.recordDequeued(messages, 0);
+                if (messages.isEmpty() && spillActive) {
+                    loadSpill();
+                    if (spillReplay != null) {
+                        readSpillReplay(messages, limit);
+                    }
+                }
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Take everything received but not yet handed out, oldest first, without resuming a pause.
+     * Used on shutdown to keep undelivered messages.
+     */
+    public List<String> drainUndelivered() {
+        List<String> messages = new ArrayList<>();
+        if (spill == null) {
+            messageQueue.drainTo(messages);
+            counters.recordDequeued(messages, 0);
+            return messages;
+        }
+        synchronized (spillLock) {
+            if (spillReplay != null) {
+                readSpillReplay(messages, Integer.MAX_VALUE);
+            }
+            int queued = messages.size();
+            messageQueue.drainTo(messages);
+            counters.recordDequeued(messages, queued);
+            if (spillActive) {
+                loadSpill();
+                if (spillReplay != null) {
+                    readSpillReplay(messages, Integer.MAX_VALUE);
+                }
+            }
+        }
         return messages;
     }
 
@@ -193,7 +1171,7 @@ public class WebSocketClient extends WebSocketListener {
      * Get the number of messages received.
      */
     public long getMessagesReceived() {
-        return messagesReceived.get();
+        return counters.getMessagesReceived();
     }
 
     /**
@@ -207,7 +1185,7 @@ public class WebSocketClient extends WebSocketListener {
      * Get the number of messages dropped.
      */
     public long getMessagesDropped() {
-        return messagesDropped.get();
+        return counters.getMessagesDropped();
     }
 
     /**
@@ -235,8 +1213,7 @@ public class WebSocketClient extends WebSocketListener {
      * Get milliseconds since last message received.
      */
     public long getMillisSinceLastMessage() {
-        if (lastMessageTimestamp == 0) return -1;
-        return System.currentTimeMillis() - lastMessageTimestamp;
+        return counters.getMillisSinceLastMessage();
     }
 
     /**
@@ -246,53 +1223,170 @@ public class WebSocketClient extends WebSocketListener {
         this.metrics = metrics;
     }
 
+    /**
+     * Count messages in the given shared counters instead of this client's own, e.g. the ones
+     * behind the task's metrics. Must be called before {@link #start()}.
+     */
+    public void setCounters(MessageCounters counters) {
+        this.counters = counters;
+    }
+
+    /**
+     * Route incoming messages through an arbiter shared with the other leg of a redundant pair.
+     */
+    public void setArbiter(MessageArbiter arbiter, int leg) {
+        this.arbiter = arbiter;
+        this.arbiterLeg = leg;
+    }
+
+    private void reportConnected(boolean isConnected) {
+        if (metrics == null) {
+            return;
+        }
+        if (arbiterLeg == MessageArbiter.STANDBY) {
+            metrics.setStandbyConnected(isConnected);
+        } else {
+            metrics.setConnected(isConnected);
+        }
+    }
+
     // WebSocketListener callbacks
 
     @Override
     public void onOpen(WebSocket webSocket, Response response) {
         MDC.put("websocket_url", url);
-        log.info("event=websocket_opened url={} response_code={}", url, response.code());
+        releaseHandshakePermit();
+        FlightEvents.connectionOpened(webSocket.request().url().toString(), response.code());
+        synchronized (rotationLock) {
+            if (webSocket == pendingWebSocket) {
+                log.info("event=rotation_connection_opened response_code={}", response.code());
+                pendingOpen = true;
+                subscribeUnlessUnsubscribed(webSocket);
+                if (!connected.get()) {
+                    // The previous connection is already gone, no reason to wait for data
+                    cutOver(webSocket, "previous_connection_closed");
+                } else {
+                    reconnectExecutor.schedule(() -> {
+                        MDC.put("websocket_url", url);
+                        cutOver(webSocket, "overlap_elapsed");
+                        MDC.clear();
+                    }, rotationOverlapMs, TimeUnit.MILLISECONDS);
+                }
+                MDC.clear();
+                return;
+            }
+        }
+
+        ConnectPhaseTimer.Phases phases = phaseTimer != null ? phaseTimer.getLastUpgrade() : null;
+        log.info("event=websocket_opened url={} mirror={} response_code={} {}",
+                url, MirrorSelector.displayName(activeUrl), response.code(), phases != null ? phases.describe() : "");
+        beginSession();
         connected.set(true);
         reconnectAttempts.set(0);
+        backoffPolicy.onConnected();
+        lastFrameNanos = System.nanoTime();
         queueWarningLogged = false; // Reset warning flag on new connection
 
-        if (metrics != null) {
-            metrics.setConnected(true);
+        reportConnected(true);
+        subscribeUnlessUnsubscribed(webSocket);
+        MDC.clear();
+    }
+
+    /**
+     * Subscribe a newly opened connection, unless the feed was unsubscribed because the task is
+     * paused; {@link #resume()} subscribes it then.
+     */
+    private void subscribeUnlessUnsubscribed(WebSocket webSocket) {
+        if (paused.get() && pauseAction == PauseAction.UNSUBSCRIBE) {
+            log.info("event=subscription_deferred reason=paused");
+            if (webSocket == pendingWebSocket) {
+                pendingUnsubscribed = webSocket;
+            }
+            return;
         }
+        sendSubscription(webSocket);
+    }
 
-        // Send subscription message if configured
-        if (subscriptionMessage != null && !subscriptionMessage.isEmpty()) {
+    /**
+     * Send the subscription message, if configured, on the given connection.
+     */
+    private void sendSubscription(WebSocket webSocket) {
+        String message = renderSubscription();
+        if (message != null && !message.isEmpty()) {
             // Redact sensitive data in logs
-            String redactedMessage = redactSensitiveData(subscriptionMessage);
+            String redactedMessage = redactSensitiveData(message);
             log.info("event=subscription_sent message_preview={}", redactedMessage);
-            webSocket.send(subscriptionMessage);
+            webSocket.send(message);
         }
-        MDC.clear();
+    }
+
+    /**
+     * Build the subscription message, templating in the server cursor when one is known.
+     */
+    private String renderSubscription() {
+        String cursor = cursorSupplier != null ? cursorSupplier.get() : null;
+        String template = subscriptionMessage;
+        if (cursor != null && cursorSubscriptionMessage != null && !cursorSubscriptionMessage.isEmpty()) {
+            template = cursorSubscriptionMessage;
+        }
+        if (template == null || !template.contains(CURSOR_PLACEHOLDER)) {
+            return template;
+        }
+        if (cursor != null) {
+            log.info("event=subscription_resume cursor={}", cursor);
+        }
+        return template.replace(CURSOR_PLACEHOLDER, cursor != null ? cursor : "");
     }
 
     @Override
     public void onMessage(WebSocket webSocket, String text) {
-        messagesReceived.incrementAndGet();
-        lastMessageTimestamp = System.currentTimeMillis();
-
-        if (metrics != null) {
-            metrics.incrementMessagesReceived();
+        lastFrameNanos = System.nanoTime();
+        if (handoverArbiter != null && !acceptDuringRotation(webSocket, text)) {
+            return; // Already delivered by the other connection of an ongoing rotation
+        }
+        if (arbiter != null && !arbiter.accept(arbiterLeg, text)) {
+            return; // The other leg already delivered this message
         }
 
+        int bytes = MessageCounters.utf8Length(text);
+        counters.recordMessageReceived(bytes);
+        sessionMessages.incrementAndGet();
+
         // Check queue utilization and log warnings
         int currentSize = messageQueue.size();
         double utilization = (currentSize * 100.0) / queueSize;
 
-        // Add message to queue
-        boolean added = messageQueue.offer(text);
+        // Add message to queue; in spill mode, overflow (and everything after it) goes to disk
+        boolean added;
+        boolean queued;
+        if (spill != null) {
+            synchronized (spillLock) {
+                queued = !spillActive && messageQueue.offer(text);
+                added = queued || spillMessage(text);
+            }
+        } else {
+            queued = messageQueue.offer(text);
+            added = queued;
+        }
+        if (queued) {
+            counters.recordEnqueued(text);
+        }
+        if (added && overflowBurst != null) {
+            FlightEvents.overflowEnded(overflowBurst);
+            overflowBurst = null;
+        }
         if (!added) {
-            messagesDropped.incrementAndGet();
-            if (metrics != null) {
-                metrics.incrementMessagesDropped();
+            counters.recordMessageDropped();
+            if (overflowBurst == null) {
+                overflowBurst = FlightEvents.overflowStarted(url, queueSize);
+            }
+            if (overflowBurst != null) {
+                overflowBurst.messagesDropped++;
+                overflowBurst.bytesDropped += bytes;
             }
             MDC.put("websocket_url", url);
             log.warn("event=message_dropped reason=queue_full queue_size={} queue_capacity={} utilization_percent=100.0 messages_dropped_total={}",
-                     queueSize, queueSize, messagesDropped.get());
+                     queueSize, queueSize, counters.getMessagesDropped());
             MDC.clear();
         } else {
             // Update metrics
@@ -314,10 +1408,10 @@ public class WebSocketClient extends WebSocketListener {
         }
 
         // Log metrics periodically
-        if (log.isDebugEnabled() && messagesReceived.get() % 100 == 0) {
+        if (log.isDebugEnabled() && counters.getMessagesReceived() % 100 == 0) {
             MDC.put("websocket_url", url);
             log.debug("event=messages_received_milestone messages_received={} queue_size={} queue_utilization_percent={}",
-                      messagesReceived.get(), messageQueue.size(), String.format("%.2f", utilization));
+                      counters.getMessagesReceived(), messageQueue.size(), String.format("%.2f", utilization));
             MDC.clear();
         }
     }
@@ -325,10 +1419,27 @@ public class WebSocketClient extends WebSocketListener {
     @Override
     public void onClosing(WebSocket webSocket, int code, String reason) {
         MDC.put("websocket_url", url);
+        synchronized (rotationLock) {
+            if (webSocket == retiringWebSocket || webSocket == pendingWebSocket) {
+                log.debug("event=rotation_connection_closing code={} reason={}", code, reason);
+                MDC.clear();
+                return;
+            }
+            if (pendingOpen && webSocket == this.webSocket) {
+                log.info("event=websocket_closing code={} reason={}", code, reason);
+                cutOver(pendingWebSocket, "previous_connection_closing");
+                MDC.clear();
+                return;
+            }
+        }
+
         log.info("event=websocket_closing code={} reason={}", code, reason);
         connected.set(false);
-        if (metrics != null) {
-            metrics.setConnected(false);
+        reportConnected(false);
+
+        // Server is going away (deploy, forced rotation): open the next connection right away
+        if (code == CLOSE_GOING_AWAY && rotateOnGoingAway && reconnectEnabled) {
+            startRotation("going_away");
         }
         MDC.clear();
     }
@@ -336,33 +1447,77 @@ public class WebSocketClient extends WebSocketListener {
     @Override
     public void onClosed(WebSocket webSocket, int code, String reason) {
         MDC.put("websocket_url", url);
+        FlightEvents.connectionClosed(webSocket.request().url().toString(), code, reason);
+        if (handleRotationClose(webSocket)) {
+            log.debug("event=rotation_connection_closed code={} reason={}", code, reason);
+            MDC.clear();
+            return;
+        }
         log.info("event=websocket_closed code={} reason={}", code, reason);
+        endSession();
         connected.set(false);
-        if (metrics != null) {
-            metrics.setConnected(false);
+        reportConnected(false);
+        if (paused.get() && pauseAction == PauseAction.CLOSE) {
+            log.info("event=reconnect_skipped reason=paused");
+            MDC.clear();
+            return;
         }
         MDC.clear();
-        attemptReconnect();
+        attemptReconnect(code == CLOSE_GOING_AWAY ? BackoffPolicy.FailureClass.GOING_AWAY
+                : BackoffPolicy.FailureClass.CLOSED, -1);
     }
 
     @Override
     public void onFailure(WebSocket webSocket, Throwable t, Response response) {
         MDC.put("websocket_url", url);
+        releaseHandshakePermit();
         String responseCode = response != null ? String.valueOf(response.code()) : "N/A";
+        FlightEvents.connectionFailed(webSocket.request().url().toString(), BackoffPolicy.classify(response),
+                response != null ? response.code() : -1, t.getMessage());
+        if (handleRotationClose(webSocket)) {
+            log.warn("event=rotation_connection_failure error_message={} response_code={}", t.getMessage(), responseCode);
+            MDC.clear();
+            return;
+        }
         log.error("event=websocket_failure error_message={} response_code={}", t.getMessage(), responseCode, t);
+        if (t instanceof SocketTimeoutException && t.getMessage() != null && t.getMessage().contains("pong")) {
+            // OkHttp gave up on a missed pong: the connection went stale
+            long silentMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastFrameNanos);
+            log.warn("event=stale_connection_detected reason=missed_pong idle_ms={}", silentMs);
+            if (metrics != null) {
+                metrics.recordStaleConnection(silentMs);
+            }
+        }
+        if (mirrors != null) {
+            mirrors.recordFailure(activeUrl);
+        }
+        endSession();
         connected.set(false);
-        if (metrics != null) {
-            metrics.setConnected(false);
+        reportConnected(false);
+        if (paused.get() && pauseAction == PauseAction.CLOSE) {
+            log.info("event=reconnect_skipped reason=paused");
+            MDC.clear();
+            return;
         }
         MDC.clear();
-        attemptReconnect();
+        attemptReconnect(BackoffPolicy.classify(response),
+                response != null ? BackoffPolicy.parseRetryAfterMillis(response.header("Retry-After"),
+                        System.currentTimeMillis()) : -1);
     }
 
     /**
      * Attempt to reconnect if enabled.
-     * Uses exponential backoff and prevents concurrent reconnection attempts.
+     * Uses exponential backoff, adjusted by the failure class (see {@link BackoffPolicy}),
+     * and prevents concurrent reconnection attempts.
+     *
+     * @param failure      why the connection failed or closed
+     * @param retryAfterMs the server's Retry-After in milliseconds, or -1
      */
-    private void attemptReconnect() {
+    private void attemptReconnect(BackoffPolicy.FailureClass failure, long retryAfterMs) {
+        if (metrics != null) {
+            metrics.incrementFailureClass(failure);
+        }
+
         if (!reconnectEnabled || !shouldReconnect.get()) {
             MDC.put("websocket_url", url);
             log.info("event=reconnect_skipped reason=disabled_or_shutdown");
@@ -379,9 +1534,7 @@ public class WebSocketClient extends WebSocketListener {
         }
 
         long currentAttempt = reconnectAttempts.incrementAndGet();
-        if (metrics != null) {
-            metrics.incrementReconnects();
-        }
+        counters.recordReconnect();
 
         // Check max retry limit (-1 means infinite)
         if (maxReconnectAttempts > 0 && currentAttempt > maxReconnectAttempts) {
@@ -394,10 +1547,18 @@ public class WebSocketClient extends WebSocketListener {
             return;
         }
 
-        // Calculate exponential backoff delay
-        long backoffDelay = calculateBackoffDelay(currentAttempt);
+        // Calculate exponential backoff delay, then let the failure class adjust it
+        long backoffDelay = backoffPolicy.nextDelayMs(failure, retryAfterMs, calculateBackoffDelay(currentAttempt));
         MDC.put("websocket_url", url);
-        log.info("event=reconnect_scheduled attempt={} backoff_ms={}", currentAttempt, backoffDelay);
+        if (backoffPolicy.isCircuitOpen()) {
+            log.warn("event=reconnect_circuit_open reason=repeated_client_errors cooldown_ms={}", backoffDelay);
+            // Count the breaker tripping, not every attempt held while it stays open
+            if (metrics != null && backoffPolicy.isCircuitJustOpened()) {
+                metrics.incrementCircuitBreakerOpens();
+            }
+        }
+        log.info("event=reconnect_scheduled attempt={} backoff_ms={} failure_class={} retry_after_ms={}",
+                 currentAttempt, backoffDelay, failure, retryAfterMs);
         MDC.clear();
 
         // Schedule reconnection on dedicated executor (off callback thread)
@@ -406,6 +1567,9 @@ public class WebSocketClient extends WebSocketListener {
                 if (shouldReconnect.get()) {
                     MDC.put("websocket_url", url);
                     log.info("event=reconnect_executing attempt={}", currentAttempt);
+                    if (mirrors != null) {
+                        selectMirror();
+                    }
                     MDC.clear();
                     connect();
                 }
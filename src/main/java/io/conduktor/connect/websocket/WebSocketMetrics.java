@@ -5,6 +5,15 @@ import org.slf4j.LoggerFactory;
 
 import javax.management.*;
 import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -14,20 +23,121 @@ import java.util.concurrent.atomic.AtomicLong;
 public class WebSocketMetrics implements WebSocketMetricsMBean, AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(WebSocketMetrics.class);
 
+    // Heap held per queued message besides its characters: String (24), its byte[] header (16)
+    // and the LinkedBlockingDeque node (24), with compressed oops
+    static final long QUEUED_MESSAGE_OVERHEAD_BYTES = 64;
+
+    // One daemon thread samples the rates of every connector in the worker
+    private static final ScheduledThreadPoolExecutor RATE_TICKER = createRateTicker();
+
+    // All open instances in the JVM, for the Prometheus endpoint
+    private static final Set<WebSocketMetrics> REGISTERED = ConcurrentHashMap.newKeySet();
+
     private final String connectorName;
+    private final String websocketUrl;
     private final ObjectName objectName;
-    private final AtomicLong messagesReceived = new AtomicLong(0);
-    private final AtomicLong messagesDropped = new AtomicLong(0);
-    private final AtomicLong recordsProduced = new AtomicLong(0);
+    // Message path counters are owned by the shared core; resets only move these baselines
+    private final MessageCounters counters;
+    private volatile long messagesReceivedBaseline = 0;
+    private volatile long bytesReceivedBaseline = 0;
+    private volatile long messagesDroppedBaseline = 0;
+    private volatile long recordsProducedBaseline = 0;
+    // What resetCounters() took off each counter attribute; the Prometheus endpoint adds it back
+    // so exported counters stay monotonic
+    private final Map<String, Long> resetOffsets = new ConcurrentHashMap<>();
     private volatile int currentQueueSize = 0;
     private volatile int queueCapacity = 0;
     private volatile boolean isConnected = false;
-    private volatile long lastMessageTimestamp = 0;
     private volatile long connectionStartTime = 0;
-    private volatile long totalReconnects = 0;
+
+    // Rolling rates, sampled from the monotonic counters off the message path
+    private final EwmaRate messagesReceivedRate;
+    private final EwmaRate bytesReceivedRate;
+    private final EwmaRate recordsProducedRate;
+    private final EwmaRate messagesDroppedRate;
+    private final ScheduledFuture<?> rateTick;
+
+    // Connect attempt phase timing: histograms over all attempts, plus the last attempt
+    private final AtomicLong connectAttempts = new AtomicLong(0);
+    private final AtomicLong connectFailures = new AtomicLong(0);
+    private final LatencyHistogram connectDnsHistogram = new LatencyHistogram();
+    private final LatencyHistogram connectTcpHistogram = new LatencyHistogram();
+    private final LatencyHistogram connectTlsHistogram = new LatencyHistogram();
+    private final LatencyHistogram connectUpgradeHistogram = new LatencyHistogram();
+    private final LatencyHistogram connectTotalHistogram = new LatencyHistogram();
+    private volatile long lastConnectDnsNanos = 0;
+    private volatile long lastConnectTcpNanos = 0;
+    private volatile long lastConnectTlsNanos = 0;
+    private volatile long lastConnectUpgradeNanos = 0;
+    private volatile long lastConnectTotalNanos = 0;
+    private volatile boolean lastConnectSuccessful = false;
+
+    // Connection failures by class
+    private final AtomicLong failuresNetwork = new AtomicLong(0);
+    private final AtomicLong failuresRateLimited = new AtomicLong(0);
+    private final AtomicLong failuresUnavailable = new AtomicLong(0);
+    private final AtomicLong failuresServerError = new AtomicLong(0);
+    private final AtomicLong failuresClientError = new AtomicLong(0);
+    private final AtomicLong goingAwayCloses = new AtomicLong(0);
+    private final AtomicLong cleanCloses = new AtomicLong(0);
+    private final AtomicLong circuitBreakerOpens = new AtomicLong(0);
+
+    // In-flight window: records handed to Connect but not yet acknowledged
+    private volatile long recordsInFlight = 0;
+    private final AtomicLong inFlightLimitedPolls = new AtomicLong(0);
+
+    // Pause-aware flow control
+    private final AtomicLong flowControlPauses = new AtomicLong(0);
+    private volatile boolean isFlowControlPaused = false;
+    private final AtomicLong messagesSpilled = new AtomicLong(0);
+
+    // Worker-wide connect admission
+    private final AtomicLong connectsAdmitted = new AtomicLong(0);
+    private final AtomicLong connectsDeferred = new AtomicLong(0);
+
+    // Endpoint failover
+    private volatile String activeMirror;
+    private volatile String[] mirrorScores = new String[0];
+    private final AtomicLong mirrorFailovers = new AtomicLong(0);
+
+    // Stale connection detection
+    private final AtomicLong staleConnectionsDetected = new AtomicLong(0);
+    private volatile long lastStaleDetectMillis = 0;
+    private final AtomicLong maxStaleDetectMillis = new AtomicLong(0);
+
+    // Make-before-break rotation
+    private final AtomicLong totalRotations = new AtomicLong(0);
+    private final AtomicLong rotationDuplicatesDropped = new AtomicLong(0);
+
+    // Payload sequence monitoring
+    private final AtomicLong sequenceGaps = new AtomicLong(0);
+    private final AtomicLong sequenceMessagesMissing = new AtomicLong(0);
+    private final AtomicLong sequenceRegressions = new AtomicLong(0);
+    private final AtomicLong gapResubscribes = new AtomicLong(0);
+
+    // Redundant (dual-connection) mode
+    private volatile boolean isStandbyConnected = false;
+    private final AtomicLong primaryLegWins = new AtomicLong(0);
+    private final AtomicLong standbyLegWins = new AtomicLong(0);
+    private final AtomicLong primaryLegUnmatched = new AtomicLong(0);
+    private final AtomicLong standbyLegUnmatched = new AtomicLong(0);
+    private final AtomicLong legDuplicatesDropped = new AtomicLong(0);
+    private final AtomicLong legDivergenceTotalNanos = new AtomicLong(0);
+    private final AtomicLong legDivergenceMaxNanos = new AtomicLong(0);
+    private volatile long legDivergenceLastNanos = 0;
 
     public WebSocketMetrics(String connectorName, String websocketUrl) throws JMException {
+        this(connectorName, websocketUrl, new MessageCounters());
+    }
+
+    public WebSocketMetrics(String connectorName, String websocketUrl, MessageCounters counters) throws JMException {
         this.connectorName = connectorName;
+        this.websocketUrl = MirrorSelector.displayName(websocketUrl);
+        this.counters = counters;
+        this.messagesReceivedRate = new EwmaRate(counters::getMessagesReceived);
+        this.bytesReceivedRate = new EwmaRate(counters::getBytesReceived);
+        this.recordsProducedRate = new EwmaRate(counters::getRecordsProduced);
+        this.messagesDroppedRate = new EwmaRate(counters::getMessagesDropped);
 
         // Create JMX ObjectName
         String sanitizedUrl = sanitizeUrl(websocketUrl);
@@ -50,6 +160,70 @@ public class WebSocketMetrics implements WebSocketMetricsMBean, AutoCloseable {
             log.error("Failed to register JMX MBean: {}", objectName, e);
             throw new JMException("Failed to register MBean: " + e.getMessage());
         }
+        rateTick = RATE_TICKER.scheduleAtFixedRate(this::tickRates,
+                EwmaRate.TICK_SECONDS, EwmaRate.TICK_SECONDS, TimeUnit.SECONDS);
+        REGISTERED.add(this);
+    }
+
+    /**
+     * Get all open metrics instances in the JVM.
+     */
+    static Collection<WebSocketMetrics> registered() {
+        return Collections.unmodifiableSet(REGISTERED);
+    }
+
+    /**
+     * Get the WebSocket URL, without its query string.
+     */
+    String getWebSocketUrl() {
+        return websocketUrl;
+    }
+
+    /**
+     * Get how much {@link #resetCounters()} has taken off the given counter attribute in total;
+     * adding it to the attribute gives the lifetime value.
+     */
+    long getResetOffset(String attribute) {
+        return resetOffsets.getOrDefault(attribute, 0L);
+    }
+
+    private void carryOver(String attribute, long value) {
+        if (value != 0) {
+            resetOffsets.merge(attribute, value, Long::sum);
+        }
+    }
+
+    /**
+     * Get the connect phase histograms by phase name.
+     */
+    Map<String, LatencyHistogram> getConnectPhaseHistograms() {
+        Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+        histograms.put("dns", connectDnsHistogram);
+        histograms.put("tcp", connectTcpHistogram);
+        histograms.put("tls", connectTlsHistogram);
+        histograms.put("upgrade", connectUpgradeHistogram);
+        histograms.put("total", connectTotalHistogram);
+        return histograms;
+    }
+
+    private static ScheduledThreadPoolExecutor createRateTicker() {
+        ScheduledThreadPoolExecutor ticker = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "websocket-metrics-rates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.setRemoveOnCancelPolicy(true);
+        return ticker;
+    }
+
+    /**
+     * Sample all rates. Runs on the shared ticker once per {@link EwmaRate#TICK_SECONDS}.
+     */
+    void tickRates() {
+        messagesReceivedRate.tick();
+        bytesReceivedRate.tick();
+        recordsProducedRate.tick();
+        messagesDroppedRate.tick();
     }
 
     private String sanitizeUrl(String url) {
@@ -61,19 +235,25 @@ public class WebSocketMetrics implements WebSocketMetricsMBean, AutoCloseable {
         return sanitized.substring(0, Math.min(50, sanitized.length()));
     }
 
+    /**
+     * Get the message path counters backing this bean.
+     */
+    public MessageCounters getCounters() {
+        return counters;
+    }
+
     // Metric update methods
 
     public void incrementMessagesReceived() {
-        messagesReceived.incrementAndGet();
-        lastMessageTimestamp = System.currentTimeMillis();
+        counters.recordMessageReceived();
     }
 
     public void incrementMessagesDropped() {
-        messagesDropped.incrementAndGet();
+        counters.recordMessageDropped();
     }
 
     public void incrementRecordsProduced(long count) {
-        recordsProduced.addAndGet(count);
+        counters.recordRecordsProduced(count);
     }
 
     public void updateQueueSize(int size) {
@@ -84,6 +264,17 @@ public class WebSocketMetrics implements WebSocketMetricsMBean, AutoCloseable {
         this.queueCapacity = capacity;
     }
 
+    public void updateRecordsInFlight(long inFlight) {
+        this.recordsInFlight = inFlight;
+    }
+
+    /**
+     * Count a poll that handed out fewer messages because the in-flight window was (nearly) full.
+     */
+    public void incrementInFlightLimitedPolls() {
+        inFlightLimitedPolls.incrementAndGet();
+    }
+
     public void setConnected(boolean connected) {
         if (connected && !this.isConnected) {
             // Connection established
@@ -93,24 +284,311 @@ public class WebSocketMetrics implements WebSocketMetricsMBean, AutoCloseable {
     }
 
     public void incrementReconnects() {
-        totalReconnects++;
+        counters.recordReconnect();
+    }
+
+    /**
+     * Record the phase durations of a connect attempt. Phases that did not run are 0 and are
+     * left out of their histogram; a failed attempt records the phases it got through,
+     * including the one it failed in.
+     */
+    public void recordConnectPhases(long dnsNanos, long tcpNanos, long tlsNanos, long upgradeNanos, long totalNanos,
+                                    boolean successful) {
+        connectAttempts.incrementAndGet();
+        if (!successful) {
+            connectFailures.incrementAndGet();
+        }
+        recordPhase(connectDnsHistogram, dnsNanos);
+        recordPhase(connectTcpHistogram, tcpNanos);
+        recordPhase(connectTlsHistogram, tlsNanos);
+        recordPhase(connectUpgradeHistogram, upgradeNanos);
+        connectTotalHistogram.record(totalNanos);
+
+        lastConnectSuccessful = successful;
+        lastConnectDnsNanos = dnsNanos;
+        lastConnectTcpNanos = tcpNanos;
+        lastConnectTlsNanos = tlsNanos;
+        lastConnectUpgradeNanos = upgradeNanos;
+        lastConnectTotalNanos = totalNanos;
+    }
+
+    private static void recordPhase(LatencyHistogram histogram, long nanos) {
+        if (nanos > 0) {
+            histogram.record(nanos);
+        }
+    }
+
+    /**
+     * Count a lost connection or failed connect attempt by why it happened.
+     */
+    public void incrementFailureClass(BackoffPolicy.FailureClass failure) {
+        switch (failure) {
+            case RATE_LIMITED:
+                failuresRateLimited.incrementAndGet();
+                break;
+            case UNAVAILABLE:
+                failuresUnavailable.incrementAndGet();
+                break;
+            case SERVER_ERROR:
+                failuresServerError.incrementAndGet();
+                break;
+            case CLIENT_ERROR:
+                failuresClientError.incrementAndGet();
+                break;
+            case GOING_AWAY:
+                goingAwayCloses.incrementAndGet();
+                break;
+            case CLOSED:
+                cleanCloses.incrementAndGet();
+                break;
+            default:
+                failuresNetwork.incrementAndGet();
+                break;
+        }
+    }
+
+    public void incrementCircuitBreakerOpens() {
+        circuitBreakerOpens.incrementAndGet();
+    }
+
+    /**
+     * Record that the queue stopped being drained and the client paused the feed.
+     */
+    public void recordFlowControlPause() {
+        flowControlPauses.incrementAndGet();
+        isFlowControlPaused = true;
+    }
+
+    public void setFlowControlPaused(boolean paused) {
+        this.isFlowControlPaused = paused;
+    }
+
+    public void incrementMessagesSpilled(long count) {
+        messagesSpilled.addAndGet(count);
+    }
+
+    public void incrementConnectsAdmitted() {
+        connectsAdmitted.incrementAndGet();
+    }
+
+    /**
+     * Count a connect attempt that admission control made wait.
+     */
+    public void incrementConnectsDeferred() {
+        connectsDeferred.incrementAndGet();
+    }
+
+    /**
+     * Publish the active mirror and a snapshot of all mirror scores.
+     */
+    public void updateMirrors(String activeMirror, String[] mirrorScores) {
+        this.activeMirror = activeMirror;
+        this.mirrorScores = mirrorScores;
+    }
+
+    public void incrementMirrorFailovers() {
+        mirrorFailovers.incrementAndGet();
+    }
+
+    /**
+     * Record a stale connection and how long it was silent before it was detected.
+     */
+    public void recordStaleConnection(long silentMillis) {
+        staleConnectionsDetected.incrementAndGet();
+        lastStaleDetectMillis = silentMillis;
+        maxStaleDetectMillis.accumulateAndGet(silentMillis, Math::max);
+    }
+
+    public void incrementRotations() {
+        totalRotations.incrementAndGet();
+    }
+
+    public void incrementRotationDuplicatesDropped() {
+        rotationDuplicatesDropped.incrementAndGet();
+    }
+
+    public void recordSequenceGap(long missing) {
+        sequenceGaps.incrementAndGet();
+        sequenceMessagesMissing.addAndGet(missing);
+    }
+
+    public void incrementSequenceRegressions() {
+        sequenceRegressions.incrementAndGet();
+    }
+
+    public void incrementGapResubscribes() {
+        gapResubscribes.incrementAndGet();
+    }
+
+    public void setStandbyConnected(boolean connected) {
+        this.isStandbyConnected = connected;
+    }
+
+    public void incrementLegWins(int leg) {
+        (leg == MessageArbiter.STANDBY ? standbyLegWins : primaryLegWins).incrementAndGet();
+    }
+
+    public void incrementLegUnmatched(int leg) {
+        (leg == MessageArbiter.STANDBY ? standbyLegUnmatched : primaryLegUnmatched).incrementAndGet();
+    }
+
+    /**
+     * Record the delay between the first and the second copy of a message arriving on the two legs.
+     */
+    public void recordLegDivergence(long nanos) {
+        legDuplicatesDropped.incrementAndGet();
+        legDivergenceTotalNanos.addAndGet(nanos);
+        legDivergenceMaxNanos.accumulateAndGet(nanos, Math::max);
+        legDivergenceLastNanos = nanos;
     }
 
     // JMX MBean interface implementation
 
     @Override
     public long getMessagesReceived() {
-        return messagesReceived.get();
+        return counters.getMessagesReceived() - messagesReceivedBaseline;
     }
 
     @Override
     public long getMessagesDropped() {
-        return messagesDropped.get();
+        return counters.getMessagesDropped() - messagesDroppedBaseline;
     }
 
     @Override
     public long getRecordsProduced() {
-        return recordsProduced.get();
+        return counters.getRecordsProduced() - recordsProducedBaseline;
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return counters.getBytesReceived() - bytesReceivedBaseline;
+    }
+
+    @Override
+    public long getMessageSizeMinBytes() {
+        return counters.getMessageSizes().getMinBytes();
+    }
+
+    @Override
+    public double getMessageSizeMeanBytes() {
+        return counters.getMessageSizes().getMeanBytes();
+    }
+
+    @Override
+    public long getMessageSizeP50Bytes() {
+        return counters.getMessageSizes().getPercentileBytes(0.50);
+    }
+
+    @Override
+    public long getMessageSizeP99Bytes() {
+        return counters.getMessageSizes().getPercentileBytes(0.99);
+    }
+
+    @Override
+    public long getMessageSizeMaxBytes() {
+        return counters.getMessageSizes().getMaxBytes();
+    }
+
+    @Override
+    public long[] getMessageSizeHistogramBucketsBytes() {
+        return SizeHistogram.BUCKET_BOUNDS_BYTES.clone();
+    }
+
+    @Override
+    public long[] getMessageSizeHistogram() {
+        return counters.getMessageSizes().getBucketCounts();
+    }
+
+    @Override
+    public long getQueueEstimatedHeapBytes() {
+        long messages = Math.max(0, counters.getQueuedMessages());
+        long chars = Math.max(0, counters.getQueuedChars());
+        return chars + messages * QUEUED_MESSAGE_OVERHEAD_BYTES;
+    }
+
+    @Override
+    public long getQueueEstimatedHeapBytesAtCapacity() {
+        return (long) (queueCapacity * (counters.getMessageSizes().getMeanBytes() + QUEUED_MESSAGE_OVERHEAD_BYTES));
+    }
+
+    @Override
+    public double getMessagesReceivedPerSecond() {
+        return messagesReceivedRate.getCurrentRate();
+    }
+
+    @Override
+    public double getMessagesReceivedOneMinuteRate() {
+        return messagesReceivedRate.getOneMinuteRate();
+    }
+
+    @Override
+    public double getMessagesReceivedFiveMinuteRate() {
+        return messagesReceivedRate.getFiveMinuteRate();
+    }
+
+    @Override
+    public double getMessagesReceivedFifteenMinuteRate() {
+        return messagesReceivedRate.getFifteenMinuteRate();
+    }
+
+    @Override
+    public double getBytesReceivedPerSecond() {
+        return bytesReceivedRate.getCurrentRate();
+    }
+
+    @Override
+    public double getBytesReceivedOneMinuteRate() {
+        return bytesReceivedRate.getOneMinuteRate();
+    }
+
+    @Override
+    public double getBytesReceivedFiveMinuteRate() {
+        return bytesReceivedRate.getFiveMinuteRate();
+    }
+
+    @Override
+    public double getBytesReceivedFifteenMinuteRate() {
+        return bytesReceivedRate.getFifteenMinuteRate();
+    }
+
+    @Override
+    public double getRecordsProducedPerSecond() {
+        return recordsProducedRate.getCurrentRate();
+    }
+
+    @Override
+    public double getRecordsProducedOneMinuteRate() {
+        return recordsProducedRate.getOneMinuteRate();
+    }
+
+    @Override
+    public double getRecordsProducedFiveMinuteRate() {
+        return recordsProducedRate.getFiveMinuteRate();
+    }
+
+    @Override
+    public double getRecordsProducedFifteenMinuteRate() {
+        return recordsProducedRate.getFifteenMinuteRate();
+    }
+
+    @Override
+    public double getMessagesDroppedPerSecond() {
+        return messagesDroppedRate.getCurrentRate();
+    }
+
+    @Override
+    public double getMessagesDroppedOneMinuteRate() {
+        return messagesDroppedRate.getOneMinuteRate();
+    }
+
+    @Override
+    public double getMessagesDroppedFiveMinuteRate() {
+        return messagesDroppedRate.getFiveMinuteRate();
+    }
+
+    @Override
+    public double getMessagesDroppedFifteenMinuteRate() {
+        return messagesDroppedRate.getFifteenMinuteRate();
     }
 
     @Override
@@ -123,6 +601,16 @@ public class WebSocketMetrics implements WebSocketMetricsMBean, AutoCloseable {
         return queueCapacity;
     }
 
+    @Override
+    public long getRecordsInFlight() {
+        return recordsInFlight;
+    }
+
+    @Override
+    public long getInFlightLimitedPolls() {
+        return inFlightLimitedPolls.get();
+    }
+
     @Override
     public double getQueueUtilizationPercent() {
         if (queueCapacity == 0) return 0.0;
@@ -136,13 +624,12 @@ public class WebSocketMetrics implements WebSocketMetricsMBean, AutoCloseable {
 
     @Override
     public long getMillisSinceLastMessage() {
-        if (lastMessageTimestamp == 0) return -1;
-        return System.currentTimeMillis() - lastMessageTimestamp;
+        return counters.getMillisSinceLastMessage();
     }
 
     @Override
     public long getLagCount() {
-        return messagesReceived.get() - recordsProduced.get();
+        return counters.getMessagesReceived() - counters.getRecordsProduced();
     }
 
     @Override
@@ -153,21 +640,377 @@ public class WebSocketMetrics implements WebSocketMetricsMBean, AutoCloseable {
 
     @Override
     public long getTotalReconnects() {
-        return totalReconnects;
+        return counters.getReconnects();
     }
 
     @Override
     public double getDropRate() {
-        long received = messagesReceived.get();
+        long received = getMessagesReceived();
         if (received == 0) return 0.0;
-        return (messagesDropped.get() * 100.0) / received;
+        return (getMessagesDropped() * 100.0) / received;
+    }
+
+    @Override
+    public double getLastConnectDnsMillis() {
+        return lastConnectDnsNanos / 1_000_000.0;
+    }
+
+    @Override
+    public double getLastConnectTcpMillis() {
+        return lastConnectTcpNanos / 1_000_000.0;
+    }
+
+    @Override
+    public double getLastConnectTlsMillis() {
+        return lastConnectTlsNanos / 1_000_000.0;
+    }
+
+    @Override
+    public double getLastConnectUpgradeMillis() {
+        return lastConnectUpgradeNanos / 1_000_000.0;
+    }
+
+    @Override
+    public double getLastConnectTotalMillis() {
+        return lastConnectTotalNanos / 1_000_000.0;
+    }
+
+    @Override
+    public boolean isLastConnectSuccessful() {
+        return lastConnectSuccessful;
+    }
+
+    @Override
+    public long getConnectAttempts() {
+        return connectAttempts.get();
+    }
+
+    @Override
+    public long getConnectFailures() {
+        return connectFailures.get();
+    }
+
+    @Override
+    public double getConnectDnsP50Millis() {
+        return connectDnsHistogram.getPercentileMillis(0.50);
+    }
+
+    @Override
+    public double getConnectDnsP99Millis() {
+        return connectDnsHistogram.getPercentileMillis(0.99);
+    }
+
+    @Override
+    public double getConnectTcpP50Millis() {
+        return connectTcpHistogram.getPercentileMillis(0.50);
+    }
+
+    @Override
+    public double getConnectTcpP99Millis() {
+        return connectTcpHistogram.getPercentileMillis(0.99);
+    }
+
+    @Override
+    public double getConnectTlsP50Millis() {
+        return connectTlsHistogram.getPercentileMillis(0.50);
+    }
+
+    @Override
+    public double getConnectTlsP99Millis() {
+        return connectTlsHistogram.getPercentileMillis(0.99);
+    }
+
+    @Override
+    public double getConnectUpgradeP50Millis() {
+        return connectUpgradeHistogram.getPercentileMillis(0.50);
+    }
+
+    @Override
+    public double getConnectUpgradeP99Millis() {
+        return connectUpgradeHistogram.getPercentileMillis(0.99);
+    }
+
+    @Override
+    public double getConnectTotalP50Millis() {
+        return connectTotalHistogram.getPercentileMillis(0.50);
+    }
+
+    @Override
+    public double getConnectTotalP99Millis() {
+        return connectTotalHistogram.getPercentileMillis(0.99);
+    }
+
+    @Override
+    public double getConnectTotalMaxMillis() {
+        return connectTotalHistogram.getMaxMillis();
+    }
+
+    @Override
+    public long[] getConnectHistogramBucketsMillis() {
+        return LatencyHistogram.BUCKET_BOUNDS_MILLIS.clone();
+    }
+
+    @Override
+    public long[] getConnectDnsHistogram() {
+        return connectDnsHistogram.getBucketCounts();
+    }
+
+    @Override
+    public long[] getConnectTcpHistogram() {
+        return connectTcpHistogram.getBucketCounts();
+    }
+
+    @Override
+    public long[] getConnectTlsHistogram() {
+        return connectTlsHistogram.getBucketCounts();
+    }
+
+    @Override
+    public long[] getConnectUpgradeHistogram() {
+        return connectUpgradeHistogram.getBucketCounts();
+    }
+
+    @Override
+    public long[] getConnectTotalHistogram() {
+        return connectTotalHistogram.getBucketCounts();
+    }
+
+    @Override
+    public long getFailuresNetwork() {
+        return failuresNetwork.get();
+    }
+
+    @Override
+    public long getFailuresRateLimited() {
+        return failuresRateLimited.get();
+    }
+
+    @Override
+    public long getFailuresUnavailable() {
+        return failuresUnavailable.get();
+    }
+
+    @Override
+    public long getFailuresServerError() {
+        return failuresServerError.get();
+    }
+
+    @Override
+    public long getFailuresClientError() {
+        return failuresClientError.get();
+    }
+
+    @Override
+    public long getGoingAwayCloses() {
+        return goingAwayCloses.get();
+    }
+
+    @Override
+    public long getCleanCloses() {
+        return cleanCloses.get();
+    }
+
+    @Override
+    public long getCircuitBreakerOpens() {
+        return circuitBreakerOpens.get();
+    }
+
+    @Override
+    public long getFlowControlPauses() {
+        return flowControlPauses.get();
+    }
+
+    @Override
+    public boolean isFlowControlPaused() {
+        return isFlowControlPaused;
+    }
+
+    @Override
+    public long getMessagesSpilled() {
+        return messagesSpilled.get();
+    }
+
+    @Override
+    public long getConnectsAdmitted() {
+        return connectsAdmitted.get();
+    }
+
+    @Override
+    public long getConnectsDeferred() {
+        return connectsDeferred.get();
+    }
+
+    @Override
+    public int getWorkerConnectsWaiting() {
+        ConnectAdmission admission = ConnectAdmission.current();
+        return admission != null ? admission.getWaiting() : 0;
+    }
+
+    @Override
+    public int getWorkerConnectsInFlight() {
+        ConnectAdmission admission = ConnectAdmission.current();
+        return admission != null ? admission.getInFlight() : 0;
+    }
+
+    @Override
+    public String getActiveMirror() {
+        return activeMirror;
+    }
+
+    @Override
+    public String[] getMirrorScores() {
+        return mirrorScores.clone();
+    }
+
+    @Override
+    public long getMirrorFailovers() {
+        return mirrorFailovers.get();
+    }
+
+    @Override
+    public long getStaleConnectionsDetected() {
+        return staleConnectionsDetected.get();
+    }
+
+    @Override
+    public long getLastStaleDetectMillis() {
+        return lastStaleDetectMillis;
+    }
+
+    @Override
+    public long getMaxStaleDetectMillis() {
+        return maxStaleDetectMillis.get();
+    }
+
+    @Override
+    public long getTotalRotations() {
+        return totalRotations.get();
+    }
+
+    @Override
+    public long getRotationDuplicatesDropped() {
+        return rotationDuplicatesDropped.get();
+    }
+
+    @Override
+    public long getSequenceGaps() {
+        return sequenceGaps.get();
+    }
+
+    @Override
+    public long getSequenceMessagesMissing() {
+        return sequenceMessagesMissing.get();
+    }
+
+    @Override
+    public long getSequenceRegressions() {
+        return sequenceRegressions.get();
+    }
+
+    @Override
+    public long getGapResubscribes() {
+        return gapResubscribes.get();
+    }
+
+    @Override
+    public boolean isStandbyConnected() {
+        return isStandbyConnected;
+    }
+
+    @Override
+    public long getPrimaryLegWins() {
+        return primaryLegWins.get();
+    }
+
+    @Override
+    public long getStandbyLegWins() {
+        return standbyLegWins.get();
+    }
+
+    @Override
+    public long getPrimaryLegUnmatched() {
+        return primaryLegUnmatched.get();
+    }
+
+    @Override
+    public long getStandbyLegUnmatched() {
+        return standbyLegUnmatched.get();
+    }
+
+    @Override
+    public long getLegDuplicatesDropped() {
+        return legDuplicatesDropped.get();
+    }
+
+    @Override
+    public double getLegDivergenceAvgMillis() {
+        long matched = legDuplicatesDropped.get();
+        if (matched == 0) return 0.0;
+        return legDivergenceTotalNanos.get() / 1_000_000.0 / matched;
+    }
+
+    @Override
+    public double getLegDivergenceMaxMillis() {
+        return legDivergenceMaxNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public double getLegDivergenceLastMillis() {
+        return legDivergenceLastNanos / 1_000_000.0;
     }
 
     @Override
     public void resetCounters() {
-        messagesReceived.set(0);
-        messagesDropped.set(0);
-        recordsProduced.set(0);
+        // Counters only ever move forward for the Prometheus endpoint: what is taken off the JMX
+        // view is carried over, and histograms keep lifetime counts next to their reset baseline
+        long received = counters.getMessagesReceived();
+        long bytes = counters.getBytesReceived();
+        long dropped = counters.getMessagesDropped();
+        long produced = counters.getRecordsProduced();
+        carryOver("MessagesReceived", received - messagesReceivedBaseline);
+        carryOver("BytesReceived", bytes - bytesReceivedBaseline);
+        carryOver("MessagesDropped", dropped - messagesDroppedBaseline);
+        carryOver("RecordsProduced", produced - recordsProducedBaseline);
+        messagesReceivedBaseline = received;
+        bytesReceivedBaseline = bytes;
+        messagesDroppedBaseline = dropped;
+        recordsProducedBaseline = produced;
+        carryOver("MirrorFailovers", mirrorFailovers.getAndSet(0));
+        carryOver("ConnectsAdmitted", connectsAdmitted.getAndSet(0));
+        carryOver("FailuresNetwork", failuresNetwork.getAndSet(0));
+        carryOver("FailuresRateLimited", failuresRateLimited.getAndSet(0));
+        carryOver("FailuresUnavailable", failuresUnavailable.getAndSet(0));
+        carryOver("FailuresServerError", failuresServerError.getAndSet(0));
+        carryOver("FailuresClientError", failuresClientError.getAndSet(0));
+        carryOver("GoingAwayCloses", goingAwayCloses.getAndSet(0));
+        carryOver("CleanCloses", cleanCloses.getAndSet(0));
+        carryOver("CircuitBreakerOpens", circuitBreakerOpens.getAndSet(0));
+        carryOver("FlowControlPauses", flowControlPauses.getAndSet(0));
+        carryOver("InFlightLimitedPolls", inFlightLimitedPolls.getAndSet(0));
+        carryOver("MessagesSpilled", messagesSpilled.getAndSet(0));
+        carryOver("ConnectsDeferred", connectsDeferred.getAndSet(0));
+        carryOver("ConnectAttempts", connectAttempts.getAndSet(0));
+        carryOver("ConnectFailures", connectFailures.getAndSet(0));
+        connectDnsHistogram.reset();
+        connectTcpHistogram.reset();
+        connectTlsHistogram.reset();
+        connectUpgradeHistogram.reset();
+        connectTotalHistogram.reset();
+        counters.getMessageSizes().reset();
+        carryOver("StaleConnectionsDetected", staleConnectionsDetected.getAndSet(0));
+        maxStaleDetectMillis.set(0);
+        carryOver("RotationDuplicatesDropped", rotationDuplicatesDropped.getAndSet(0));
+        carryOver("SequenceGaps", sequenceGaps.getAndSet(0));
+        carryOver("SequenceMessagesMissing", sequenceMessagesMissing.getAndSet(0));
+        carryOver("SequenceRegressions", sequenceRegressions.getAndSet(0));
+        carryOver("GapResubscribes", gapResubscribes.getAndSet(0));
+        carryOver("PrimaryLegWins", primaryLegWins.getAndSet(0));
+        carryOver("StandbyLegWins", standbyLegWins.getAndSet(0));
+        carryOver("PrimaryLegUnmatched", primaryLegUnmatched.getAndSet(0));
+        carryOver("StandbyLegUnmatched", standbyLegUnmatched.getAndSet(0));
+        carryOver("LegDuplicatesDropped", legDuplicatesDropped.getAndSet(0));
+        legDivergenceTotalNanos.set(0);
+        legDivergenceMaxNanos.set(0);
         log.info("Reset metrics counters for connector: {}", connectorName);
     }
 
@@ -178,6 +1021,8 @@ public class WebSocketMetrics implements WebSocketMetricsMBean, AutoCloseable {
 
     @Override
     public void close() {
+        REGISTERED.remove(this);
+        rateTick.cancel(false);
         try {
             MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
             if (mbs.isRegistered(objectName)) {
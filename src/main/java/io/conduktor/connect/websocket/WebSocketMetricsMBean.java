@@ -11,16 +11,123 @@ public interface WebSocketMetricsMBean {
     long getMessagesDropped();
     long getRecordsProduced();
 
+    // Rate metrics: last second and 1/5/15-minute moving averages, unaffected by resetCounters
+    double getMessagesReceivedPerSecond();
+    double getMessagesReceivedOneMinuteRate();
+    double getMessagesReceivedFiveMinuteRate();
+    double getMessagesReceivedFifteenMinuteRate();
+    double getBytesReceivedPerSecond();
+    double getBytesReceivedOneMinuteRate();
+    double getBytesReceivedFiveMinuteRate();
+    double getBytesReceivedFifteenMinuteRate();
+    double getRecordsProducedPerSecond();
+    double getRecordsProducedOneMinuteRate();
+    double getRecordsProducedFiveMinuteRate();
+    double getRecordsProducedFifteenMinuteRate();
+    double getMessagesDroppedPerSecond();
+    double getMessagesDroppedOneMinuteRate();
+    double getMessagesDroppedFiveMinuteRate();
+    double getMessagesDroppedFifteenMinuteRate();
+
     // Queue metrics
     int getQueueSize();
     int getQueueCapacity();
     double getQueueUtilizationPercent();
+    long getRecordsInFlight();
+    long getInFlightLimitedPolls();
+    long getQueueEstimatedHeapBytes();
+    long getQueueEstimatedHeapBytesAtCapacity();
+
+    // Message size metrics
+    long getBytesReceived();
+    long getMessageSizeMinBytes();
+    double getMessageSizeMeanBytes();
+    long getMessageSizeP50Bytes();
+    long getMessageSizeP99Bytes();
+    long getMessageSizeMaxBytes();
+    long[] getMessageSizeHistogramBucketsBytes();
+    long[] getMessageSizeHistogram();
 
     // Connection metrics
     boolean isConnected();
     long getMillisSinceLastMessage();
     long getUptimeMillis();
     long getTotalReconnects();
+    long getStaleConnectionsDetected();
+    long getLastStaleDetectMillis();
+    long getMaxStaleDetectMillis();
+    long getTotalRotations();
+    long getRotationDuplicatesDropped();
+
+    // Connection failures by class
+    long getFailuresNetwork();
+    long getFailuresRateLimited();
+    long getFailuresUnavailable();
+    long getFailuresServerError();
+    long getFailuresClientError();
+    long getGoingAwayCloses();
+    long getCleanCloses();
+    long getCircuitBreakerOpens();
+
+    // Pause-aware flow control
+    long getFlowControlPauses();
+    boolean isFlowControlPaused();
+    long getMessagesSpilled();
+
+    // Connect admission metrics (worker-wide values are shared by all connectors in the JVM)
+    long getConnectsAdmitted();
+    long getConnectsDeferred();
+    int getWorkerConnectsWaiting();
+    int getWorkerConnectsInFlight();
+
+    // Endpoint failover metrics
+    String getActiveMirror();
+    String[] getMirrorScores();
+    long getMirrorFailovers();
+
+    // Connect attempt phase metrics (DNS, TCP, TLS, upgrade)
+    long getConnectAttempts();
+    long getConnectFailures();
+    boolean isLastConnectSuccessful();
+    double getLastConnectDnsMillis();
+    double getLastConnectTcpMillis();
+    double getLastConnectTlsMillis();
+    double getLastConnectUpgradeMillis();
+    double getLastConnectTotalMillis();
+    double getConnectDnsP50Millis();
+    double getConnectDnsP99Millis();
+    double getConnectTcpP50Millis();
+    double getConnectTcpP99Millis();
+    double getConnectTlsP50Millis();
+    double getConnectTlsP99Millis();
+    double getConnectUpgradeP50Millis();
+    double getConnectUpgradeP99Millis();
+    double getConnectTotalP50Millis();
+    double getConnectTotalP99Millis();
+    double getConnectTotalMaxMillis();
+    long[] getConnectHistogramBucketsMillis();
+    long[] getConnectDnsHistogram();
+    long[] getConnectTcpHistogram();
+    long[] getConnectTlsHistogram();
+    long[] getConnectUpgradeHistogram();
+    long[] getConnectTotalHistogram();
+
+    // Payload sequence metrics
+    long getSequenceGaps();
+    long getSequenceMessagesMissing();
+    long getSequenceRegressions();
+    long getGapResubscribes();
+
+    // Redundant (dual-connection) metrics
+    boolean isStandbyConnected();
+    long getPrimaryLegWins();
+    long getStandbyLegWins();
+    long getPrimaryLegUnmatched();
+    long getStandbyLegUnmatched();
+    long getLegDuplicatesDropped();
+    double getLegDivergenceAvgMillis();
+    double getLegDivergenceMaxMillis();
+    double getLegDivergenceLastMillis();
 
     // Derived metrics
     long getLagCount();
@@ -29,6 +136,6 @@ public interface WebSocketMetricsMBean {
     // Metadata
     String getConnectorName();
 
-    // Operations
+    // Operations: resets the JMX view only, the Prometheus endpoint keeps lifetime values
     void resetCounters();
 }
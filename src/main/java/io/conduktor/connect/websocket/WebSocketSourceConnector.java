@@ -3,6 +3,8 @@ package io.conduktor.connect.websocket;
 import org.apache.kafka.common.config.Config;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.connect.connector.Task;
+import org.apache.kafka.connect.source.ConnectorTransactionBoundaries;
+import org.apache.kafka.connect.source.ExactlyOnceSupport;
 import org.apache.kafka.connect.source.SourceConnector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +59,24 @@ public class WebSocketSourceConnector extends SourceConnector {
         log.info("Stopping WebSocket Source Connector");
     }
 
+    /**
+     * Transactions write records and their source offsets atomically. That is exactly-once end to
+     * end only if a restarted task can resume from the committed offset, i.e. the server replays
+     * from a cursor; without websocket.cursor.field messages sent while the task was down are lost.
+     */
+    @Override
+    public ExactlyOnceSupport exactlyOnceSupport(Map<String, String> connectorConfig) {
+        String cursorField = connectorConfig.get(WebSocketSourceConnectorConfig.CURSOR_FIELD_CONFIG);
+        return cursorField != null && !cursorField.trim().isEmpty()
+                ? ExactlyOnceSupport.SUPPORTED
+                : ExactlyOnceSupport.UNSUPPORTED;
+    }
+
+    @Override
+    public ConnectorTransactionBoundaries canDefineTransactionBoundaries(Map<String, String> connectorConfig) {
+        return ConnectorTransactionBoundaries.SUPPORTED;
+    }
+
     @Override
     public ConfigDef config() {
         return WebSocketSourceConnectorConfig.CONFIG_DEF;
@@ -8,6 +8,9 @@ import org.apache.kafka.common.config.ConfigException;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -40,15 +43,139 @@ public class WebSocketSourceConnectorConfig extends AbstractConfig {
     public static final String MESSAGE_QUEUE_SIZE_CONFIG = "websocket.message.queue.size";
     private static final String MESSAGE_QUEUE_SIZE_DOC = "Maximum size of the message buffer queue";
 
+    public static final String INFLIGHT_MAX_RECORDS_CONFIG = "websocket.inflight.max.records";
+    private static final String INFLIGHT_MAX_RECORDS_DOC = "Maximum records handed to Kafka Connect but not yet acknowledged by Kafka; once reached, poll() stops draining the message queue so that the queue's overflow handling (dropping, or spilling with websocket.pause.action=spill) engages early. A task held back this way still counts as polling, not as paused (0 disables)";
+
+    public static final String TRANSACTION_MAX_RECORDS_CONFIG = "websocket.transaction.max.records";
+    private static final String TRANSACTION_MAX_RECORDS_DOC = "With exactly-once delivery and transaction.boundary=connector: commit a transaction after this many records (0 for no limit). Without any websocket.transaction.* boundary, every poll batch is a transaction";
+
+    public static final String TRANSACTION_INTERVAL_MS_CONFIG = "websocket.transaction.interval.ms";
+    private static final String TRANSACTION_INTERVAL_MS_DOC = "With transaction.boundary=connector: commit a transaction once it has been open this long (0 for no limit)";
+
+    public static final String TRANSACTION_MARKER_FIELD_CONFIG = "websocket.transaction.marker.field";
+    private static final String TRANSACTION_MARKER_FIELD_DOC = "With transaction.boundary=connector: dotted path of a payload field that marks the last record of a transaction (e.g. a snapshot-end flag)";
+
+    public static final String TRANSACTION_MARKER_VALUE_CONFIG = "websocket.transaction.marker.value";
+    private static final String TRANSACTION_MARKER_VALUE_DOC = "Value of websocket.transaction.marker.field that ends a transaction; empty ends it on any record that has the field";
+
+    public static final String SPOOL_ENABLED_CONFIG = "websocket.spool.enabled";
+    private static final String SPOOL_ENABLED_DOC = "On task stop, write messages that were received but not yet handed to Kafka Connect to a local spool file and replay them on the next start of the task on this worker. Ignored when resuming from websocket.cursor.field, since the server resends those messages";
+
+    public static final String SPOOL_DIR_CONFIG = "websocket.spool.dir";
+    private static final String SPOOL_DIR_DOC = "Directory of the spool files; empty uses kafka-connect-websocket under java.io.tmpdir. Must be on local, persistent storage to survive a worker restart";
+
+    public static final String PAUSE_ACTION_CONFIG = "websocket.pause.action";
+    private static final String PAUSE_ACTION_DOC = "What to do when messages stop being polled (e.g. the connector is paused): none keeps reading and drops on overflow, unsubscribe sends websocket.unsubscribe.message, close closes the connection, spill writes overflow to websocket.spool.dir. On resume the feed is resubscribed, from the cursor if one is known";
+
+    public static final String PAUSE_DETECT_MS_CONFIG = "websocket.pause.detect.ms";
+    private static final String PAUSE_DETECT_MS_DOC = "Time without a poll after which the task counts as paused and websocket.pause.action is taken (0 disables)";
+
+    public static final String UNSUBSCRIBE_MESSAGE_CONFIG = "websocket.unsubscribe.message";
+    private static final String UNSUBSCRIBE_MESSAGE_DOC = "Message sent to stop the feed for websocket.pause.action=unsubscribe; without it the connection is closed instead";
+
+    public static final String PAUSE_SPILL_MAX_BYTES_CONFIG = "websocket.pause.spill.max.bytes";
+    private static final String PAUSE_SPILL_MAX_BYTES_DOC = "Maximum size of the overflow spill for websocket.pause.action=spill; messages beyond it are dropped";
+
     public static final String CONNECTION_TIMEOUT_MS_CONFIG = "websocket.connection.timeout.ms";
     private static final String CONNECTION_TIMEOUT_MS_DOC = "Connection timeout in milliseconds";
 
+    public static final String CONNECTION_WARMUP_ENABLED_CONFIG = "websocket.connection.warmup.enabled";
+    private static final String CONNECTION_WARMUP_ENABLED_DOC = "For wss:// endpoints, resolve the host and complete a TCP and TLS handshake in the background on task start, before the first WebSocket upgrade";
+
+    public static final String RECONNECT_CIRCUIT_BREAKER_THRESHOLD_CONFIG = "websocket.reconnect.circuit.breaker.threshold";
+    private static final String RECONNECT_CIRCUIT_BREAKER_THRESHOLD_DOC = "Consecutive 4xx handshake responses (other than 429) after which reconnects are held for the cool-down (0 disables)";
+
+    public static final String RECONNECT_CIRCUIT_BREAKER_COOLDOWN_MS_CONFIG = "websocket.reconnect.circuit.breaker.cooldown.ms";
+    private static final String RECONNECT_CIRCUIT_BREAKER_COOLDOWN_MS_DOC = "How long reconnects are held once the circuit breaker opened";
+
+    public static final String CONNECT_ADMISSION_RATE_CONFIG = "websocket.connect.admission.rate";
+    private static final String CONNECT_ADMISSION_RATE_DOC = "Worker-wide limit on new connect attempts per second, shared by all connector tasks in the JVM (0 for no rate limit). "
+            + "The limits of the first task that enables admission control apply to the whole worker until every task using them has stopped";
+
+    public static final String CONNECT_ADMISSION_BURST_CONFIG = "websocket.connect.admission.burst";
+    private static final String CONNECT_ADMISSION_BURST_DOC = "Connect attempts admitted back to back before the worker-wide rate limit applies";
+
+    public static final String CONNECT_ADMISSION_MAX_PER_HOST_CONFIG = "websocket.connect.admission.max.per.host";
+    private static final String CONNECT_ADMISSION_MAX_PER_HOST_DOC = "Worker-wide limit on concurrent handshakes to the same host and port (0 for no limit)";
+
+    public static final String PROMETHEUS_PORT_CONFIG = "websocket.metrics.prometheus.port";
+    private static final String PROMETHEUS_PORT_DOC = "Port of a worker-wide HTTP endpoint serving the metrics of all WebSocket connector tasks in Prometheus text format at /metrics, shared by all tasks in the JVM (0 disables it)";
+
+    public static final String PROMETHEUS_BIND_ADDRESS_CONFIG = "websocket.metrics.prometheus.bind.address";
+    private static final String PROMETHEUS_BIND_ADDRESS_DOC = "Address the Prometheus endpoint listens on";
+
+    public static final String FAILOVER_URLS_CONFIG = "websocket.failover.urls";
+    private static final String FAILOVER_URLS_DOC = "Comma-separated mirror endpoints of the same feed; reconnects go to the best-scoring of websocket.url and these (probed TCP/TLS connect time, recent failures, message rate)";
+
+    public static final String FAILOVER_LATENCY_THRESHOLD_MS_CONFIG = "websocket.failover.latency.threshold.ms";
+    private static final String FAILOVER_LATENCY_THRESHOLD_MS_DOC = "Move away from the active mirror when its probed connect time exceeds this and another mirror scores better (0 disables; needs websocket.failover.probe.interval.ms)";
+
+    public static final String FAILOVER_PROBE_INTERVAL_MS_CONFIG = "websocket.failover.probe.interval.ms";
+    private static final String FAILOVER_PROBE_INTERVAL_MS_DOC = "Interval at which every mirror's connect time is measured with a plain TCP connect and, for wss://, TLS handshake; no HTTP request is sent (0 disables probing)";
+
     public static final String RECONNECT_MAX_ATTEMPTS_CONFIG = "websocket.reconnect.max.attempts";
     private static final String RECONNECT_MAX_ATTEMPTS_DOC = "Maximum number of reconnection attempts (-1 for infinite)";
 
     public static final String RECONNECT_BACKOFF_MAX_MS_CONFIG = "websocket.reconnect.backoff.max.ms";
     private static final String RECONNECT_BACKOFF_MAX_MS_DOC = "Maximum backoff delay for exponential backoff in milliseconds";
 
+    public static final String MESSAGE_SPLIT_ENABLED_CONFIG = "websocket.message.split.enabled";
+    private static final String MESSAGE_SPLIT_ENABLED_DOC = "Split JSON array frames so that each array element becomes its own record";
+
+    public static final String MESSAGE_SPLIT_FIELD_CONFIG = "websocket.message.split.field";
+    private static final String MESSAGE_SPLIT_FIELD_DOC = "Dotted path of the array field to split (e.g. data.updates); empty splits a top-level array";
+
+    public static final String REDUNDANT_ENABLED_CONFIG = "websocket.redundant.enabled";
+    private static final String REDUNDANT_ENABLED_DOC = "Keep a second, independent connection open and forward whichever copy of each message arrives first";
+
+    public static final String REDUNDANT_URL_CONFIG = "websocket.redundant.url";
+    private static final String REDUNDANT_URL_DOC = "WebSocket URL of the standby leg (defaults to websocket.url, or set a mirrored endpoint)";
+
+    public static final String MESSAGE_ID_FIELD_CONFIG = "websocket.message.id.field";
+    private static final String MESSAGE_ID_FIELD_DOC = "Dotted path of the payload sequence/ID field used to match duplicate copies of a message (redundant legs, rotation handover); empty matches on the full message content";
+
+    public static final String REDUNDANT_DEDUP_WINDOW_CONFIG = "websocket.redundant.dedup.window";
+    private static final String REDUNDANT_DEDUP_WINDOW_DOC = "Number of recent message IDs remembered for arbitration between the two legs";
+
+    public static final String ROTATION_INTERVAL_MS_CONFIG = "websocket.rotation.interval.ms";
+    private static final String ROTATION_INTERVAL_MS_DOC = "Proactively replace the connection at this interval, opening the new one before closing the old (0 disables)";
+
+    public static final String ROTATION_ON_GOING_AWAY_CONFIG = "websocket.rotation.on.going.away";
+    private static final String ROTATION_ON_GOING_AWAY_DOC = "Open the next connection immediately, without backoff, when the server closes with code 1001 (Going Away)";
+
+    public static final String ROTATION_OVERLAP_MS_CONFIG = "websocket.rotation.overlap.ms";
+    private static final String ROTATION_OVERLAP_MS_DOC = "How long old and new connections overlap during a rotation; duplicates are dropped during this window";
+
+    public static final String CURSOR_FIELD_CONFIG = "websocket.cursor.field";
+    private static final String CURSOR_FIELD_DOC = "Dotted path of the payload field carrying the server's cursor/sequence; it is stored in the source offset and used to resume";
+
+    public static final String CURSOR_SUBSCRIPTION_MESSAGE_CONFIG = "websocket.cursor.subscription.message";
+    private static final String CURSOR_SUBSCRIPTION_MESSAGE_DOC = "Subscription message sent instead of websocket.subscription.message when a cursor is known; ${cursor} is replaced by the last cursor";
+
+    public static final String SEQUENCE_FIELD_CONFIG = "websocket.sequence.field";
+    private static final String SEQUENCE_FIELD_DOC = "Dotted path of the payload's monotonically increasing update ID; enables gap and regression detection";
+
+    public static final String SEQUENCE_KEY_FIELD_CONFIG = "websocket.sequence.key.field";
+    private static final String SEQUENCE_KEY_FIELD_DOC = "Dotted path of the field that scopes sequences (e.g. a symbol); empty tracks one sequence for the whole stream";
+
+    public static final String SEQUENCE_GAP_RESUBSCRIBE_CONFIG = "websocket.sequence.gap.resubscribe";
+    private static final String SEQUENCE_GAP_RESUBSCRIBE_DOC = "Resubscribe on a fresh connection as soon as a sequence gap is detected";
+
+    public static final String SEQUENCE_GAP_RESUBSCRIBE_COOLDOWN_MS_CONFIG = "websocket.sequence.gap.resubscribe.cooldown.ms";
+    private static final String SEQUENCE_GAP_RESUBSCRIBE_COOLDOWN_MS_DOC = "Minimum time between two gap-triggered resubscribes";
+
+    public static final String PING_INTERVAL_MS_CONFIG = "websocket.ping.interval.ms";
+    private static final String PING_INTERVAL_MS_DOC = "WebSocket ping interval in milliseconds; the connection fails if a pong is not received in time (0 disables)";
+
+    public static final String IDLE_TIMEOUT_MS_CONFIG = "websocket.idle.timeout.ms";
+    private static final String IDLE_TIMEOUT_MS_DOC = "Replace the connection when no data frame arrives for this many milliseconds (0 disables)";
+
+    public static final String HEARTBEAT_MESSAGE_CONFIG = "websocket.heartbeat.message";
+    private static final String HEARTBEAT_MESSAGE_DOC = "Optional application-level heartbeat sent while the connection is idle; its response counts as data for the idle timeout";
+
+    public static final String HEARTBEAT_INTERVAL_MS_CONFIG = "websocket.heartbeat.interval.ms";
+    private static final String HEARTBEAT_INTERVAL_MS_DOC = "Idle time in milliseconds after which the heartbeat message is sent";
+
     public static final ConfigDef CONFIG_DEF = createConfigDef();
 
     private static ConfigDef createConfigDef() {
@@ -110,6 +237,89 @@ public class WebSocketSourceConnectorConfig extends AbstractConfig {
                         Importance.LOW,
                         MESSAGE_QUEUE_SIZE_DOC
                 )
+                .define(
+                        INFLIGHT_MAX_RECORDS_CONFIG,
+                        Type.LONG,
+                        100000L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        INFLIGHT_MAX_RECORDS_DOC
+                )
+                .define(
+                        TRANSACTION_MAX_RECORDS_CONFIG,
+                        Type.INT,
+                        0,
+                        ConfigDef.Range.atLeast(0),
+                        Importance.LOW,
+                        TRANSACTION_MAX_RECORDS_DOC
+                )
+                .define(
+                        TRANSACTION_INTERVAL_MS_CONFIG,
+                        Type.LONG,
+                        0L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        TRANSACTION_INTERVAL_MS_DOC
+                )
+                .define(
+                        TRANSACTION_MARKER_FIELD_CONFIG,
+                        Type.STRING,
+                        null,
+                        Importance.LOW,
+                        TRANSACTION_MARKER_FIELD_DOC
+                )
+                .define(
+                        TRANSACTION_MARKER_VALUE_CONFIG,
+                        Type.STRING,
+                        null,
+                        Importance.LOW,
+                        TRANSACTION_MARKER_VALUE_DOC
+                )
+                .define(
+                        SPOOL_ENABLED_CONFIG,
+                        Type.BOOLEAN,
+                        false,
+                        Importance.LOW,
+                        SPOOL_ENABLED_DOC
+                )
+                .define(
+                        SPOOL_DIR_CONFIG,
+                        Type.STRING,
+                        "",
+                        Importance.LOW,
+                        SPOOL_DIR_DOC
+                )
+                .define(
+                        PAUSE_ACTION_CONFIG,
+                        Type.STRING,
+                        "none",
+                        ConfigDef.ValidString.in("none", "unsubscribe", "close", "spill"),
+                        Importance.LOW,
+                        PAUSE_ACTION_DOC
+                )
+                .define(
+                        PAUSE_DETECT_MS_CONFIG,
+                        Type.LONG,
+                        60000L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        PAUSE_DETECT_MS_DOC
+                )
+                .define(
+                        UNSUBSCRIBE_MESSAGE_CONFIG,
+                        Type.STRING,
+                        null,
+                        Importance.LOW,
+                        UNSUBSCRIBE_MESSAGE_DOC
+                )
+                .define(
+                        PAUSE_SPILL_MAX_BYTES_CONFIG,
+                        Type.LONG,
+                        268435456L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        PAUSE_SPILL_MAX_BYTES_DOC
+                )
                 .define(
                         CONNECTION_TIMEOUT_MS_CONFIG,
                         Type.LONG,
@@ -117,6 +327,92 @@ public class WebSocketSourceConnectorConfig extends AbstractConfig {
                         Importance.LOW,
                         CONNECTION_TIMEOUT_MS_DOC
                 )
+                .define(
+                        CONNECTION_WARMUP_ENABLED_CONFIG,
+                        Type.BOOLEAN,
+                        true,
+                        Importance.LOW,
+                        CONNECTION_WARMUP_ENABLED_DOC
+                )
+                .define(
+                        RECONNECT_CIRCUIT_BREAKER_THRESHOLD_CONFIG,
+                        Type.INT,
+                        0,
+                        ConfigDef.Range.atLeast(0),
+                        Importance.LOW,
+                        RECONNECT_CIRCUIT_BREAKER_THRESHOLD_DOC
+                )
+                .define(
+                        RECONNECT_CIRCUIT_BREAKER_COOLDOWN_MS_CONFIG,
+                        Type.LONG,
+                        300000L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        RECONNECT_CIRCUIT_BREAKER_COOLDOWN_MS_DOC
+                )
+                .define(
+                        CONNECT_ADMISSION_RATE_CONFIG,
+                        Type.DOUBLE,
+                        0.0,
+                        ConfigDef.Range.atLeast(0.0),
+                        Importance.LOW,
+                        CONNECT_ADMISSION_RATE_DOC
+                )
+                .define(
+                        CONNECT_ADMISSION_BURST_CONFIG,
+                        Type.INT,
+                        50,
+                        ConfigDef.Range.atLeast(1),
+                        Importance.LOW,
+                        CONNECT_ADMISSION_BURST_DOC
+                )
+                .define(
+                        CONNECT_ADMISSION_MAX_PER_HOST_CONFIG,
+                        Type.INT,
+                        0,
+                        ConfigDef.Range.atLeast(0),
+                        Importance.LOW,
+                        CONNECT_ADMISSION_MAX_PER_HOST_DOC
+                )
+                .define(
+                        PROMETHEUS_PORT_CONFIG,
+                        Type.INT,
+                        0,
+                        ConfigDef.Range.between(0, 65535),
+                        Importance.LOW,
+                        PROMETHEUS_PORT_DOC
+                )
+                .define(
+                        PROMETHEUS_BIND_ADDRESS_CONFIG,
+                        Type.STRING,
+                        "0.0.0.0",
+                        Importance.LOW,
+                        PROMETHEUS_BIND_ADDRESS_DOC
+                )
+                .define(
+                        FAILOVER_URLS_CONFIG,
+                        Type.LIST,
+                        "",
+                        new WebSocketUrlListValidator(),
+                        Importance.MEDIUM,
+                        FAILOVER_URLS_DOC
+                )
+                .define(
+                        FAILOVER_LATENCY_THRESHOLD_MS_CONFIG,
+                        Type.LONG,
+                        0L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        FAILOVER_LATENCY_THRESHOLD_MS_DOC
+                )
+                .define(
+                        FAILOVER_PROBE_INTERVAL_MS_CONFIG,
+                        Type.LONG,
+                        30000L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        FAILOVER_PROBE_INTERVAL_MS_DOC
+                )
                 .define(
                         RECONNECT_MAX_ATTEMPTS_CONFIG,
                         Type.INT,
@@ -130,6 +426,147 @@ public class WebSocketSourceConnectorConfig extends AbstractConfig {
                         60000L,
                         Importance.MEDIUM,
                         RECONNECT_BACKOFF_MAX_MS_DOC
+                )
+                .define(
+                        MESSAGE_SPLIT_ENABLED_CONFIG,
+                        Type.BOOLEAN,
+                        false,
+                        Importance.LOW,
+                        MESSAGE_SPLIT_ENABLED_DOC
+                )
+                .define(
+                        MESSAGE_SPLIT_FIELD_CONFIG,
+                        Type.STRING,
+                        null,
+                        Importance.LOW,
+                        MESSAGE_SPLIT_FIELD_DOC
+                )
+                .define(
+                        REDUNDANT_ENABLED_CONFIG,
+                        Type.BOOLEAN,
+                        false,
+                        Importance.LOW,
+                        REDUNDANT_ENABLED_DOC
+                )
+                .define(
+                        REDUNDANT_URL_CONFIG,
+                        Type.STRING,
+                        null,
+                        new OptionalWebSocketUrlValidator(),
+                        Importance.LOW,
+                        REDUNDANT_URL_DOC
+                )
+                .define(
+                        MESSAGE_ID_FIELD_CONFIG,
+                        Type.STRING,
+                        null,
+                        Importance.LOW,
+                        MESSAGE_ID_FIELD_DOC
+                )
+                .define(
+                        REDUNDANT_DEDUP_WINDOW_CONFIG,
+                        Type.INT,
+                        10000,
+                        ConfigDef.Range.atLeast(1),
+                        Importance.LOW,
+                        REDUNDANT_DEDUP_WINDOW_DOC
+                )
+                .define(
+                        ROTATION_INTERVAL_MS_CONFIG,
+                        Type.LONG,
+                        0L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        ROTATION_INTERVAL_MS_DOC
+                )
+                .define(
+                        ROTATION_ON_GOING_AWAY_CONFIG,
+                        Type.BOOLEAN,
+                        true,
+                        Importance.LOW,
+                        ROTATION_ON_GOING_AWAY_DOC
+                )
+                .define(
+                        ROTATION_OVERLAP_MS_CONFIG,
+                        Type.LONG,
+                        2000L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        ROTATION_OVERLAP_MS_DOC
+                )
+                .define(
+                        CURSOR_FIELD_CONFIG,
+                        Type.STRING,
+                        null,
+                        Importance.MEDIUM,
+                        CURSOR_FIELD_DOC
+                )
+                .define(
+                        CURSOR_SUBSCRIPTION_MESSAGE_CONFIG,
+                        Type.STRING,
+                        null,
+                        Importance.MEDIUM,
+                        CURSOR_SUBSCRIPTION_MESSAGE_DOC
+                )
+                .define(
+                        SEQUENCE_FIELD_CONFIG,
+                        Type.STRING,
+                        null,
+                        Importance.LOW,
+                        SEQUENCE_FIELD_DOC
+                )
+                .define(
+                        SEQUENCE_KEY_FIELD_CONFIG,
+                        Type.STRING,
+                        null,
+                        Importance.LOW,
+                        SEQUENCE_KEY_FIELD_DOC
+                )
+                .define(
+                        SEQUENCE_GAP_RESUBSCRIBE_CONFIG,
+                        Type.BOOLEAN,
+                        false,
+                        Importance.LOW,
+                        SEQUENCE_GAP_RESUBSCRIBE_DOC
+                )
+                .define(
+                        SEQUENCE_GAP_RESUBSCRIBE_COOLDOWN_MS_CONFIG,
+                        Type.LONG,
+                        5000L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        SEQUENCE_GAP_RESUBSCRIBE_COOLDOWN_MS_DOC
+                )
+                .define(
+                        PING_INTERVAL_MS_CONFIG,
+                        Type.LONG,
+                        30000L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        PING_INTERVAL_MS_DOC
+                )
+                .define(
+                        IDLE_TIMEOUT_MS_CONFIG,
+                        Type.LONG,
+                        0L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        IDLE_TIMEOUT_MS_DOC
+                )
+                .define(
+                        HEARTBEAT_MESSAGE_CONFIG,
+                        Type.STRING,
+                        null,
+                        Importance.LOW,
+                        HEARTBEAT_MESSAGE_DOC
+                )
+                .define(
+                        HEARTBEAT_INTERVAL_MS_CONFIG,
+                        Type.LONG,
+                        10000L,
+                        ConfigDef.Range.atLeast(0L),
+                        Importance.LOW,
+                        HEARTBEAT_INTERVAL_MS_DOC
                 );
     }
 
@@ -170,10 +607,102 @@ public class WebSocketSourceConnectorConfig extends AbstractConfig {
         return getInt(MESSAGE_QUEUE_SIZE_CONFIG);
     }
 
+    public long getInFlightMaxRecords() {
+        return getLong(INFLIGHT_MAX_RECORDS_CONFIG);
+    }
+
+    public int getTransactionMaxRecords() {
+        return getInt(TRANSACTION_MAX_RECORDS_CONFIG);
+    }
+
+    public long getTransactionIntervalMs() {
+        return getLong(TRANSACTION_INTERVAL_MS_CONFIG);
+    }
+
+    public String getTransactionMarkerField() {
+        return getString(TRANSACTION_MARKER_FIELD_CONFIG);
+    }
+
+    public String getTransactionMarkerValue() {
+        return getString(TRANSACTION_MARKER_VALUE_CONFIG);
+    }
+
+    public boolean isSpoolEnabled() {
+        return getBoolean(SPOOL_ENABLED_CONFIG);
+    }
+
+    public String getSpoolDir() {
+        String dir = getString(SPOOL_DIR_CONFIG);
+        if (dir == null || dir.trim().isEmpty()) {
+            return Paths.get(System.getProperty("java.io.tmpdir"), "kafka-connect-websocket").toString();
+        }
+        return dir.trim();
+    }
+
+    public WebSocketClient.PauseAction getPauseAction() {
+        return WebSocketClient.PauseAction.valueOf(getString(PAUSE_ACTION_CONFIG).toUpperCase(Locale.ROOT));
+    }
+
+    public long getPauseDetectMs() {
+        return getLong(PAUSE_DETECT_MS_CONFIG);
+    }
+
+    public String getUnsubscribeMessage() {
+        return getString(UNSUBSCRIBE_MESSAGE_CONFIG);
+    }
+
+    public long getPauseSpillMaxBytes() {
+        return getLong(PAUSE_SPILL_MAX_BYTES_CONFIG);
+    }
+
     public long getConnectionTimeoutMs() {
         return getLong(CONNECTION_TIMEOUT_MS_CONFIG);
     }
 
+    public boolean isConnectionWarmupEnabled() {
+        return getBoolean(CONNECTION_WARMUP_ENABLED_CONFIG);
+    }
+
+    public int getReconnectCircuitBreakerThreshold() {
+        return getInt(RECONNECT_CIRCUIT_BREAKER_THRESHOLD_CONFIG);
+    }
+
+    public long getReconnectCircuitBreakerCooldownMs() {
+        return getLong(RECONNECT_CIRCUIT_BREAKER_COOLDOWN_MS_CONFIG);
+    }
+
+    public double getConnectAdmissionRate() {
+        return getDouble(CONNECT_ADMISSION_RATE_CONFIG);
+    }
+
+    public int getConnectAdmissionBurst() {
+        return getInt(CONNECT_ADMISSION_BURST_CONFIG);
+    }
+
+    public int getConnectAdmissionMaxPerHost() {
+        return getInt(CONNECT_ADMISSION_MAX_PER_HOST_CONFIG);
+    }
+
+    public int getPrometheusPort() {
+        return getInt(PROMETHEUS_PORT_CONFIG);
+    }
+
+    public String getPrometheusBindAddress() {
+        return getString(PROMETHEUS_BIND_ADDRESS_CONFIG);
+    }
+
+    public List<String> getFailoverUrls() {
+        return getList(FAILOVER_URLS_CONFIG);
+    }
+
+    public long getFailoverLatencyThresholdMs() {
+        return getLong(FAILOVER_LATENCY_THRESHOLD_MS_CONFIG);
+    }
+
+    public long getFailoverProbeIntervalMs() {
+        return getLong(FAILOVER_PROBE_INTERVAL_MS_CONFIG);
+    }
+
     public int getMaxReconnectAttempts() {
         return getInt(RECONNECT_MAX_ATTEMPTS_CONFIG);
     }
@@ -182,6 +711,83 @@ public class WebSocketSourceConnectorConfig extends AbstractConfig {
         return getLong(RECONNECT_BACKOFF_MAX_MS_CONFIG);
     }
 
+    public boolean isMessageSplitEnabled() {
+        return getBoolean(MESSAGE_SPLIT_ENABLED_CONFIG);
+    }
+
+    public String getMessageSplitField() {
+        return getString(MESSAGE_SPLIT_FIELD_CONFIG);
+    }
+
+    public boolean isRedundantEnabled() {
+        return getBoolean(REDUNDANT_ENABLED_CONFIG);
+    }
+
+    public String getRedundantUrl() {
+        String url = getString(REDUNDANT_URL_CONFIG);
+        return url != null && !url.trim().isEmpty() ? url : getWebSocketUrl();
+    }
+
+    public String getMessageIdField() {
+        return getString(MESSAGE_ID_FIELD_CONFIG);
+    }
+
+    public int getRedundantDedupWindow() {
+        return getInt(REDUNDANT_DEDUP_WINDOW_CONFIG);
+    }
+
+    public long getRotationIntervalMs() {
+        return getLong(ROTATION_INTERVAL_MS_CONFIG);
+    }
+
+    public boolean isRotationOnGoingAway() {
+        return getBoolean(ROTATION_ON_GOING_AWAY_CONFIG);
+    }
+
+    public long getRotationOverlapMs() {
+        return getLong(ROTATION_OVERLAP_MS_CONFIG);
+    }
+
+    public String getCursorField() {
+        return getString(CURSOR_FIELD_CONFIG);
+    }
+
+    public String getCursorSubscriptionMessage() {
+        return getString(CURSOR_SUBSCRIPTION_MESSAGE_CONFIG);
+    }
+
+    public long getPingIntervalMs() {
+        return getLong(PING_INTERVAL_MS_CONFIG);
+    }
+
+    public long getIdleTimeoutMs() {
+        return getLong(IDLE_TIMEOUT_MS_CONFIG);
+    }
+
+    public String getHeartbeatMessage() {
+        return getString(HEARTBEAT_MESSAGE_CONFIG);
+    }
+
+    public long getHeartbeatIntervalMs() {
+        return getLong(HEARTBEAT_INTERVAL_MS_CONFIG);
+    }
+
+    public String getSequenceField() {
+        return getString(SEQUENCE_FIELD_CONFIG);
+    }
+
+    public String getSequenceKeyField() {
+        return getString(SEQUENCE_KEY_FIELD_CONFIG);
+    }
+
+    public boolean isSequenceGapResubscribe() {
+        return getBoolean(SEQUENCE_GAP_RESUBSCRIBE_CONFIG);
+    }
+
+    public long getSequenceGapResubscribeCooldownMs() {
+        return getLong(SEQUENCE_GAP_RESUBSCRIBE_COOLDOWN_MS_CONFIG);
+    }
+
     /**
      * Validator for WebSocket URL configuration.
      * Ensures the URL uses ws:// or wss:// scheme and has valid URI syntax.
@@ -228,4 +834,42 @@ public class WebSocketSourceConnectorConfig extends AbstractConfig {
             return "Valid WebSocket URL with ws:// or wss:// scheme";
         }
     }
+
+    /**
+     * Validator for lists of WebSocket URLs: every entry must be a valid URL.
+     */
+    private static class WebSocketUrlListValidator extends WebSocketUrlValidator {
+        @Override
+        public void ensureValid(String name, Object value) {
+            if (value == null) {
+                return;
+            }
+            for (Object url : (List<?>) value) {
+                super.ensureValid(name, url);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Comma-separated list of valid WebSocket URLs with ws:// or wss:// scheme";
+        }
+    }
+
+    /**
+     * Validator for optional WebSocket URL settings: null or empty means "not set".
+     */
+    private static class OptionalWebSocketUrlValidator extends WebSocketUrlValidator {
+        @Override
+        public void ensureValid(String name, Object value) {
+            if (value == null || ((String) value).trim().isEmpty()) {
+                return;
+            }
+            super.ensureValid(name, value);
+        }
+
+        @Override
+        public String toString() {
+            return "Empty, or a valid WebSocket URL with ws:// or wss:// scheme";
+        }
+    }
 }
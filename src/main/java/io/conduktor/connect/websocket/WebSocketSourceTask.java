@@ -3,12 +3,18 @@ package io.conduktor.connect.websocket;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.apache.kafka.connect.source.SourceTask;
+import org.apache.kafka.connect.source.TransactionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import javax.management.JMException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -19,7 +25,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * - Sequence-based offset management for reliable message tracking
  * - Connection session tracking to detect reconnections
  * - Delivery guarantee via commitRecord() callback
- * - Graceful shutdown with message draining
+ * - Fast shutdown that optionally spools undelivered messages and replays them on the next start
  * - Proper queue-based polling without Thread.sleep()
  */
 public class WebSocketSourceTask extends SourceTask {
@@ -27,22 +33,50 @@ public class WebSocketSourceTask extends SourceTask {
 
     // Shutdown and lifecycle management
     private final AtomicBoolean stopping = new AtomicBoolean(false);
-    private static final long SHUTDOWN_DRAIN_TIMEOUT_MS = 5000L;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000L;
+
+    // Messages received before the last stop but never polled, replayed first
+    private MessageSpool spool;
+    private final LinkedBlockingDeque<String> replayBacklog = new LinkedBlockingDeque<>();
 
     // Offset management - sequence-based tracking
     private final AtomicLong messageSequence = new AtomicLong(0);
     private final AtomicLong lastCommittedSequence = new AtomicLong(-1);
     private volatile String connectionSessionId;
 
+    // Server cursor - replayed from on reconnect / restart
+    private String[] cursorPath;
+    private volatile String lastCursor;
+
+    // Payload sequence gap detection
+    private SequenceGapMonitor gapMonitor;
+    private long lastGapResubscribeTime = 0;
+
     // WebSocket client and configuration
     private WebSocketClient client;
+    private WebSocketClient standbyClient;
     private String kafkaTopic;
     private WebSocketSourceConnectorConfig config;
+    private String[] splitPath;
+
+    // In-flight window: records returned by poll() minus records acknowledged via commitRecord()
+    private final AtomicLong recordsInFlight = new AtomicLong(0);
+    private long inFlightMaxRecords;
+
+    // Connector-defined transaction boundaries (exactly-once with transaction.boundary=connector)
+    private TransactionBoundaries transactionBoundaries;
 
     // Metrics
-    private final AtomicLong recordsProduced = new AtomicLong(0);
+    private final MessageCounters counters = new MessageCounters();
     private long lastLogTime = System.currentTimeMillis();
+
+    // Flight recorder: one poll batch event per POLL_EVENT_SAMPLE_INTERVAL non-empty batches
+    private static final int POLL_EVENT_SAMPLE_INTERVAL = 64;
+    private long pollBatches = 0;
+    private long lastBatchTime = System.currentTimeMillis();
     private WebSocketMetrics metrics;
+    private boolean prometheusAcquired = false;
+    private boolean admissionAcquired = false;
     private String connectorName;
 
     @Override
@@ -54,6 +88,10 @@ public class WebSocketSourceTask extends SourceTask {
     public void start(Map<String, String> props) {
         config = new WebSocketSourceConnectorConfig(props);
         kafkaTopic = config.getKafkaTopic();
+        inFlightMaxRecords = config.getInFlightMaxRecords();
+        splitPath = config.isMessageSplitEnabled() ? JsonScanner.compilePath(config.getMessageSplitField()) : null;
+        String cursorField = config.getCursorField();
+        cursorPath = cursorField != null && !cursorField.trim().isEmpty() ? JsonScanner.compilePath(cursorField) : null;
         String websocketUrl = config.getWebSocketUrl();
 
         // Extract connector name from properties or generate one
@@ -74,15 +112,34 @@ public class WebSocketSourceTask extends SourceTask {
 
         // Initialize JMX metrics
         try {
-            metrics = new WebSocketMetrics(connectorName, websocketUrl);
+            metrics = new WebSocketMetrics(connectorName, websocketUrl, counters);
             log.info("event=jmx_metrics_initialized connector_name={}", connectorName);
         } catch (JMException e) {
             log.error("event=jmx_metrics_init_failed connector_name={} error={}", connectorName, e.getMessage(), e);
             // Continue without metrics - not critical for operation
         }
+        if (metrics != null && config.getPrometheusPort() > 0) {
+            try {
+                PrometheusExporter.acquire(config.getPrometheusBindAddress(), config.getPrometheusPort());
+                prometheusAcquired = true;
+            } catch (IOException e) {
+                log.error("event=prometheus_endpoint_start_failed port={} error={}",
+                        config.getPrometheusPort(), e.getMessage(), e);
+                // Continue without the endpoint - JMX still has the metrics
+            }
+        }
+
+        String sequenceField = config.getSequenceField();
+        if (sequenceField != null && !sequenceField.trim().isEmpty()) {
+            gapMonitor = new SequenceGapMonitor(
+                    JsonScanner.compilePath(sequenceField), JsonScanner.compilePath(config.getSequenceKeyField()));
+            gapMonitor.setMetrics(metrics);
+        }
 
         // Restore offset from Kafka Connect framework if available
         restoreOffsetState();
+        initTransactionBoundaries();
+        loadSpool(props);
 
         // Parse headers
         Map<String, String> headers = parseHeaders(config.getHeaders());
@@ -106,12 +163,76 @@ public class WebSocketSourceTask extends SourceTask {
                 config.getConnectionTimeoutMs()
         );
 
-        // Link metrics to client
+        // Link counters and metrics to client
+        client.setCounters(counters);
         if (metrics != null) {
             client.setMetrics(metrics);
         }
 
+        if (cursorPath != null) {
+            client.setCursorResume(config.getCursorSubscriptionMessage(), () -> lastCursor);
+        }
+        client.setWarmupEnabled(config.isConnectionWarmupEnabled());
+        client.configureCircuitBreaker(
+                config.getReconnectCircuitBreakerThreshold(),
+                config.getReconnectCircuitBreakerCooldownMs()
+        );
+        if (config.getConnectAdmissionRate() > 0 || config.getConnectAdmissionMaxPerHost() > 0) {
+            client.setAdmission(ConnectAdmission.acquire(
+                    config.getConnectAdmissionRate(),
+                    config.getConnectAdmissionBurst(),
+                    config.getConnectAdmissionMaxPerHost()
+            ));
+            admissionAcquired = true;
+        }
+        if (!config.getFailoverUrls().isEmpty()) {
+            List<String> mirrorUrls = new ArrayList<>();
+            mirrorUrls.add(websocketUrl);
+            mirrorUrls.addAll(config.getFailoverUrls());
+            client.configureFailover(
+                    new MirrorSelector(mirrorUrls, config.getFailoverLatencyThresholdMs()),
+                    config.getFailoverProbeIntervalMs()
+            );
+            log.info("event=failover_enabled mirrors={} latency_threshold_ms={}",
+                    mirrorUrls.size(), config.getFailoverLatencyThresholdMs());
+        }
+        client.configurePauseHandling(
+                config.getPauseAction(),
+                config.getPauseDetectMs(),
+                config.getUnsubscribeMessage(),
+                new MessageSpool(spoolPath("-paused.spool")),
+                config.getPauseSpillMaxBytes()
+        );
+        client.configureLiveness(
+                config.getPingIntervalMs(),
+                config.getIdleTimeoutMs(),
+                config.getHeartbeatMessage(),
+                config.getHeartbeatIntervalMs()
+        );
+        client.configureRotation(
+                config.getRotationIntervalMs(),
+                config.isRotationOnGoingAway(),
+                config.getRotationOverlapMs(),
+                JsonScanner.compilePath(config.getMessageIdField())
+        );
+
+        // Redundant mode: a second leg delivering into the same queue, first copy wins
+        if (config.isRedundantEnabled()) {
+            MessageArbiter arbiter = new MessageArbiter(
+                    JsonScanner.compilePath(config.getMessageIdField()), config.getRedundantDedupWindow());
+            arbiter.setMetrics(metrics);
+            standbyClient = client.createStandbyLeg(config.getRedundantUrl());
+            standbyClient.setMetrics(metrics);
+            client.setArbiter(arbiter, MessageArbiter.PRIMARY);
+            standbyClient.setArbiter(arbiter, MessageArbiter.STANDBY);
+            log.info("event=redundant_mode_enabled standby_url={} id_field={} dedup_window={}",
+                    config.getRedundantUrl(), config.getMessageIdField(), config.getRedundantDedupWindow());
+        }
+
         client.start();
+        if (standbyClient != null) {
+            standbyClient.start();
+        }
         log.info("event=task_started session_id={} starting_sequence={} queue_capacity={}",
                 connectionSessionId, messageSequence.get(), config.getMessageQueueSize());
     }
@@ -122,12 +243,26 @@ public class WebSocketSourceTask extends SourceTask {
         if (stopping.get()) {
             return null;
         }
+        client.markPolled();
+
+        // Hand out no more than the in-flight window allows; what stays queued pushes back
+        // on the WebSocket side (overflow handling) instead of piling up in producer buffers
+        int credits = pollCredits();
+        if (credits == 0) {
+            return null;
+        }
+
+        FlightEvents.PollBatch batchEvent = new FlightEvents.PollBatch();
+        batchEvent.begin();
 
         // FIX #3: Remove Thread.sleep() - let the framework handle polling intervals
-        // Use non-blocking getMessages() which drains the queue
-        List<String> messages = client.getMessages();
+        // Use non-blocking getMessages() which drains the queue; spooled messages go first
+        List<String> messages = replayBacklog.isEmpty() ? client.getMessages(credits) : takeReplayBatch(credits);
 
         if (messages.isEmpty()) {
+            if (transactionBoundaries != null) {
+                transactionBoundaries.onIdlePoll(System.currentTimeMillis());
+            }
             // Return null to let Kafka Connect framework control the polling pace
             // The framework will handle backoff and avoid busy-waiting
             return null;
@@ -136,20 +271,45 @@ public class WebSocketSourceTask extends SourceTask {
         // Convert messages to SourceRecords with sequence-based offsets
         List<SourceRecord> records = new ArrayList<>(messages.size());
         for (String message : messages) {
-            SourceRecord record = createSourceRecord(message);
-            if (record != null) {
-                records.add(record);
-                recordsProduced.incrementAndGet();
+            if (splitPath != null) {
+                // Batched frame: one record (and one sequence number) per array element
+                List<String> elements = JsonScanner.splitArray(message, splitPath);
+                if (elements != null) {
+                    trackCursor(message); // Envelope-level cursor, if any
+                    for (String element : elements) {
+                        addRecord(records, element);
+                    }
+                    continue;
+                }
+                log.debug("event=message_split_skipped reason=no_array_at_path split_field={}",
+                        config.getMessageSplitField());
             }
+            addRecord(records, message);
+        }
+
+        long now = System.currentTimeMillis();
+        if (transactionBoundaries != null) {
+            transactionBoundaries.onBatch(records, now);
         }
 
         // Update JMX metrics
+        long inFlight = recordsInFlight.addAndGet(records.size());
+        counters.recordRecordsProduced(records.size());
         if (metrics != null && !records.isEmpty()) {
-            metrics.incrementRecordsProduced(records.size());
+            metrics.updateRecordsInFlight(inFlight);
         }
 
+        batchEvent.end();
+        if (pollBatches++ % POLL_EVENT_SAMPLE_INTERVAL == 0 && batchEvent.shouldCommit()) {
+            batchEvent.messages = messages.size();
+            batchEvent.records = records.size();
+            batchEvent.recordsInFlight = inFlight;
+            batchEvent.dwell = now - lastBatchTime;
+            batchEvent.commit();
+        }
+        lastBatchTime = now;
+
         // Log metrics periodically
-        long now = System.currentTimeMillis();
         if (now - lastLogTime > 30000) { // Every 30 seconds
             logMetrics();
             lastLogTime = now;
@@ -161,47 +321,39 @@ public class WebSocketSourceTask extends SourceTask {
     @Override
     public void stop() {
         log.info("event=task_stopping session_id={}", connectionSessionId);
+        long stopStartTime = System.currentTimeMillis();
 
-        // FIX #4: Graceful shutdown with message draining
         // Step 1: Set stopping flag to prevent accepting new messages in poll()
         stopping.set(true);
 
-        // Step 2: Drain remaining messages from the queue with timeout
-        long drainStartTime = System.currentTimeMillis();
-        int drainedMessages = 0;
-
+        // Step 2: Tear down both legs in parallel under one deadline
         if (client != null) {
-            log.info("event=message_draining_started timeout_ms={}", SHUTDOWN_DRAIN_TIMEOUT_MS);
-
-            while (System.currentTimeMillis() - drainStartTime < SHUTDOWN_DRAIN_TIMEOUT_MS) {
-                List<String> messages = client.getMessages();
-                if (messages.isEmpty()) {
-                    break; // No more messages to drain
-                }
-
-                drainedMessages += messages.size();
-                log.debug("event=messages_drained count={}", messages.size());
-
-                // Small sleep to allow framework to process these messages
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.warn("event=drain_interrupted");
-                    break;
-                }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MS);
+            client.initiateStop();
+            if (standbyClient != null) {
+                standbyClient.initiateStop();
+            }
+            client.awaitStop(deadline);
+            if (standbyClient != null) {
+                standbyClient.awaitStop(deadline);
             }
 
-            log.info("event=message_draining_completed drained_count={} duration_ms={}",
-                    drainedMessages, (System.currentTimeMillis() - drainStartTime));
-
-            // Step 3: Stop the WebSocket client
-            client.stop();
+            // Step 3: Keep what was received but never handed to the framework
+            spoolUndelivered();
         }
+        log.info("event=task_teardown_completed duration_ms={}", System.currentTimeMillis() - stopStartTime);
 
         // Step 4: Log final metrics and close JMX
         logMetrics();
 
+        if (prometheusAcquired) {
+            PrometheusExporter.release();
+            prometheusAcquired = false;
+        }
+        if (admissionAcquired) {
+            ConnectAdmission.release();
+            admissionAcquired = false;
+        }
         if (metrics != null) {
             try {
                 metrics.close();
@@ -218,6 +370,96 @@ public class WebSocketSourceTask extends SourceTask {
         MDC.clear();
     }
 
+    /**
+     * Write the not yet polled replay backlog and queue contents to the spool, oldest first.
+     */
+    private void spoolUndelivered() {
+        List<String> undelivered = new ArrayList<>();
+        replayBacklog.drainTo(undelivered);
+        undelivered.addAll(client.drainUndelivered());
+        if (undelivered.isEmpty()) {
+            return;
+        }
+        if (spool == null) {
+            log.warn("event=undelivered_messages_discarded count={} reason={}", undelivered.size(),
+                    !config.isSpoolEnabled() ? "spool_disabled"
+                            : cursorPath != null ? "cursor_resume" : "no_connector_name");
+            return;
+        }
+        try {
+            spool.appendAll(undelivered);
+            log.info("event=undelivered_messages_spooled count={} file={}", undelivered.size(), spool.getFile());
+        } catch (IOException e) {
+            log.error("event=spool_write_failed count={} file={} error={}",
+                    undelivered.size(), spool.getFile(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Define transactions when running exactly-once with transaction.boundary=connector; the
+     * framework only provides a transaction context in that case.
+     */
+    private void initTransactionBoundaries() {
+        TransactionContext transactionContext = context != null ? context.transactionContext() : null;
+        if (transactionContext == null) {
+            return;
+        }
+        String markerField = config.getTransactionMarkerField();
+        transactionBoundaries = new TransactionBoundaries(
+                transactionContext,
+                config.getTransactionMaxRecords(),
+                config.getTransactionIntervalMs(),
+                markerField != null && !markerField.trim().isEmpty() ? JsonScanner.compilePath(markerField) : null,
+                config.getTransactionMarkerValue()
+        );
+        log.info("event=transaction_boundaries_enabled max_records={} interval_ms={} marker_field={}",
+                config.getTransactionMaxRecords(), config.getTransactionIntervalMs(), markerField);
+        // Records are acknowledged only once their transaction commits; a window smaller than a
+        // transaction would stop poll() before the boundary is reached
+        inFlightMaxRecords = 0;
+    }
+
+    /**
+     * Load messages spooled by the previous stop (and any pause spill left behind by a crash);
+     * poll() hands them out before live messages.
+     *
+     * When resuming from a server cursor the server resends everything after the committed
+     * cursor, spooled messages included, so leftover spools are discarded and nothing is spooled.
+     */
+    private void loadSpool(Map<String, String> props) {
+        if (!config.isSpoolEnabled() || !props.containsKey("name")) {
+            return;
+        }
+        boolean resumeFromCursor = cursorPath != null;
+        MessageSpool paused = new MessageSpool(spoolPath("-paused.spool"));
+        MessageSpool undelivered = new MessageSpool(spoolPath("-undelivered.spool"));
+        // Oldest first: a pause spill cut short mid-replay, the rest of that spill, then the stop
+        for (MessageSpool previous : Arrays.asList(paused.getReplaySpool(), paused, undelivered)) {
+            try {
+                List<String> spooled = previous.takeAll();
+                if (spooled.isEmpty()) {
+                    continue;
+                }
+                if (resumeFromCursor) {
+                    log.info("event=spooled_messages_discarded count={} file={} reason=cursor_resume",
+                            spooled.size(), previous.getFile());
+                } else {
+                    replayBacklog.addAll(spooled);
+                    log.info("event=spooled_messages_loaded count={} file={}", spooled.size(), previous.getFile());
+                }
+            } catch (IOException e) {
+                log.error("event=spool_read_failed file={} error={}", previous.getFile(), e.getMessage(), e);
+            }
+        }
+        if (!resumeFromCursor) {
+            spool = undelivered;
+        }
+    }
+
+    private Path spoolPath(String suffix) {
+        return Paths.get(config.getSpoolDir(), connectorName.replaceAll("[^A-Za-z0-9._-]", "_") + suffix);
+    }
+
     /**
      * FIX #2: Kafka Connect callback when a record is committed to Kafka.
      * This provides delivery guarantees and allows us to track which messages
@@ -225,6 +467,11 @@ public class WebSocketSourceTask extends SourceTask {
      */
     @Override
     public void commitRecord(SourceRecord record, org.apache.kafka.clients.producer.RecordMetadata metadata) {
+        // Acknowledged (or filtered out by a transform, metadata == null): the record leaves the window
+        long inFlight = recordsInFlight.updateAndGet(current -> Math.max(0, current - 1));
+        if (metrics != null) {
+            metrics.updateRecordsInFlight(inFlight);
+        }
         try {
             // Extract the sequence number from the source offset
             Map<String, ?> sourceOffset = record.sourceOffset();
@@ -240,6 +487,7 @@ public class WebSocketSourceTask extends SourceTask {
                     long gap = committedSeq - previousCommitted - 1;
                     log.warn("Sequence gap detected! Previous committed: {}, Current: {}, Gap size: {}",
                             previousCommitted, committedSeq, gap);
+                    FlightEvents.commitGap(previousCommitted, committedSeq, gap);
                 }
 
                 if (log.isDebugEnabled()) {
@@ -252,6 +500,45 @@ public class WebSocketSourceTask extends SourceTask {
         }
     }
 
+    private List<String> takeReplayBatch(int maxMessages) {
+        List<String> batch = new ArrayList<>();
+        replayBacklog.drainTo(batch, Math.min(maxMessages, config.getMessageQueueSize()));
+        return batch;
+    }
+
+    /**
+     * Get how many messages this poll may hand out. Each message becomes at least one record
+     * (more when frames are split), so the window is a soft limit.
+     */
+    private int pollCredits() {
+        if (inFlightMaxRecords <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        long available = inFlightMaxRecords - recordsInFlight.get();
+        if (available >= config.getMessageQueueSize()) {
+            return Integer.MAX_VALUE;
+        }
+        if (metrics != null) {
+            metrics.incrementInFlightLimitedPolls();
+        }
+        if (available <= 0) {
+            log.debug("event=poll_throttled records_in_flight={} max_in_flight={}",
+                    recordsInFlight.get(), inFlightMaxRecords);
+            return 0;
+        }
+        return (int) available;
+    }
+
+    private void addRecord(List<SourceRecord> records, String message) {
+        if (gapMonitor != null) {
+            checkSequence(message);
+        }
+        SourceRecord record = createSourceRecord(message);
+        if (record != null) {
+            records.add(record);
+        }
+    }
+
     /**
      * FIX #1: Create a SourceRecord with sequence-based offset management.
      *
@@ -268,6 +555,7 @@ public class WebSocketSourceTask extends SourceTask {
         try {
             // Increment sequence number atomically for this message
             long sequence = messageSequence.incrementAndGet();
+            trackCursor(message);
 
             // Source partition identifies the data stream source
             Map<String, Object> sourcePartition = new HashMap<>();
@@ -277,6 +565,10 @@ public class WebSocketSourceTask extends SourceTask {
             Map<String, Object> sourceOffset = new HashMap<>();
             sourceOffset.put("session_id", connectionSessionId);
             sourceOffset.put("sequence", sequence);
+            String cursor = lastCursor;
+            if (cursor != null) {
+                sourceOffset.put("cursor", cursor);
+            }
 
             return new SourceRecord(
                     sourcePartition,
@@ -295,6 +587,53 @@ public class WebSocketSourceTask extends SourceTask {
         }
     }
 
+    /**
+     * Check the payload's own update ID for gaps and optionally resubscribe so that
+     * downstream state is rebuilt instead of staying stale until the next disconnect.
+     */
+    private void checkSequence(String payload) {
+        long gap = gapMonitor.check(payload);
+        if (gap == 0) {
+            return;
+        }
+        if (gap < 0) {
+            log.debug("event=sequence_regression distance={}", -gap);
+            return;
+        }
+
+        log.warn("event=sequence_gap missing={} resubscribe_enabled={}", gap, config.isSequenceGapResubscribe());
+        if (!config.isSequenceGapResubscribe()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastGapResubscribeTime < config.getSequenceGapResubscribeCooldownMs()) {
+            log.debug("event=gap_resubscribe_skipped reason=cooldown");
+            return;
+        }
+        if (client.resubscribe("sequence_gap")) {
+            lastGapResubscribeTime = now;
+            gapMonitor.reset();
+            if (metrics != null) {
+                metrics.incrementGapResubscribes();
+            }
+        }
+    }
+
+    /**
+     * Remember the server cursor carried by a payload, if configured and present.
+     * Payloads without one (heartbeats, acks) keep the previous cursor.
+     */
+    private void trackCursor(String payload) {
+        if (cursorPath == null) {
+            return;
+        }
+        String cursor = JsonScanner.extractField(payload, cursorPath);
+        if (cursor != null) {
+            lastCursor = cursor;
+        }
+    }
+
     /**
      * Restore offset state from Kafka Connect framework.
      * This is called during task startup to resume from where we left off.
@@ -325,6 +664,13 @@ public class WebSocketSourceTask extends SourceTask {
                 } else {
                     log.info("No sequence found in stored offset, starting from 0");
                 }
+
+                // Restore the server cursor so the first subscription resumes from it
+                Object restoredCursor = offset.get("cursor");
+                if (cursorPath != null && restoredCursor != null) {
+                    lastCursor = restoredCursor.toString();
+                    log.info("event=cursor_restored cursor={}", lastCursor);
+                }
             } else {
                 log.info("No previous offset found, starting fresh from sequence 0");
             }
@@ -420,6 +766,13 @@ public class WebSocketSourceTask extends SourceTask {
         return value.indexOf('\r') >= 0 || value.indexOf('\n') >= 0;
     }
 
+    /**
+     * Get the primary client, e.g. to feed its queue directly in benchmarks.
+     */
+    WebSocketClient getClient() {
+        return client;
+    }
+
     /**
      * Log metrics about the task's performance with enhanced observability.
      * Includes queue depth, lag, utilization, and time since last message.
@@ -430,17 +783,17 @@ public class WebSocketSourceTask extends SourceTask {
         }
 
         boolean isConnected = client.isConnected();
-        long messagesReceived = client.getMessagesReceived();
-        long messagesDropped = client.getMessagesDropped();
+        long messagesReceived = counters.getMessagesReceived();
+        long messagesDropped = counters.getMessagesDropped();
         long reconnectAttempts = client.getReconnectAttempts();
-        long recordsProducedCount = recordsProduced.get();
+        long recordsProducedCount = counters.getRecordsProduced();
 
         // Enhanced metrics
         int queueSize = client.getQueueSize();
         int queueCapacity = client.getQueueCapacity();
         double queueUtilization = client.getQueueUtilization();
         long lagCount = messagesReceived - recordsProducedCount;
-        long millisSinceLastMessage = client.getMillisSinceLastMessage();
+        long millisSinceLastMessage = counters.getMillisSinceLastMessage();
 
         // Structured logging with key=value format
         String metricsLog = String.format(
@@ -452,6 +805,10 @@ public class WebSocketSourceTask extends SourceTask {
             millisSinceLastMessage, reconnectAttempts, connectionSessionId
         );
 
+        if (standbyClient != null) {
+            metricsLog += " standby_connected=" + standbyClient.isConnected();
+        }
+
         // Log at appropriate level based on connection status and issues
         if (!isConnected) {
             log.warn(metricsLog + " status=DISCONNECTED");
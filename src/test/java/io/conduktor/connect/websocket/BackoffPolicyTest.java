@@ -0,0 +1,149 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static io.conduktor.connect.websocket.BackoffPolicy.FailureClass.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for failure-class-aware reconnect backoff.
+ */
+class BackoffPolicyTest {
+
+    @Test
+    void testClassifyStatus() {
+        assertEquals(RATE_LIMITED, BackoffPolicy.classifyStatus(429));
+        assertEquals(UNAVAILABLE, BackoffPolicy.classifyStatus(503));
+        assertEquals(SERVER_ERROR, BackoffPolicy.classifyStatus(502));
+        assertEquals(CLIENT_ERROR, BackoffPolicy.classifyStatus(401));
+        assertEquals(CLIENT_ERROR, BackoffPolicy.classifyStatus(404));
+        assertEquals(NETWORK, BackoffPolicy.classifyStatus(101));
+        assertEquals(NETWORK, BackoffPolicy.classify(null));
+    }
+
+    @Test
+    void testParseRetryAfterSeconds() {
+        assertEquals(120_000, BackoffPolicy.parseRetryAfterMillis("120", 0));
+        assertEquals(0, BackoffPolicy.parseRetryAfterMillis(" 0 ", 0));
+        assertEquals(-1, BackoffPolicy.parseRetryAfterMillis(null, 0));
+        assertEquals(-1, BackoffPolicy.parseRetryAfterMillis("", 0));
+        assertEquals(-1, BackoffPolicy.parseRetryAfterMillis("-5", 0));
+        assertEquals(-1, BackoffPolicy.parseRetryAfterMillis("soon", 0));
+    }
+
+    @Test
+    void testParseRetryAfterHttpDate() {
+        ZonedDateTime now = ZonedDateTime.of(2024, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        String header = DateTimeFormatter.RFC_1123_DATE_TIME.format(now.plusSeconds(30));
+
+        assertEquals(30_000, BackoffPolicy.parseRetryAfterMillis(header, now.toInstant().toEpochMilli()));
+        assertEquals(0, BackoffPolicy.parseRetryAfterMillis(header, now.plusMinutes(5).toInstant().toEpochMilli()));
+    }
+
+    @Test
+    void testParseRetryAfterIsCapped() {
+        assertEquals(3_600_000, BackoffPolicy.parseRetryAfterMillis("86400", 0));
+    }
+
+    @Test
+    void testRetryAfterIsHonored() {
+        BackoffPolicy policy = new BackoffPolicy(3, 60_000);
+
+        assertEquals(30_000, policy.nextDelayMs(RATE_LIMITED, 30_000, 5_000));
+        assertEquals(8_000, policy.nextDelayMs(UNAVAILABLE, 2_000, 8_000), "Never shorter than the backoff");
+        assertEquals(5_000, policy.nextDelayMs(RATE_LIMITED, -1, 5_000));
+    }
+
+    @Test
+    void testRetryAfterIsHonoredForAnyStatus() {
+        BackoffPolicy policy = new BackoffPolicy(0, 60_000);
+
+        assertEquals(30_000, policy.nextDelayMs(CLIENT_ERROR, 30_000, 5_000), "e.g. 403 with Retry-After");
+        assertEquals(30_000, policy.nextDelayMs(SERVER_ERROR, 30_000, 5_000), "e.g. 502 with Retry-After");
+        assertEquals(30_000, policy.nextDelayMs(NETWORK, 30_000, 5_000));
+    }
+
+    @Test
+    void testRetryAfterLongerThanCooldownIsHonored() {
+        BackoffPolicy policy = new BackoffPolicy(1, 60_000);
+
+        assertEquals(120_000, policy.nextDelayMs(CLIENT_ERROR, 120_000, 1_000));
+        assertTrue(policy.isCircuitOpen());
+    }
+
+    @Test
+    void testGoingAwayRetriesImmediately() {
+        BackoffPolicy policy = new BackoffPolicy(3, 60_000);
+
+        assertEquals(0, policy.nextDelayMs(GOING_AWAY, -1, 5_000));
+    }
+
+    @Test
+    void testCircuitBreakerOpensOnRepeatedClientErrors() {
+        BackoffPolicy policy = new BackoffPolicy(3, 60_000);
+
+        assertEquals(1_000, policy.nextDelayMs(CLIENT_ERROR, -1, 1_000));
+        assertEquals(2_000, policy.nextDelayMs(CLIENT_ERROR, -1, 2_000));
+        assertFalse(policy.isCircuitOpen());
+
+        assertEquals(60_000, policy.nextDelayMs(CLIENT_ERROR, -1, 4_000));
+        assertTrue(policy.isCircuitOpen());
+
+        // Half-open probe fails again: straight back to the cool-down
+        assertEquals(60_000, policy.nextDelayMs(CLIENT_ERROR, -1, 8_000));
+    }
+
+    @Test
+    void testOnlyTheOpeningDecisionReportsATransition() {
+        BackoffPolicy policy = new BackoffPolicy(2, 60_000);
+
+        policy.nextDelayMs(CLIENT_ERROR, -1, 1_000);
+        assertFalse(policy.isCircuitJustOpened());
+        policy.nextDelayMs(CLIENT_ERROR, -1, 1_000);
+        assertTrue(policy.isCircuitJustOpened(), "Closed to open");
+        policy.nextDelayMs(CLIENT_ERROR, -1, 1_000);
+        assertTrue(policy.isCircuitOpen());
+        assertFalse(policy.isCircuitJustOpened(), "Held open, not opened again");
+
+        policy.onConnected();
+        policy.nextDelayMs(CLIENT_ERROR, -1, 1_000);
+        policy.nextDelayMs(CLIENT_ERROR, -1, 1_000);
+        assertTrue(policy.isCircuitJustOpened(), "Opens again after having closed");
+    }
+
+    @Test
+    void testCircuitBreakerResets() {
+        BackoffPolicy policy = new BackoffPolicy(2, 60_000);
+        policy.nextDelayMs(CLIENT_ERROR, -1, 1_000);
+        policy.nextDelayMs(CLIENT_ERROR, -1, 1_000);
+        assertTrue(policy.isCircuitOpen());
+
+        policy.onConnected();
+
+        assertFalse(policy.isCircuitOpen());
+        assertEquals(1_000, policy.nextDelayMs(CLIENT_ERROR, -1, 1_000));
+    }
+
+    @Test
+    void testOtherFailuresBreakTheClientErrorStreak() {
+        BackoffPolicy policy = new BackoffPolicy(2, 60_000);
+        policy.nextDelayMs(CLIENT_ERROR, -1, 1_000);
+        policy.nextDelayMs(NETWORK, -1, 1_000);
+
+        assertEquals(1_000, policy.nextDelayMs(CLIENT_ERROR, -1, 1_000));
+        assertFalse(policy.isCircuitOpen());
+    }
+
+    @Test
+    void testCircuitBreakerDisabled() {
+        BackoffPolicy policy = new BackoffPolicy(0, 60_000);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1_000, policy.nextDelayMs(CLIENT_ERROR, -1, 1_000));
+        }
+        assertFalse(policy.isCircuitOpen());
+    }
+}
@@ -0,0 +1,124 @@
+package io.conduktor.connect.websocket;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Results of a benchmark IT: one row of key=value fields per run, printed in the log format the
+ * connector uses and written as a JSON array so that runs can be compared. The first field of a
+ * row names the run.
+ */
+public class BenchmarkReport {
+    private static final Pattern OBJECT = Pattern.compile("\\{([^}]*)}");
+    private static final Pattern FIELD = Pattern.compile("\"([^\"]+)\":(\"([^\"]*)\"|[^,\\s]+)");
+
+    private final List<Map<String, String>> rows = new ArrayList<>();
+
+    /**
+     * Add a row; values are formatted with toString (doubles with two decimals).
+     */
+    public synchronized void add(Object... keysAndValues) {
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keysAndValues.length; i += 2) {
+            Object value = keysAndValues[i + 1];
+            row.put(String.valueOf(keysAndValues[i]), value instanceof Double
+                    ? String.format(Locale.ROOT, "%.2f", (Double) value) : String.valueOf(value));
+        }
+        rows.add(row);
+    }
+
+    public synchronized List<Map<String, String>> getRows() {
+        return new ArrayList<>(rows);
+    }
+
+    /**
+     * Print every row as one key=value line.
+     */
+    public synchronized void print() {
+        for (Map<String, String> row : rows) {
+            StringBuilder line = new StringBuilder();
+            row.forEach((key, value) -> line.append(line.length() > 0 ? " " : "").append(key).append('=').append(value));
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * Write the rows as a JSON array of flat objects.
+     */
+    public synchronized void write(Path file) throws IOException {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < rows.size(); i++) {
+            json.append("  {");
+            String separator = "";
+            for (Map.Entry<String, String> field : rows.get(i).entrySet()) {
+                boolean numeric = field.getValue().matches("-?[0-9]+(\\.[0-9]+)?");
+                json.append(separator).append('"').append(field.getKey()).append("\":")
+                        .append(numeric ? field.getValue() : "\"" + field.getValue() + "\"");
+                separator = ", ";
+            }
+            json.append(i + 1 < rows.size() ? "},\n" : "}\n");
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(file, json.append("]\n").toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read a report written by {@link #write}, keyed by the first field of each row.
+     */
+    public static Map<String, Map<String, String>> read(Path file) throws IOException {
+        Map<String, Map<String, String>> runs = new LinkedHashMap<>();
+        Matcher object = OBJECT.matcher(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        while (object.find()) {
+            Map<String, String> row = new LinkedHashMap<>();
+            Matcher field = FIELD.matcher(object.group(1));
+            while (field.find()) {
+                row.put(field.group(1), field.group(3) != null ? field.group(3) : field.group(2));
+            }
+            if (!row.isEmpty()) {
+                runs.put(row.values().iterator().next(), row);
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Print, per run, how each numeric field changed against a baseline report.
+     */
+    public synchronized void printComparison(Map<String, Map<String, String>> baseline) {
+        for (Map<String, String> row : rows) {
+            String run = row.values().iterator().next();
+            Map<String, String> before = baseline.get(run);
+            if (before == null) {
+                System.out.println("comparison run=" + run + " baseline=missing");
+                continue;
+            }
+            StringBuilder line = new StringBuilder("comparison run=").append(run);
+            for (Map.Entry<String, String> field : row.entrySet()) {
+                String old = before.get(field.getKey());
+                if (old == null || !old.matches("-?[0-9]+(\\.[0-9]+)?")
+                        || !field.getValue().matches("-?[0-9]+(\\.[0-9]+)?")) {
+                    continue;
+                }
+                double was = Double.parseDouble(old);
+                double now = Double.parseDouble(field.getValue());
+                line.append(' ').append(field.getKey()).append('=').append(old).append("->").append(field.getValue());
+                if (was != 0) {
+                    line.append(String.format(Locale.ROOT, "(%+.1f%%)", (now - was) * 100 / was));
+                }
+            }
+            System.out.println(line);
+        }
+    }
+}
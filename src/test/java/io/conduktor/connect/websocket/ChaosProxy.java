@@ -0,0 +1,244 @@
+package io.conduktor.connect.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TCP proxy in front of a {@link MockWebSocketServer} that injects network faults the server
+ * itself cannot produce: abrupt disconnects (TCP reset, no close frame), half-open connections
+ * (both sockets stay open but no byte gets through), slow handshakes, and handshakes answered by
+ * the proxy with an HTTP error such as 403 or 429.
+ *
+ * Faults apply to the connections open at the time of the call (disconnect, freeze) or to the next
+ * handshakes (delay, reject); everything else is forwarded untouched.
+ */
+public class ChaosProxy implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ChaosProxy.class);
+
+    private final int upstreamPort;
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "chaos-proxy");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Link> links = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionsAccepted = new AtomicInteger();
+    private final AtomicInteger connectionsForwarded = new AtomicInteger();
+
+    private int rejectsRemaining = 0;
+    private String rejectStatusLine;
+    private String rejectRetryAfter;
+    private int delaysRemaining = 0;
+    private long delayMs;
+
+    // One proxied connection: the client side and the upstream side
+    private final class Link {
+        final Socket client;
+        final Socket upstream;
+        volatile boolean frozen = false;
+
+        Link(Socket client, Socket upstream) {
+            this.client = client;
+            this.upstream = upstream;
+        }
+
+        void pump(Socket from, Socket to) {
+            byte[] buffer = new byte[16384];
+            try (InputStream in = from.getInputStream()) {
+                OutputStream out = to.getOutputStream();
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    if (!frozen) {
+                        out.write(buffer, 0, read);
+                        out.flush();
+                    }
+                }
+            } catch (IOException e) {
+                // Either side went away
+            } finally {
+                if (!frozen) {
+                    close(false);
+                }
+            }
+        }
+
+        void close(boolean reset) {
+            links.remove(this);
+            for (Socket socket : new Socket[]{client, upstream}) {
+                try {
+                    if (reset) {
+                        socket.setSoLinger(true, 0); // RST instead of FIN
+                    }
+                    socket.close();
+                } catch (IOException e) {
+                    // Already closed
+                }
+            }
+        }
+    }
+
+    public ChaosProxy(int upstreamPort) throws IOException {
+        this.upstreamPort = upstreamPort;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(this::acceptLoop);
+    }
+
+    /**
+     * Get the WebSocket URL for clients to connect through the proxy
+     */
+    public String getUrl() {
+        return "ws://127.0.0.1:" + serverSocket.getLocalPort() + "/";
+    }
+
+    /**
+     * Reset every open connection, without a WebSocket close frame.
+     */
+    public void disconnectAll() {
+        for (Link link : links) {
+            link.close(true);
+        }
+    }
+
+    /**
+     * Turn every open connection half-open: the sockets stay up, nothing gets through either way.
+     */
+    public void freezeAll() {
+        for (Link link : links) {
+            link.frozen = true;
+        }
+    }
+
+    /**
+     * Answer the next handshakes with the given status instead of forwarding them.
+     *
+     * @param retryAfter value of the Retry-After header, or null for none
+     */
+    public synchronized void rejectNext(int count, int status, String retryAfter) {
+        rejectsRemaining = count;
+        rejectStatusLine = "HTTP/1.1 " + status + " Chaos";
+        rejectRetryAfter = retryAfter;
+    }
+
+    /**
+     * Hold the next handshakes for the given time before forwarding them.
+     */
+    public synchronized void delayNext(int count, long delayMs) {
+        delaysRemaining = count;
+        this.delayMs = delayMs;
+    }
+
+    /**
+     * Number of client connections accepted (including rejected ones).
+     */
+    public int getConnectionsAccepted() {
+        return connectionsAccepted.get();
+    }
+
+    /**
+     * Number of connections forwarded to the server.
+     */
+    public int getConnectionsForwarded() {
+        return connectionsForwarded.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Link link : links) {
+            link.close(false);
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                client.setTcpNoDelay(true);
+                connectionsAccepted.incrementAndGet();
+                executor.execute(() -> handle(client));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket client) {
+        String rejectWith = null;
+        String retryAfter = null;
+        long delay = 0;
+        synchronized (this) {
+            if (rejectsRemaining > 0) {
+                rejectsRemaining--;
+                rejectWith = rejectStatusLine;
+                retryAfter = rejectRetryAfter;
+            } else if (delaysRemaining > 0) {
+                delaysRemaining--;
+                delay = delayMs;
+            }
+        }
+        try {
+            if (rejectWith != null) {
+                reject(client, rejectWith, retryAfter);
+                return;
+            }
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            Socket upstream = new Socket(InetAddress.getLoopbackAddress(), upstreamPort);
+            upstream.setTcpNoDelay(true);
+            Link link = new Link(client, upstream);
+            links.add(link);
+            connectionsForwarded.incrementAndGet();
+            executor.execute(() -> link.pump(upstream, client));
+            link.pump(client, upstream);
+        } catch (IOException e) {
+            log.debug("Chaos proxy connection failed: {}", e.getMessage());
+            closeQuietly(client);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeQuietly(client);
+        }
+    }
+
+    private static void reject(Socket client, String statusLine, String retryAfter) throws IOException {
+        // Read the upgrade request up to the blank line, then answer and hang up
+        InputStream in = client.getInputStream();
+        int matched = 0;
+        int b;
+        while (matched < 4 && (b = in.read()) != -1) {
+            matched = (b == (matched % 2 == 0 ? '\r' : '\n')) ? matched + 1 : (b == '\r' ? 1 : 0);
+        }
+        StringBuilder response = new StringBuilder(statusLine).append("\r\n");
+        if (retryAfter != null) {
+            response.append("Retry-After: ").append(retryAfter).append("\r\n");
+        }
+        response.append("Content-Length: 0\r\nConnection: close\r\n\r\n");
+        OutputStream out = client.getOutputStream();
+        out.write(response.toString().getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        client.close();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for worker-wide connect admission control.
+ */
+class ConnectAdmissionTest {
+
+    private static final String HOST_A = "a.example.com:443";
+    private static final String HOST_B = "b.example.com:443";
+
+    private long now = 0;
+
+    @Test
+    void testBurstThenRateLimited() {
+        ConnectAdmission admission = new ConnectAdmission(2.0, 3, 0, () -> now);
+
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(admission.tryAcquire(HOST_A, "client-" + i));
+        }
+        assertNull(admission.tryAcquire(HOST_A, "client-3"));
+        assertEquals(1, admission.getWaiting());
+
+        now += TimeUnit.MILLISECONDS.toNanos(500); // One token at 2/s
+        assertNotNull(admission.tryAcquire(HOST_A, "client-3"));
+        assertEquals(0, admission.getWaiting());
+        assertNull(admission.tryAcquire(HOST_A, "client-4"));
+    }
+
+    @Test
+    void testPerHostConcurrencyLimit() {
+        ConnectAdmission admission = new ConnectAdmission(0, 1, 2, () -> now);
+
+        ConnectAdmission.Permit first = admission.tryAcquire(HOST_A, "client-1");
+        assertNotNull(first);
+        assertNotNull(admission.tryAcquire(HOST_A, "client-2"));
+        assertNull(admission.tryAcquire(HOST_A, "client-3"), "Host limit reached");
+        assertNotNull(admission.tryAcquire(HOST_B, "client-4"), "Other hosts are not affected");
+        assertEquals(3, admission.getInFlight());
+
+        first.release();
+        first.release(); // Idempotent
+
+        assertEquals(2, admission.getInFlight());
+        assertNotNull(admission.tryAcquire(HOST_A, "client-3"));
+    }
+
+    @Test
+    void testCancelStopsWaiting() {
+        ConnectAdmission admission = new ConnectAdmission(1.0, 1, 0, () -> now);
+        admission.tryAcquire(HOST_A, "client-1");
+        assertNull(admission.tryAcquire(HOST_A, "client-2"));
+
+        admission.cancel("client-2");
+
+        assertEquals(0, admission.getWaiting());
+    }
+
+    @Test
+    void testRetryDelayTracksTokenDeficit() {
+        ConnectAdmission admission = new ConnectAdmission(10.0, 1, 0, () -> now);
+        admission.tryAcquire(HOST_A, "client-1");
+
+        long delay = admission.retryDelayMillis();
+
+        assertTrue(delay >= 100 && delay <= 200, "Expected one token interval plus jitter, got " + delay);
+    }
+
+    @Test
+    void testSharedInstanceKeepsFirstSettings() {
+        ConnectAdmission first = ConnectAdmission.acquire(0, 1, 1);
+        try {
+            // A second connector asking for looser limits does not loosen them for the first
+            ConnectAdmission second = ConnectAdmission.acquire(0, 1, 5);
+            assertSame(first, second);
+            assertNotNull(second.tryAcquire(HOST_A, "client-1"));
+            assertNull(second.tryAcquire(HOST_A, "client-2"), "First connector's per-host limit still applies");
+
+            ConnectAdmission.release();
+            assertSame(first, ConnectAdmission.current(), "Still used by the first connector");
+        } finally {
+            ConnectAdmission.release();
+        }
+        assertNull(ConnectAdmission.current(), "Discarded with its last user");
+
+        ConnectAdmission next = ConnectAdmission.acquire(0, 1, 5);
+        try {
+            assertNotSame(first, next, "New settings apply once the old users are gone");
+        } finally {
+            ConnectAdmission.release();
+        }
+    }
+
+    @Test
+    void testHostKey() {
+        assertEquals("stream.example.com:443", ConnectAdmission.hostKey("wss://stream.example.com/ws?x=1"));
+        assertEquals("stream.example.com:80", ConnectAdmission.hostKey("ws://stream.example.com/ws"));
+        assertEquals("localhost:8080", ConnectAdmission.hostKey("ws://localhost:8080"));
+    }
+}
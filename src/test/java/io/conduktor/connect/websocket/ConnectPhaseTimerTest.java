@@ -0,0 +1,99 @@
+package io.conduktor.connect.websocket;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the connect phase timer, against a local plain-HTTP server.
+ */
+class ConnectPhaseTimerTest {
+
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "ok".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testRecordsPhasesOfNewConnection() throws Exception {
+        ConnectPhaseTimer timer = new ConnectPhaseTimer(null);
+        OkHttpClient client = newClient(timer);
+
+        try (Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+            assertEquals(200, response.code());
+        }
+
+        ConnectPhaseTimer.Phases phases = timer.getLastAttempt();
+        assertNotNull(phases);
+        assertTrue(phases.success);
+        assertFalse(phases.reused);
+        assertTrue(phases.tcpNanos > 0);
+        assertEquals(0, phases.tlsNanos, "No TLS phase on plain HTTP");
+        assertTrue(phases.upgradeNanos > 0);
+        assertTrue(phases.totalNanos >= phases.dnsNanos + phases.tcpNanos + phases.upgradeNanos);
+    }
+
+    @Test
+    void testReusedConnectionSkipsConnectPhases() throws Exception {
+        ConnectPhaseTimer timer = new ConnectPhaseTimer(null);
+        OkHttpClient client = newClient(timer);
+
+        try (Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+            response.body().string();
+        }
+        try (Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+            response.body().string();
+        }
+
+        ConnectPhaseTimer.Phases phases = timer.getLastAttempt();
+        assertTrue(phases.reused);
+        assertEquals(0, phases.dnsNanos);
+        assertEquals(0, phases.tcpNanos);
+        assertTrue(phases.upgradeNanos > 0);
+    }
+
+    @Test
+    void testRecordsFailedAttempt() {
+        server.stop(0);
+        ConnectPhaseTimer timer = new ConnectPhaseTimer(null);
+        OkHttpClient client = newClient(timer);
+
+        assertThrows(java.io.IOException.class,
+                () -> client.newCall(new Request.Builder().url(url).build()).execute());
+
+        ConnectPhaseTimer.Phases phases = timer.getLastAttempt();
+        assertNotNull(phases);
+        assertFalse(phases.success);
+        assertTrue(phases.tcpNanos > 0, "Refused connects still count towards the TCP phase");
+    }
+
+    private static OkHttpClient newClient(ConnectPhaseTimer timer) {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder().retryOnConnectionFailure(false);
+        timer.install(builder);
+        return builder.build();
+    }
+}
@@ -0,0 +1,60 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EWMA rates over a sampled counter.
+ */
+class EwmaRateTest {
+
+    @Test
+    void testFirstTickSeedsAllWindows() {
+        AtomicLong counter = new AtomicLong(500);
+        EwmaRate rate = new EwmaRate(counter::get);
+
+        counter.addAndGet(100);
+        rate.tick();
+
+        assertEquals(100.0, rate.getCurrentRate(), 0.001);
+        assertEquals(100.0, rate.getOneMinuteRate(), 0.001);
+        assertEquals(100.0, rate.getFifteenMinuteRate(), 0.001);
+    }
+
+    @Test
+    void testConvergesToSteadyRate() {
+        AtomicLong counter = new AtomicLong();
+        EwmaRate rate = new EwmaRate(counter::get);
+        rate.tick(); // Seed at 0/s
+
+        for (int second = 0; second < 5 * 60; second++) {
+            counter.addAndGet(1000);
+            rate.tick();
+        }
+
+        assertEquals(1000.0, rate.getCurrentRate(), 0.001);
+        assertEquals(1000.0, rate.getOneMinuteRate(), 10.0);
+        assertTrue(rate.getFiveMinuteRate() > 600 && rate.getFiveMinuteRate() < 700,
+                "Five minutes in, the 5m average is about 1 - 1/e of the rate: " + rate.getFiveMinuteRate());
+        assertTrue(rate.getFifteenMinuteRate() < rate.getFiveMinuteRate());
+    }
+
+    @Test
+    void testDecaysWhenIdle() {
+        AtomicLong counter = new AtomicLong();
+        EwmaRate rate = new EwmaRate(counter::get);
+        counter.addAndGet(1000);
+        rate.tick();
+
+        for (int second = 0; second < 60; second++) {
+            rate.tick();
+        }
+
+        assertEquals(0.0, rate.getCurrentRate(), 0.001);
+        assertEquals(1000.0 / Math.E, rate.getOneMinuteRate(), 5.0);
+        assertTrue(rate.getFifteenMinuteRate() > rate.getOneMinuteRate());
+    }
+}
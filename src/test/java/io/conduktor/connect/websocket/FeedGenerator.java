@@ -0,0 +1,321 @@
+package io.conduktor.connect.websocket;
+
+import okhttp3.WebSocket;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Synthetic high-rate feed for {@link MockWebSocketServer}: streams JSON messages at a configured
+ * rate (hundreds of thousands per second on a laptop), with a payload size distribution, optional
+ * periodic bursts, and a sequence number plus send timestamp in every message, so a test can check
+ * for loss and reordering and measure end-to-end latency.
+ *
+ * Messages look like {"seq":N,"ts":NANOS,"data":"xxx..."}, where ts is System.nanoTime() at send
+ * (comparable within the JVM) and data pads the message to the drawn size. Sending is paced in
+ * one-millisecond slices; when the socket's outgoing buffer exceeds {@code maxBufferedBytes}
+ * (OkHttp closes a connection whose buffer passes 16 MiB) the generator waits for it to drain and
+ * counts the stall, so a slow client shows up as a lower achieved rate rather than a lost socket.
+ *
+ * Usage:
+ * <pre>
+ * FeedGenerator feed = FeedGenerator.builder()
+ *         .rate(500_000)
+ *         .payloadSizes(FeedGenerator.SizeDistribution.uniform(64, 512))
+ *         .burst(1000, 100, 4)
+ *         .build();
+ * server.startFeed(feed);
+ * ...
+ * server.stopFeed();
+ * </pre>
+ */
+public class FeedGenerator {
+    private static final long SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Payload size (in bytes) of the next message.
+     */
+    @FunctionalInterface
+    public interface SizeDistribution {
+        int next(SplittableRandom random);
+
+        static SizeDistribution fixed(int bytes) {
+            return random -> bytes;
+        }
+
+        static SizeDistribution uniform(int minBytes, int maxBytes) {
+            return random -> random.nextInt(minBytes, maxBytes + 1);
+        }
+
+        /**
+         * Mostly small messages with an occasional large one, like ticks with periodic snapshots.
+         */
+        static SizeDistribution bimodal(int smallBytes, int largeBytes, double largeFraction) {
+            return random -> random.nextDouble() < largeFraction ? largeBytes : smallBytes;
+        }
+
+        /**
+         * Log-normal sizes around a median, capped; the long tail typical of real feeds.
+         */
+        static SizeDistribution logNormal(int medianBytes, double sigma, int maxBytes) {
+            return random -> {
+                // Box-Muller: one standard normal sample from two uniforms
+                double normal = Math.sqrt(-2 * Math.log(1 - random.nextDouble()))
+                        * Math.cos(2 * Math.PI * random.nextDouble());
+                return (int) Math.min(maxBytes, Math.max(1, medianBytes * Math.exp(sigma * normal)));
+            };
+        }
+    }
+
+    private final long ratePerSecond;
+    private final SizeDistribution sizes;
+    private final long burstPeriodNanos;
+    private final long burstLengthNanos;
+    private final double burstMultiplier;
+    private final long maxMessages;
+    private final long maxBufferedBytes;
+    private final long seed;
+
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong backpressureStalls = new AtomicLong();
+    private final SplittableRandom random;
+    private final StringBuilder message = new StringBuilder(1024);
+    private volatile boolean running = false;
+    private volatile long startNanos;
+    private volatile long stopNanos;
+    private Thread thread;
+
+    private FeedGenerator(Builder builder) {
+        this.ratePerSecond = builder.ratePerSecond;
+        this.sizes = builder.sizes;
+        this.burstPeriodNanos = TimeUnit.MILLISECONDS.toNanos(builder.burstPeriodMs);
+        this.burstLengthNanos = TimeUnit.MILLISECONDS.toNanos(builder.burstLengthMs);
+        this.burstMultiplier = builder.burstMultiplier;
+        this.maxMessages = builder.maxMessages;
+        this.maxBufferedBytes = builder.maxBufferedBytes;
+        this.seed = builder.seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Start streaming to whatever socket the supplier returns; waits (without sending) while it
+     * returns null, and follows the client across reconnects.
+     */
+    synchronized void start(Supplier<WebSocket> socket) {
+        if (running) {
+            throw new IllegalStateException("Feed already running");
+        }
+        running = true;
+        startNanos = System.nanoTime();
+        stopNanos = 0;
+        thread = new Thread(() -> run(socket), "mock-feed-generator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop streaming and wait for the sending thread to exit.
+     */
+    synchronized void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            thread = null;
+        }
+    }
+
+    /**
+     * Block until the feed has sent maxMessages (or was stopped), or the timeout elapses.
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        Thread sender;
+        synchronized (this) {
+            sender = thread;
+        }
+        if (sender != null) {
+            sender.join(unit.toMillis(timeout));
+        }
+        return !running;
+    }
+
+    private void run(Supplier<WebSocket> socket) {
+        double credit = 0;
+        long sliceStart = System.nanoTime();
+        while (running && (maxMessages <= 0 || messagesSent.get() < maxMessages)) {
+            long now = System.nanoTime();
+            credit += rateAt(now - startNanos) * (now - sliceStart) / 1e9;
+            sliceStart = now;
+
+            WebSocket webSocket = socket.get();
+            while (credit >= 1 && running && webSocket != null
+                    && (maxMessages <= 0 || messagesSent.get() < maxMessages)) {
+                if (webSocket.queueSize() > maxBufferedBytes) {
+                    backpressureStalls.incrementAndGet();
+                    break; // Let the client catch up; the credit is kept, not lost
+                }
+                String next = nextMessage(messagesSent.get());
+                if (!webSocket.send(next)) {
+                    break; // Socket closing; the next slice picks up the new one
+                }
+                messagesSent.incrementAndGet();
+                bytesSent.addAndGet(next.length());
+                credit--;
+            }
+            if (webSocket == null) {
+                credit = 0; // No client connected: nothing to catch up on later
+            }
+            LockSupport.parkNanos(Math.max(0, SLICE_NANOS - (System.nanoTime() - now)));
+        }
+        stopNanos = System.nanoTime();
+        running = false;
+    }
+
+    /**
+     * Target rate (messages per second) at the given time since start, including bursts.
+     */
+    double rateAt(long elapsedNanos) {
+        if (burstPeriodNanos > 0 && elapsedNanos % burstPeriodNanos < burstLengthNanos) {
+            return ratePerSecond * burstMultiplier;
+        }
+        return ratePerSecond;
+    }
+
+    /**
+     * Build the message with the given sequence number; only called from one thread at a time.
+     */
+    String nextMessage(long seq) {
+        int size = sizes.next(random);
+        message.setLength(0);
+        message.append("{\"seq\":").append(seq)
+                .append(",\"ts\":").append(System.nanoTime())
+                .append(",\"data\":\"");
+        while (message.length() < size - 2) {
+            message.append('x');
+        }
+        return message.append("\"}").toString();
+    }
+
+    /**
+     * Sequence number embedded in a message produced by this generator, or -1.
+     */
+    public static long sequenceOf(String message) {
+        String value = JsonScanner.extractField(message, new String[]{"seq"});
+        return value != null ? Long.parseLong(value) : -1;
+    }
+
+    /**
+     * Send timestamp (System.nanoTime()) embedded in a message produced by this generator, or -1.
+     */
+    public static long sentNanosOf(String message) {
+        String value = JsonScanner.extractField(message, new String[]{"ts"});
+        return value != null ? Long.parseLong(value) : -1;
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    /**
+     * Number of slices in which sending paused because the client was not keeping up.
+     */
+    public long getBackpressureStalls() {
+        return backpressureStalls.get();
+    }
+
+    /**
+     * Messages per second actually sent since start (until stop, if stopped).
+     */
+    public double getAchievedRate() {
+        long end = stopNanos != 0 ? stopNanos : System.nanoTime();
+        long elapsed = end - startNanos;
+        return elapsed > 0 ? messagesSent.get() * 1e9 / elapsed : 0;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for fluent configuration
+     */
+    public static class Builder {
+        private long ratePerSecond = 10_000;
+        private SizeDistribution sizes = SizeDistribution.fixed(128);
+        private long burstPeriodMs = 0;
+        private long burstLengthMs = 0;
+        private double burstMultiplier = 1;
+        private long maxMessages = 0;
+        private long maxBufferedBytes = 4 * 1024 * 1024;
+        private long seed = 42;
+
+        /**
+         * Steady-state rate in messages per second.
+         */
+        public Builder rate(long messagesPerSecond) {
+            this.ratePerSecond = messagesPerSecond;
+            return this;
+        }
+
+        public Builder payloadSizes(SizeDistribution sizes) {
+            this.sizes = sizes;
+            return this;
+        }
+
+        /**
+         * Every periodMs, send at multiplier times the rate for the first lengthMs.
+         */
+        public Builder burst(long periodMs, long lengthMs, double multiplier) {
+            this.burstPeriodMs = periodMs;
+            this.burstLengthMs = lengthMs;
+            this.burstMultiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Stop after this many messages (0 for no limit).
+         */
+        public Builder maxMessages(long maxMessages) {
+            this.maxMessages = maxMessages;
+            return this;
+        }
+
+        /**
+         * Outgoing buffer size above which sending waits for the client.
+         */
+        public Builder maxBufferedBytes(long bytes) {
+            this.maxBufferedBytes = bytes;
+            return this;
+        }
+
+        /**
+         * Seed for the size distribution, for reproducible runs.
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public FeedGenerator build() {
+            if (ratePerSecond <= 0) {
+                throw new IllegalArgumentException("rate must be positive");
+            }
+            return new FeedGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the synthetic feed generator of the mock server.
+ */
+class FeedGeneratorTest {
+
+    private MockWebSocketServer server;
+    private WebSocketClient client;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) {
+            client.stop();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void testMessagesCarrySequenceTimestampAndSize() {
+        FeedGenerator feed = FeedGenerator.builder()
+                .payloadSizes(FeedGenerator.SizeDistribution.uniform(100, 300))
+                .build();
+
+        long before = System.nanoTime();
+        for (long seq = 0; seq < 1000; seq++) {
+            String message = feed.nextMessage(seq);
+            assertTrue(message.length() >= 100 && message.length() <= 300, "Size within distribution: " + message.length());
+            assertEquals(seq, FeedGenerator.sequenceOf(message));
+            assertTrue(FeedGenerator.sentNanosOf(message) >= before, "Send timestamp embedded");
+        }
+    }
+
+    @Test
+    void testSizeDistributions() {
+        SplittableRandom random = new SplittableRandom(1);
+        FeedGenerator.SizeDistribution bimodal = FeedGenerator.SizeDistribution.bimodal(100, 10000, 0.1);
+        FeedGenerator.SizeDistribution logNormal = FeedGenerator.SizeDistribution.logNormal(500, 1.0, 20000);
+
+        int large = 0;
+        List<Integer> sizes = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            if (bimodal.next(random) == 10000) {
+                large++;
+            }
+            int size = logNormal.next(random);
+            assertTrue(size >= 1 && size <= 20000, "Log-normal size capped: " + size);
+            sizes.add(size);
+        }
+        assertTrue(large > 800 && large < 1200, "About 10% large messages, got " + large);
+        sizes.sort(null);
+        int median = sizes.get(sizes.size() / 2);
+        assertTrue(median > 400 && median < 600, "Log-normal median near 500, got " + median);
+    }
+
+    @Test
+    void testBurstRate() {
+        FeedGenerator feed = FeedGenerator.builder().rate(1000).burst(1000, 100, 5).build();
+
+        assertEquals(5000, feed.rateAt(TimeUnit.MILLISECONDS.toNanos(50)), 0.0);
+        assertEquals(1000, feed.rateAt(TimeUnit.MILLISECONDS.toNanos(500)), 0.0);
+        assertEquals(5000, feed.rateAt(TimeUnit.MILLISECONDS.toNanos(1050)), 0.0);
+    }
+
+    @Test
+    void testStreamsToClientInOrderWithoutLoss() throws Exception {
+        int count = 20000;
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = new WebSocketClient(server.getUrl(), null, false, 1000, 0, 1000, null, count, 5000);
+        client.start();
+        TestWaiter.waitUntil(server::hasActiveConnection, "Server should accept the connection");
+
+        FeedGenerator feed = FeedGenerator.builder()
+                .rate(50_000)
+                .payloadSizes(FeedGenerator.SizeDistribution.uniform(64, 256))
+                .maxMessages(count)
+                .build();
+        server.startFeed(feed);
+        assertTrue(feed.awaitCompletion(30, TimeUnit.SECONDS), "Feed should finish");
+        TestWaiter.waitUntil(() -> client.getQueueSize() == count, "Client should receive the whole feed");
+
+        List<String> messages = client.getMessages();
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, FeedGenerator.sequenceOf(messages.get(i)), "Messages arrive in sequence");
+        }
+        assertEquals(count, feed.getMessagesSent());
+        assertTrue(feed.getAchievedRate() > 10_000, "Rate should be paced, not trickled: " + feed.getAchievedRate());
+        assertEquals(0, client.getMessagesDropped());
+    }
+}
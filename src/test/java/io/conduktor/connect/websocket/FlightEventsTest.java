@@ -0,0 +1,112 @@
+package io.conduktor.connect.websocket;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the connector's flight recorder events.
+ */
+class FlightEventsTest {
+
+    private static final String PREFIX = "io.conduktor.connect.websocket.";
+
+    @TempDir
+    Path tempDir;
+
+    private Recording recording;
+    private MockWebSocketServer server;
+    private WebSocketClient client;
+
+    @BeforeEach
+    void setUp() {
+        recording = new Recording();
+        for (String event : new String[]{"ConnectAttempt", "ConnectionOpened", "ConnectionClosed",
+                "ConnectionFailed", "QueueOverflow", "PollBatch", "CommitGap"}) {
+            recording.enable(PREFIX + event);
+        }
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) {
+            client.stop();
+        }
+        if (server != null) {
+            server.close();
+        }
+        recording.close();
+    }
+
+    @Test
+    void testEventsCarryTheirFields() throws Exception {
+        FlightEvents.commitGap(41, 45, 3);
+        FlightEvents.connectionFailed("wss://feed.example.com/stream?token=secret",
+                BackoffPolicy.FailureClass.RATE_LIMITED, 429, "Too Many Requests");
+
+        List<RecordedEvent> events = stopAndRead();
+
+        RecordedEvent gap = single(events, "CommitGap");
+        assertEquals(41, gap.getLong("previousSequence"));
+        assertEquals(3, gap.getLong("missing"));
+        RecordedEvent failed = single(events, "ConnectionFailed");
+        assertEquals("wss://feed.example.com/stream", failed.getString("url"), "Query string is not recorded");
+        assertEquals("RATE_LIMITED", failed.getString("failureClass"));
+        assertEquals(429, failed.getInt("responseCode"));
+    }
+
+    @Test
+    void testConnectionLifecycleAndOverflowBurst() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = new WebSocketClient(server.getUrl(), null, false, 100, -1, 1000, null, 2, 5000);
+        client.start();
+        TestWaiter.waitUntil(client::isConnected, "Client should connect");
+
+        server.sendMessages("a", "b", "c", "d", "e");
+        TestWaiter.waitUntil(() -> client.getMessagesDropped() == 3, "Queue of 2 overflows");
+        client.getMessages();
+        server.sendMessage("f"); // Accepted again: ends the burst
+        TestWaiter.waitUntil(() -> client.getQueueSize() == 1, "Message after the burst is queued");
+        client.stop();
+        client = null;
+
+        List<RecordedEvent> events = stopAndRead();
+
+        RecordedEvent attempt = single(events, "ConnectAttempt");
+        assertTrue(attempt.getBoolean("successful"));
+        assertTrue(attempt.getDuration().toNanos() > 0);
+        assertEquals(101, single(events, "ConnectionOpened").getInt("responseCode"));
+        RecordedEvent burst = single(events, "QueueOverflow");
+        assertEquals(3, burst.getLong("messagesDropped"));
+        assertEquals(3, burst.getLong("bytesDropped"));
+        assertEquals(2, burst.getInt("queueCapacity"));
+    }
+
+    private List<RecordedEvent> stopAndRead() throws Exception {
+        recording.stop();
+        Path file = tempDir.resolve("events.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith(PREFIX))
+                .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(PREFIX + name))
+                .collect(Collectors.toList());
+        assertEquals(1, matching.size(), "Expected one " + name + " event");
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,284 @@
+package io.conduktor.connect.websocket;
+
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.SourceTaskContext;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToLongFunction;
+
+/**
+ * Runs one WebSocketSourceTask the way a Connect worker does, entirely in this JVM and without a
+ * broker: a poll thread calls poll() in a loop and hands the records to an in-memory topic (the
+ * Kafka stand-in); a separate "producer I/O" thread acknowledges them through commitRecord() after
+ * an optional delay, like producer callbacks; source offsets of acknowledged records go to an
+ * in-memory offset store that the task reads back on start, and commit() is called on the offset
+ * flush interval.
+ *
+ * The runtime records end-to-end latency per record: from a send timestamp embedded in the payload
+ * (by default the one written by {@link FeedGenerator}) to the moment poll() returned the record.
+ * Serialization, batching and network time of a real producer are not modelled.
+ */
+public class InProcessConnectRuntime implements AutoCloseable {
+    private static final long IDLE_POLL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Map<String, String> props;
+    private final long ackDelayNanos;
+    private final long offsetFlushIntervalMs;
+    private final ToLongFunction<String> sentNanos;
+    private final Map<Map<String, ?>, Map<String, ?>> offsets = new ConcurrentHashMap<>();
+
+    private final LinkedBlockingQueue<Polled> pendingAcks = new LinkedBlockingQueue<>();
+    private final AtomicLong topicOffset = new AtomicLong();
+    private final AtomicLong recordsAcked = new AtomicLong();
+    private final AtomicLong offsetCommits = new AtomicLong();
+    private final AtomicLong outOfOrder = new AtomicLong();
+    private long[] latencies = new long[1 << 16];
+    private int latencyCount = 0;
+    private long lastSequence = -1;
+
+    private WebSocketSourceTask task;
+    private Thread pollThread;
+    private Thread ackThread;
+    private volatile boolean running = false;
+    private volatile Throwable failure;
+
+    private static final class Polled {
+        final SourceRecord record;
+        final long polledNanos;
+
+        Polled(SourceRecord record, long polledNanos) {
+            this.record = record;
+            this.polledNanos = polledNanos;
+        }
+    }
+
+    /**
+     * @param props                 task configuration
+     * @param ackDelayMs            delay between a record leaving poll() and its acknowledgement
+     * @param offsetFlushIntervalMs how often commit() is called (offset.flush.interval.ms)
+     */
+    public InProcessConnectRuntime(Map<String, String> props, long ackDelayMs, long offsetFlushIntervalMs) {
+        this(props, ackDelayMs, offsetFlushIntervalMs, FeedGenerator::sentNanosOf);
+    }
+
+    /**
+     * @param sentNanos extracts the System.nanoTime() send timestamp from a payload (-1 if none)
+     */
+    public InProcessConnectRuntime(Map<String, String> props, long ackDelayMs, long offsetFlushIntervalMs,
+                                   ToLongFunction<String> sentNanos) {
+        this.props = new HashMap<>(props);
+        this.ackDelayNanos = TimeUnit.MILLISECONDS.toNanos(ackDelayMs);
+        this.offsetFlushIntervalMs = offsetFlushIntervalMs;
+        this.sentNanos = sentNanos;
+    }
+
+    /**
+     * Start the task and the worker threads.
+     */
+    public synchronized void start() {
+        task = new WebSocketSourceTask();
+        task.initialize(new Context());
+        task.start(props);
+        running = true;
+
+        ackThread = new Thread(this::ackLoop, "in-process-connect-producer");
+        ackThread.setDaemon(true);
+        ackThread.start();
+        pollThread = new Thread(this::pollLoop, "in-process-connect-task");
+        pollThread.setDaemon(true);
+        pollThread.start();
+    }
+
+    /**
+     * Stop the threads and the task; records not yet acknowledged are acknowledged first, as a
+     * worker flushes its producer on shutdown.
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (task == null) {
+            return;
+        }
+        running = false;
+        pollThread.join(TimeUnit.SECONDS.toMillis(10));
+        ackThread.join(TimeUnit.SECONDS.toMillis(10));
+        task.commit();
+        task.stop();
+        task = null;
+        if (failure != null) {
+            throw new IllegalStateException("Task failed", failure);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        stop();
+    }
+
+    private void pollLoop() {
+        long lastFlush = System.currentTimeMillis();
+        try {
+            while (running) {
+                List<SourceRecord> records = task.poll();
+                long now = System.nanoTime();
+                if (records == null) {
+                    LockSupport.parkNanos(IDLE_POLL_PARK_NANOS);
+                } else {
+                    for (SourceRecord record : records) {
+                        pendingAcks.add(new Polled(record, now));
+                    }
+                }
+                if (System.currentTimeMillis() - lastFlush >= offsetFlushIntervalMs) {
+                    task.commit();
+                    offsetCommits.incrementAndGet();
+                    lastFlush = System.currentTimeMillis();
+                }
+            }
+        } catch (Throwable t) {
+            failure = t;
+            running = false;
+        }
+    }
+
+    private void ackLoop() {
+        try {
+            while (running || !pendingAcks.isEmpty()) {
+                Polled polled = pendingAcks.poll(10, TimeUnit.MILLISECONDS);
+                if (polled == null) {
+                    continue;
+                }
+                long wait = polled.polledNanos + ackDelayNanos - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                append(polled);
+                task.commitRecord(polled.record, new RecordMetadata(
+                        new TopicPartition(polled.record.topic(), 0), topicOffset.getAndIncrement(), 0,
+                        System.currentTimeMillis(), -1, -1));
+                offsets.put(polled.record.sourcePartition(), polled.record.sourceOffset());
+                recordsAcked.incrementAndGet();
+            }
+        } catch (Throwable t) {
+            failure = t;
+            running = false;
+        }
+    }
+
+    private synchronized void append(Polled polled) {
+        Object value = polled.record.value();
+        if (!(value instanceof String)) {
+            return;
+        }
+        String payload = (String) value;
+        long sent = sentNanos.applyAsLong(payload);
+        if (sent >= 0) {
+            if (latencyCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[latencyCount++] = polled.polledNanos - sent;
+        }
+        long sequence = FeedGenerator.sequenceOf(payload);
+        if (sequence >= 0) {
+            if (sequence <= lastSequence) {
+                outOfOrder.incrementAndGet();
+            }
+            lastSequence = sequence;
+        }
+    }
+
+    /**
+     * Get the task under test (null when stopped).
+     */
+    public WebSocketSourceTask getTask() {
+        return task;
+    }
+
+    /**
+     * Records acknowledged so far (written to the in-memory topic).
+     */
+    public long getRecordsAcked() {
+        return recordsAcked.get();
+    }
+
+    public long getOffsetCommits() {
+        return offsetCommits.get();
+    }
+
+    /**
+     * Records whose embedded sequence number did not increase (duplicates or reordering).
+     */
+    public long getOutOfOrder() {
+        return outOfOrder.get();
+    }
+
+    /**
+     * Highest embedded sequence number delivered so far, or -1.
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * End-to-end latency percentile in milliseconds over all records so far (0 if none).
+     */
+    public synchronized double getLatencyPercentileMs(double percentile) {
+        if (latencyCount == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * Forget the latency samples so far, e.g. after a warm-up phase.
+     */
+    public synchronized void resetLatencies() {
+        latencyCount = 0;
+    }
+
+    /**
+     * Source offsets acknowledged so far, by source partition.
+     */
+    public Map<Map<String, ?>, Map<String, ?>> getOffsets() {
+        return new HashMap<>(offsets);
+    }
+
+    private final class Context implements SourceTaskContext {
+        @Override
+        public Map<String, String> configs() {
+            return props;
+        }
+
+        @Override
+        public OffsetStorageReader offsetStorageReader() {
+            return new OffsetStorageReader() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <T> Map<String, Object> offset(Map<String, T> partition) {
+                    return (Map<String, Object>) offsets.get(partition);
+                }
+
+                @Override
+                public <T> Map<Map<String, T>, Map<String, Object>> offsets(Collection<Map<String, T>> partitions) {
+                    Map<Map<String, T>, Map<String, Object>> result = new HashMap<>();
+                    for (Map<String, T> partition : partitions) {
+                        result.put(partition, offset(partition));
+                    }
+                    return result;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the single-pass JSON scanner used to split batched frames.
+ */
+class JsonScannerTest {
+
+    private static final String[] ROOT = JsonScanner.compilePath(null);
+
+    @Test
+    void testSplitTopLevelArray() {
+        List<String> elements = JsonScanner.splitArray("[{\"p\":1},{\"p\":2},{\"p\":3}]", ROOT);
+
+        assertEquals(Arrays.asList("{\"p\":1}", "{\"p\":2}", "{\"p\":3}"), elements);
+    }
+
+    @Test
+    void testSplitPreservesNestedStructuresAndWhitespace() {
+        String frame = " [ {\"a\":[1,2],\"b\":{\"c\":\"]\"}} , \"x,\\\"y\" , 42 , true , null ] ";
+
+        List<String> elements = JsonScanner.splitArray(frame, ROOT);
+
+        assertEquals(Arrays.asList("{\"a\":[1,2],\"b\":{\"c\":\"]\"}}", "\"x,\\\"y\"", "42", "true", "null"),
+                elements);
+    }
+
+    @Test
+    void testSplitEmptyArray() {
+        assertEquals(Collections.emptyList(), JsonScanner.splitArray("[ ]", ROOT));
+    }
+
+    @Test
+    void testSplitNestedField() {
+        String frame = "{\"type\":\"batch\",\"meta\":{\"n\":\"}\"},\"data\":{\"updates\":[{\"id\":1},{\"id\":2}]}}";
+
+        List<String> elements = JsonScanner.splitArray(frame, JsonScanner.compilePath("data.updates"));
+
+        assertEquals(Arrays.asList("{\"id\":1}", "{\"id\":2}"), elements);
+    }
+
+    @Test
+    void testSplitReturnsNullWhenFieldMissing() {
+        assertNull(JsonScanner.splitArray("{\"type\":\"heartbeat\"}", JsonScanner.compilePath("data")));
+    }
+
+    @Test
+    void testSplitReturnsNullWhenFieldIsNotArray() {
+        assertNull(JsonScanner.splitArray("{\"data\":{\"id\":1}}", JsonScanner.compilePath("data")));
+    }
+
+    @Test
+    void testSplitReturnsNullForMalformedOrNonJsonFrames() {
+        assertNull(JsonScanner.splitArray("[1,2", ROOT));
+        assertNull(JsonScanner.splitArray("[\"unterminated]", ROOT));
+        assertNull(JsonScanner.splitArray("plain text", ROOT));
+        assertNull(JsonScanner.splitArray("", ROOT));
+        assertNull(JsonScanner.splitArray(null, ROOT));
+    }
+
+    @Test
+    void testExtractField() {
+        String frame = "{\"e\":\"trade\",\"data\":{\"u\":12345,\"s\":\"BTC\\\"USD\"}}";
+
+        assertEquals("trade", JsonScanner.extractField(frame, JsonScanner.compilePath("e")));
+        assertEquals("12345", JsonScanner.extractField(frame, JsonScanner.compilePath("data.u")));
+        assertEquals("BTC\\\"USD", JsonScanner.extractField(frame, JsonScanner.compilePath("data.s")));
+        assertNull(JsonScanner.extractField(frame, JsonScanner.compilePath("data.missing")));
+        assertNull(JsonScanner.extractField("[1,2]", JsonScanner.compilePath("u")));
+        assertNull(JsonScanner.extractField(frame, ROOT));
+    }
+
+    @Test
+    void testCompilePath() {
+        assertArrayEquals(new String[0], JsonScanner.compilePath(""));
+        assertArrayEquals(new String[]{"data", "updates"}, JsonScanner.compilePath(" data.updates "));
+    }
+}
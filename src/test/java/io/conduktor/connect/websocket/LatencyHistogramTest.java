@@ -0,0 +1,92 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the fixed-bucket latency histogram behind the connect phase metrics.
+ */
+class LatencyHistogramTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getPercentileMillis(0.99));
+        assertEquals(0.0, histogram.getMaxMillis());
+    }
+
+    @Test
+    void testBucketing() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(500_000L);   // 0.5 ms -> (0, 1]
+        histogram.record(1 * MS);     // 1 ms   -> (0, 1]
+        histogram.record(1_500_000L); // 1.5 ms -> (1, 2]
+        histogram.record(7 * MS);     // 7 ms   -> (5, 10]
+        histogram.record(10 * MS);    // 10 ms  -> (5, 10]
+        histogram.record(30_000 * MS); // 30 s  -> (10000, 30000]
+        histogram.record(45_000 * MS); // overflow
+
+        long[] counts = histogram.getBucketCounts();
+        assertEquals(LatencyHistogram.BUCKET_BOUNDS_MILLIS.length + 1, counts.length);
+        assertEquals(2, counts[0], "A value on a bound belongs to that bound's bucket");
+        assertEquals(1, counts[1]);
+        assertEquals(2, counts[3]);
+        assertEquals(1, counts[counts.length - 2]);
+        assertEquals(1, counts[counts.length - 1]);
+        assertEquals(7, histogram.getCount());
+        assertEquals(45_000.0, histogram.getMaxMillis());
+    }
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(30 * MS);
+        }
+        histogram.record(800 * MS);
+        histogram.record(4_000 * MS);
+
+        assertEquals(50.0, histogram.getPercentileMillis(0.50));
+        assertEquals(1000.0, histogram.getPercentileMillis(0.99));
+        assertEquals(5000.0, histogram.getPercentileMillis(1.0));
+    }
+
+    @Test
+    void testOverflowPercentileReportsMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42_000 * MS);
+
+        assertEquals(42_000.0, histogram.getPercentileMillis(0.99));
+    }
+
+    @Test
+    void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3 * MS);
+
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getMaxMillis());
+        assertArrayEquals(new long[LatencyHistogram.BUCKET_BOUNDS_MILLIS.length + 1], histogram.getBucketCounts());
+    }
+
+    @Test
+    void testResetKeepsLifetimeCounts() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3 * MS);
+        histogram.reset();
+        histogram.record(3 * MS);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(3 * MS, histogram.getSumNanos());
+        assertEquals(2, histogram.getLifetimeBucketCounts()[2]);
+        assertEquals(6 * MS, histogram.getLifetimeSumNanos());
+    }
+}
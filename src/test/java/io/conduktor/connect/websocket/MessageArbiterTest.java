@@ -0,0 +1,80 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for first-arrival-wins arbitration in redundant (dual-connection) mode.
+ */
+class MessageArbiterTest {
+
+    private WebSocketMetrics metrics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        metrics = new WebSocketMetrics("arbiter-test-" + System.nanoTime(), "ws://localhost:8080");
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.close();
+    }
+
+    @Test
+    void testFirstCopyWinsAndSecondIsDropped() {
+        MessageArbiter arbiter = new MessageArbiter(JsonScanner.compilePath("u"), 100);
+        arbiter.setMetrics(metrics);
+
+        assertTrue(arbiter.accept(MessageArbiter.STANDBY, "{\"u\":1,\"p\":\"10.0\"}"));
+        assertFalse(arbiter.accept(MessageArbiter.PRIMARY, "{\"u\":1,\"p\":\"10.0\"}"));
+        assertTrue(arbiter.accept(MessageArbiter.PRIMARY, "{\"u\":2,\"p\":\"10.1\"}"));
+        assertFalse(arbiter.accept(MessageArbiter.STANDBY, "{\"u\":2,\"p\":\"10.1\"}"));
+
+        assertEquals(1, metrics.getPrimaryLegWins());
+        assertEquals(1, metrics.getStandbyLegWins());
+        assertEquals(2, metrics.getLegDuplicatesDropped());
+        assertTrue(metrics.getLegDivergenceMaxMillis() >= metrics.getLegDivergenceLastMillis());
+    }
+
+    @Test
+    void testMatchesOnIdFieldNotContent() {
+        MessageArbiter arbiter = new MessageArbiter(JsonScanner.compilePath("id"), 100);
+
+        assertTrue(arbiter.accept(MessageArbiter.PRIMARY, "{\"id\":\"a\",\"ts\":1}"));
+        assertFalse(arbiter.accept(MessageArbiter.STANDBY, "{\"ts\":2,\"id\":\"a\"}"));
+    }
+
+    @Test
+    void testFallsBackToContentWithoutIdField() {
+        MessageArbiter arbiter = new MessageArbiter(null, 100);
+
+        assertTrue(arbiter.accept(MessageArbiter.PRIMARY, "tick-1"));
+        assertFalse(arbiter.accept(MessageArbiter.STANDBY, "tick-1"));
+        assertTrue(arbiter.accept(MessageArbiter.STANDBY, "tick-2"));
+    }
+
+    @Test
+    void testRepeatOnSameLegIsForwarded() {
+        MessageArbiter arbiter = new MessageArbiter(null, 100);
+
+        assertTrue(arbiter.accept(MessageArbiter.PRIMARY, "heartbeat"));
+        assertTrue(arbiter.accept(MessageArbiter.PRIMARY, "heartbeat"));
+        assertFalse(arbiter.accept(MessageArbiter.STANDBY, "heartbeat"));
+    }
+
+    @Test
+    void testUnmatchedCountedWhenLeavingWindow() {
+        MessageArbiter arbiter = new MessageArbiter(null, 2);
+        arbiter.setMetrics(metrics);
+
+        arbiter.accept(MessageArbiter.PRIMARY, "m1");
+        arbiter.accept(MessageArbiter.PRIMARY, "m2");
+        arbiter.accept(MessageArbiter.STANDBY, "m3");
+
+        assertEquals(1, metrics.getPrimaryLegUnmatched());
+        assertEquals(0, metrics.getStandbyLegUnmatched());
+    }
+}
@@ -0,0 +1,105 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the shared message counters.
+ */
+class MessageCountersTest {
+
+    @Test
+    void testCountsEachEventOnce() {
+        MessageCounters counters = new MessageCounters();
+
+        counters.recordMessageReceived();
+        counters.recordMessageReceived();
+        counters.recordMessageDropped();
+        counters.recordRecordsProduced(5);
+        counters.recordReconnect();
+
+        assertEquals(2, counters.getMessagesReceived());
+        assertEquals(1, counters.getMessagesDropped());
+        assertEquals(5, counters.getRecordsProduced());
+        assertEquals(1, counters.getReconnects());
+    }
+
+    @Test
+    void testCountsUtf8Bytes() {
+        MessageCounters counters = new MessageCounters();
+        String text = "a\u00e9\u20ac\ud83d\ude00"; // 1 + 2 + 3 + 4 bytes
+
+        counters.recordMessageReceived(MessageCounters.utf8Length(text));
+
+        assertEquals(text.getBytes(java.nio.charset.StandardCharsets.UTF_8).length, counters.getBytesReceived());
+        assertEquals(10, counters.getBytesReceived());
+    }
+
+    @Test
+    void testQueuedTotals() {
+        MessageCounters counters = new MessageCounters();
+        counters.recordEnqueued("abc");
+        counters.recordEnqueued("defgh");
+        counters.recordEnqueued("ij");
+
+        counters.recordDequeued(java.util.Arrays.asList("spilled", "abc", "defgh"), 1);
+
+        assertEquals(1, counters.getQueuedMessages());
+        assertEquals(2, counters.getQueuedChars());
+    }
+
+    @Test
+    void testMillisSinceLastMessage() throws Exception {
+        MessageCounters counters = new MessageCounters();
+        assertEquals(-1, counters.getMillisSinceLastMessage());
+
+        counters.recordMessageReceived();
+        Thread.sleep(50);
+
+        long millisSince = counters.getMillisSinceLastMessage();
+        assertTrue(millisSince >= 50 && millisSince < 50 + 500, "Got: " + millisSince);
+    }
+
+    @Test
+    void testConcurrentLegsLoseNoCounts() throws Exception {
+        MessageCounters counters = new MessageCounters();
+        Thread[] legs = new Thread[4];
+        for (int i = 0; i < legs.length; i++) {
+            legs[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    counters.recordMessageReceived();
+                    counters.recordReconnect();
+                }
+            });
+            legs[i].start();
+        }
+        for (Thread leg : legs) {
+            leg.join();
+        }
+
+        assertEquals(40_000, counters.getMessagesReceived());
+        assertEquals(40_000, counters.getReconnects());
+    }
+
+    @Test
+    void testMetricsResetLeavesCoreMonotonic() throws JMException {
+        MessageCounters counters = new MessageCounters();
+        try (WebSocketMetrics metrics = new WebSocketMetrics("counters-test", "ws://localhost", counters)) {
+            counters.recordMessageReceived();
+            counters.recordMessageReceived();
+            counters.recordRecordsProduced(1);
+            assertEquals(2, metrics.getMessagesReceived());
+
+            metrics.resetCounters();
+            counters.recordMessageReceived();
+
+            assertEquals(1, metrics.getMessagesReceived());
+            assertEquals(0, metrics.getRecordsProduced());
+            assertEquals(3, counters.getMessagesReceived(), "The core is never reset");
+            assertEquals(2, metrics.getLagCount(), "Lag is unaffected by resets");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the undelivered message spool.
+ */
+class MessageSpoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTripPreservesOrderAndContent() throws Exception {
+        MessageSpool spool = new MessageSpool(tempDir.resolve("spool").resolve("task.spool"));
+        List<String> messages = Arrays.asList("{\"a\":1}", "line one\nline two", "", "caf\u00e9 \u20ac");
+
+        spool.appendAll(messages);
+
+        assertTrue(spool.hasMessages());
+        assertEquals(messages, spool.takeAll());
+        assertFalse(Files.exists(spool.getFile()), "Spool is removed once taken");
+        assertFalse(spool.hasMessages());
+    }
+
+    @Test
+    void testAppendAccumulates() throws Exception {
+        MessageSpool spool = new MessageSpool(tempDir.resolve("task.spool"));
+
+        spool.appendAll(Arrays.asList("1", "2"));
+        spool.appendAll(Collections.singletonList("3"));
+
+        assertEquals(Arrays.asList("1", "2", "3"), spool.takeAll());
+    }
+
+    @Test
+    void testReplayReadsInChunksWhileNewMessagesAreAppended() throws Exception {
+        MessageSpool spool = new MessageSpool(tempDir.resolve("task.spool"));
+        spool.appendAll(Arrays.asList("1", "2", "3", "4", "5"));
+
+        try (MessageSpool.Replay replay = spool.startReplay()) {
+            assertEquals(Arrays.asList("1", "2"), replay.next(2));
+            spool.appendAll(Collections.singletonList("6"));
+            assertEquals(Arrays.asList("3", "4"), replay.next(2));
+            assertFalse(replay.isDone());
+            assertEquals(Collections.singletonList("5"), replay.next(2));
+            assertTrue(replay.isDone());
+        }
+
+        assertFalse(Files.exists(spool.getReplaySpool().getFile()), "Replayed file is removed");
+        assertEquals(Collections.singletonList("6"), spool.takeAll(), "Appended during the replay, kept apart");
+        assertNull(spool.startReplay(), "Nothing left to replay");
+    }
+
+    @Test
+    void testMissingSpoolIsEmpty() throws Exception {
+        MessageSpool spool = new MessageSpool(tempDir.resolve("missing.spool"));
+
+        assertTrue(spool.takeAll().isEmpty());
+        spool.appendAll(Collections.emptyList());
+        assertFalse(Files.exists(spool.getFile()));
+    }
+
+    @Test
+    void testTruncatedRecordIsIgnored() throws Exception {
+        MessageSpool spool = new MessageSpool(tempDir.resolve("task.spool"));
+        spool.appendAll(Collections.singletonList("complete"));
+        try (DataOutputStream out = new DataOutputStream(
+                Files.newOutputStream(spool.getFile(), StandardOpenOption.APPEND))) {
+            out.writeInt(100);
+            out.write(new byte[]{'p', 'a', 'r'});
+        }
+
+        assertEquals(Collections.singletonList("complete"), spool.takeAll());
+    }
+
+    @Test
+    void testCorruptLengthStopsReading() throws Exception {
+        MessageSpool spool = new MessageSpool(tempDir.resolve("task.spool"));
+        spool.appendAll(Collections.singletonList("complete"));
+        try (DataOutputStream out = new DataOutputStream(
+                Files.newOutputStream(spool.getFile(), StandardOpenOption.APPEND))) {
+            out.writeInt(Integer.MAX_VALUE);
+            out.write(new byte[]{'g', 'a', 'r', 'b', 'a', 'g', 'e'});
+        }
+
+        assertEquals(Collections.singletonList("complete"), spool.takeAll());
+        assertFalse(Files.exists(spool.getFile()), "Corrupt spool is removed");
+    }
+
+    @Test
+    void testNegativeLengthStopsReading() throws Exception {
+        MessageSpool spool = new MessageSpool(tempDir.resolve("task.spool"));
+        spool.appendAll(Arrays.asList("1", "2"));
+        try (DataOutputStream out = new DataOutputStream(
+                Files.newOutputStream(spool.getFile(), StandardOpenOption.APPEND))) {
+            out.writeInt(-1);
+            out.writeInt(1);
+            out.write('3');
+        }
+
+        assertEquals(Arrays.asList("1", "2"), spool.takeAll());
+    }
+}
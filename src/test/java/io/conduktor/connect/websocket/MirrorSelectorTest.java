@@ -0,0 +1,128 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for mirror health scoring and selection.
+ */
+class MirrorSelectorTest {
+
+    private static final String PRIMARY = "wss://eu.example.com/stream";
+    private static final String MIRROR = "wss://us.example.com/stream";
+    private static final long MS = 1_000_000L;
+
+    private long now;
+    private MirrorSelector selector;
+
+    @BeforeEach
+    void setUp() {
+        now = TimeUnit.HOURS.toNanos(1);
+        selector = new MirrorSelector(Arrays.asList(PRIMARY, MIRROR), 500, () -> now);
+    }
+
+    @Test
+    void testPrefersFirstMirrorWhenUnmeasured() {
+        assertEquals(PRIMARY, selector.select());
+    }
+
+    @Test
+    void testPrefersLowerRtt() {
+        selector.recordRtt(PRIMARY, 120 * MS);
+        selector.recordRtt(MIRROR, 40 * MS);
+
+        assertEquals(MIRROR, selector.select());
+    }
+
+    @Test
+    void testHealthyPrimaryBeatsUntriedMirror() {
+        selector.recordRtt(PRIMARY, 80 * MS);
+
+        assertEquals(PRIMARY, selector.select());
+    }
+
+    @Test
+    void testFailureMovesToUntriedMirror() {
+        selector.recordRtt(PRIMARY, 80 * MS);
+        selector.recordFailure(PRIMARY);
+
+        assertEquals(MIRROR, selector.select());
+    }
+
+    @Test
+    void testFailurePenaltyDecays() {
+        selector.recordRtt(PRIMARY, 80 * MS);
+        selector.recordRtt(MIRROR, 200 * MS);
+        selector.recordFailure(PRIMARY);
+        assertEquals(MIRROR, selector.select());
+
+        now += TimeUnit.MINUTES.toNanos(10);
+
+        assertEquals(PRIMARY, selector.select());
+    }
+
+    @Test
+    void testRttIsSmoothed() {
+        selector.recordRtt(PRIMARY, 100 * MS);
+        selector.recordRtt(PRIMARY, 200 * MS);
+
+        assertEquals(130.0, selector.score(PRIMARY), 0.001);
+    }
+
+    @Test
+    void testSlowFeedIsPenalized() {
+        selector.recordRtt(PRIMARY, 50 * MS);
+        selector.recordRtt(MIRROR, 100 * MS);
+        selector.recordSession(PRIMARY, 10_000, 60_000);
+        selector.recordSession(MIRROR, 60_000, 60_000);
+
+        assertEquals(MIRROR, selector.select());
+    }
+
+    @Test
+    void testShortSessionsDoNotCountForRate() {
+        selector.recordRtt(PRIMARY, 50 * MS);
+        selector.recordRtt(MIRROR, 100 * MS);
+        selector.recordSession(PRIMARY, 1, 2_000);
+        selector.recordSession(MIRROR, 60_000, 60_000);
+
+        assertEquals(PRIMARY, selector.select());
+    }
+
+    @Test
+    void testShouldMoveAwayOnlyAboveThresholdWithBetterMirror() {
+        selector.recordRtt(PRIMARY, 400 * MS);
+        selector.recordRtt(MIRROR, 100 * MS);
+        assertFalse(selector.shouldMoveAway(PRIMARY), "Below threshold");
+
+        selector.recordRtt(PRIMARY, 2_000 * MS);
+        assertTrue(selector.shouldMoveAway(PRIMARY));
+        assertFalse(selector.shouldMoveAway(MIRROR));
+    }
+
+    @Test
+    void testShouldMoveAwayDisabledWithoutThreshold() {
+        MirrorSelector noThreshold = new MirrorSelector(Arrays.asList(PRIMARY, MIRROR), 0, () -> now);
+        noThreshold.recordRtt(PRIMARY, 5_000 * MS);
+        noThreshold.recordRtt(MIRROR, 10 * MS);
+
+        assertFalse(noThreshold.shouldMoveAway(PRIMARY));
+    }
+
+    @Test
+    void testDescribeScoresHidesQueryString() {
+        MirrorSelector withToken = new MirrorSelector(
+                Arrays.asList("wss://eu.example.com/stream?token=secret", MIRROR), 0, () -> now);
+
+        String[] scores = withToken.describeScores();
+
+        assertEquals(2, scores.length);
+        assertTrue(scores[0].startsWith("wss://eu.example.com/stream score="));
+        assertFalse(scores[0].contains("secret"));
+    }
+}
@@ -13,8 +13,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Mock WebSocket server for testing without external dependencies.
@@ -25,6 +27,7 @@ import java.util.concurrent.TimeUnit;
  * - Echo mode for testing subscription messages
  * - Configurable connection behavior (success, failure, delay)
  * - Message verification and assertion helpers
+ * - High-rate synthetic feed (see {@link FeedGenerator})
  */
 public class MockWebSocketServer implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(MockWebSocketServer.class);
@@ -35,7 +38,10 @@ public class MockWebSocketServer implements AutoCloseable {
     private boolean echoMode = false;
     private boolean shouldAcceptConnection = true;
     private int connectionDelayMs = 0;
-    private WebSocket activeWebSocket;
+    private volatile WebSocket activeWebSocket;
+    private final List<WebSocket> openWebSockets = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connectionsOpened = new AtomicInteger();
+    private FeedGenerator feed;
     private boolean autoAccept = false;
 
     public MockWebSocketServer() throws IOException {
@@ -75,6 +81,16 @@ public class MockWebSocketServer implements AutoCloseable {
         }
     }
 
+    /**
+     * Send a message to every open connection (e.g. both sides of a connection rotation),
+     * without queuing it for later connections
+     */
+    public void broadcast(String message) {
+        for (WebSocket webSocket : openWebSockets) {
+            webSocket.send(message);
+        }
+    }
+
     /**
      * Send multiple messages
      */
@@ -84,6 +100,26 @@ public class MockWebSocketServer implements AutoCloseable {
         }
     }
 
+    /**
+     * Start streaming a synthetic feed to the connected client (and to its successors after a
+     * reconnect) until {@link #stopFeed()} or the feed's message limit.
+     */
+    public synchronized void startFeed(FeedGenerator generator) throws InterruptedException {
+        stopFeed();
+        feed = generator;
+        feed.start(() -> activeWebSocket);
+    }
+
+    /**
+     * Stop the running feed, if any.
+     */
+    public synchronized void stopFeed() throws InterruptedException {
+        if (feed != null) {
+            feed.stop();
+            feed = null;
+        }
+    }
+
     /**
      * Configure whether server should accept connections
      */
@@ -175,6 +211,8 @@ public class MockWebSocketServer implements AutoCloseable {
                 @Override
                 public void onOpen(WebSocket webSocket, Response response) {
                     activeWebSocket = webSocket;
+                    openWebSockets.add(webSocket);
+                    connectionsOpened.incrementAndGet();
                     log.info("WebSocket connection opened");
 
                     // Send any queued messages
@@ -214,23 +252,39 @@ public class MockWebSocketServer implements AutoCloseable {
                 @Override
                 public void onClosed(WebSocket webSocket, int code, String reason) {
                     log.info("WebSocket closed: code={}, reason={}", code, reason);
-                    activeWebSocket = null;
+                    connectionGone(webSocket);
                 }
 
                 @Override
                 public void onFailure(WebSocket webSocket, Throwable t, Response response) {
                     log.error("WebSocket failure", t);
-                    activeWebSocket = null;
+                    connectionGone(webSocket);
                 }
             }));
     }
 
+    private synchronized void connectionGone(WebSocket webSocket) {
+        openWebSockets.remove(webSocket);
+        // An older connection closing (e.g. after a rotation) leaves the newest one active
+        if (activeWebSocket == webSocket) {
+            activeWebSocket = null;
+        }
+    }
+
     /**
      * Close active WebSocket connection from server side
      */
     public void closeConnection() {
-        if (activeWebSocket != null) {
-            activeWebSocket.close(1000, "Server closing connection");
+        closeConnection(1000, "Server closing connection");
+    }
+
+    /**
+     * Close active WebSocket connection from server side with the given close code
+     */
+    public void closeConnection(int code, String reason) {
+        WebSocket current = activeWebSocket;
+        if (current != null) {
+            current.close(code, reason);
             activeWebSocket = null;
         }
     }
@@ -242,6 +296,20 @@ public class MockWebSocketServer implements AutoCloseable {
         return activeWebSocket != null;
     }
 
+    /**
+     * Get the number of WebSocket connections opened so far
+     */
+    public int getConnectionCount() {
+        return connectionsOpened.get();
+    }
+
+    /**
+     * Get the number of WebSocket connections currently open
+     */
+    public int getOpenConnectionCount() {
+        return openWebSockets.size();
+    }
+
     /**
      * Get count of received messages
      */
@@ -251,6 +319,11 @@ public class MockWebSocketServer implements AutoCloseable {
 
     @Override
     public void close() throws IOException {
+        try {
+            stopFeed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         if (activeWebSocket != null) {
             activeWebSocket.close(1000, "Server shutdown");
         }
@@ -0,0 +1,110 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Prometheus scrape endpoint.
+ */
+class PrometheusExporterTest {
+
+    private WebSocketMetrics metrics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        metrics = new WebSocketMetrics("prom-\"test\"", "wss://feed.example.com/stream?token=secret");
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.close();
+        while (PrometheusExporter.current() != null) {
+            PrometheusExporter.release();
+        }
+    }
+
+    @Test
+    void testScrapeFormat() {
+        metrics.getCounters().recordMessageReceived(100);
+        metrics.getCounters().recordMessageReceived(3000);
+        metrics.setConnected(true);
+        metrics.recordConnectPhases(2_000_000, 3_000_000, 0, 40_000_000, 45_000_000, true);
+
+        String body = PrometheusExporter.scrape(Collections.singletonList(metrics));
+        String labels = "{connector=\"prom-\\\"test\\\"\",url=\"wss://feed.example.com/stream\"";
+
+        assertTrue(body.contains("# TYPE websocket_messages_received_total counter\n"));
+        assertTrue(body.contains("websocket_messages_received_total" + labels + "} 2\n"), body);
+        assertTrue(body.contains("websocket_bytes_received_total" + labels + "} 3100\n"));
+        assertTrue(body.contains("# TYPE websocket_queue_size gauge\n"));
+        assertTrue(body.contains("websocket_connected" + labels + "} 1\n"));
+        assertTrue(body.contains("websocket_connect_phase_seconds_bucket" + labels + ",phase=\"upgrade\",le=\"0.05\"} 1\n"));
+        assertTrue(body.contains("websocket_connect_phase_seconds_count" + labels + ",phase=\"tls\"} 0\n"));
+        assertTrue(body.contains("websocket_message_size_bytes_bucket" + labels + ",le=\"128\"} 1\n"));
+        assertTrue(body.contains("websocket_message_size_bytes_bucket" + labels + ",le=\"+Inf\"} 2\n"));
+        assertTrue(body.contains("websocket_message_size_bytes_sum" + labels + "} 3100\n"));
+        assertFalse(body.contains("secret"), "Query strings are not exported");
+    }
+
+    @Test
+    void testSharedEndpointServesRegisteredMetrics() throws Exception {
+        PrometheusExporter.acquire("127.0.0.1", 0);
+        int port = PrometheusExporter.current().getPort();
+        PrometheusExporter.acquire("127.0.0.1", port); // Second task shares it
+        metrics.incrementMessagesReceived();
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/metrics")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(PrometheusExporter.CONTENT_TYPE, response.headers().firstValue("Content-Type").orElse(null));
+        assertTrue(response.body().contains("websocket_messages_received_total{connector=\"prom-\\\"test\\\"\""));
+
+        PrometheusExporter.release();
+        assertNotNull(PrometheusExporter.current(), "Still used by the other task");
+        PrometheusExporter.release();
+        assertNull(PrometheusExporter.current(), "Stopped with its last user");
+    }
+
+    @Test
+    void testResetCountersKeepsExportedValuesMonotonic() {
+        metrics.getCounters().recordMessageReceived(100);
+        metrics.incrementFailureClass(BackoffPolicy.FailureClass.NETWORK);
+        metrics.recordConnectPhases(2_000_000, 3_000_000, 0, 40_000_000, 45_000_000, true);
+        String labels = "{connector=\"prom-\\\"test\\\"\",url=\"wss://feed.example.com/stream\"";
+
+        metrics.resetCounters();
+        metrics.getCounters().recordMessageReceived(200);
+        metrics.incrementFailureClass(BackoffPolicy.FailureClass.NETWORK);
+
+        // JMX starts over
+        assertEquals(1, metrics.getMessagesReceived());
+        assertEquals(1, metrics.getFailuresNetwork());
+        assertEquals(0.0, metrics.getConnectTotalP99Millis());
+
+        // Prometheus keeps counting
+        String body = PrometheusExporter.scrape(Collections.singletonList(metrics));
+        assertTrue(body.contains("websocket_messages_received_total" + labels + "} 2\n"), body);
+        assertTrue(body.contains("websocket_bytes_received_total" + labels + "} 300\n"));
+        assertTrue(body.contains("websocket_failures_network_total" + labels + "} 2\n"));
+        assertTrue(body.contains("websocket_connect_phase_seconds_count" + labels + ",phase=\"total\"} 1\n"));
+        assertTrue(body.contains("websocket_message_size_bytes_count" + labels + "} 2\n"));
+        assertTrue(body.contains("websocket_message_size_bytes_sum" + labels + "} 300\n"));
+    }
+
+    @Test
+    void testSnakeCase() {
+        assertEquals("messages_received_one_minute_rate", PrometheusExporter.snakeCase("MessagesReceivedOneMinuteRate"));
+        assertEquals("connect_dns_p99_millis", PrometheusExporter.snakeCase("ConnectDnsP99Millis"));
+    }
+}
@@ -0,0 +1,93 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for payload sequence gap and regression detection.
+ */
+class SequenceGapMonitorTest {
+
+    private WebSocketMetrics metrics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        metrics = new WebSocketMetrics("gap-monitor-test-" + System.nanoTime(), "ws://localhost:8080");
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.close();
+    }
+
+    @Test
+    void testInOrderSequenceHasNoGap() {
+        SequenceGapMonitor monitor = new SequenceGapMonitor(JsonScanner.compilePath("u"), null);
+
+        assertEquals(0, monitor.check("{\"u\":1}"));
+        assertEquals(0, monitor.check("{\"u\":2}"));
+        assertEquals(0, monitor.check("{\"u\":3}"));
+    }
+
+    @Test
+    void testGapIsDetectedAndCounted() {
+        SequenceGapMonitor monitor = new SequenceGapMonitor(JsonScanner.compilePath("u"), null);
+        monitor.setMetrics(metrics);
+
+        monitor.check("{\"u\":10}");
+        assertEquals(4, monitor.check("{\"u\":15}"));
+
+        assertEquals(1, metrics.getSequenceGaps());
+        assertEquals(4, metrics.getSequenceMessagesMissing());
+    }
+
+    @Test
+    void testRegressionKeepsHighWaterMark() {
+        SequenceGapMonitor monitor = new SequenceGapMonitor(JsonScanner.compilePath("u"), null);
+        monitor.setMetrics(metrics);
+
+        monitor.check("{\"u\":10}");
+        assertTrue(monitor.check("{\"u\":7}") < 0);
+        assertTrue(monitor.check("{\"u\":10}") < 0);
+        assertEquals(0, monitor.check("{\"u\":11}"));
+
+        assertEquals(2, metrics.getSequenceRegressions());
+        assertEquals(0, metrics.getSequenceGaps());
+    }
+
+    @Test
+    void testSequencesAreTrackedPerKey() {
+        SequenceGapMonitor monitor = new SequenceGapMonitor(
+                JsonScanner.compilePath("data.u"), JsonScanner.compilePath("data.s"));
+
+        assertEquals(0, monitor.check("{\"data\":{\"s\":\"BTC\",\"u\":100}}"));
+        assertEquals(0, monitor.check("{\"data\":{\"s\":\"ETH\",\"u\":5}}"));
+        assertEquals(0, monitor.check("{\"data\":{\"s\":\"BTC\",\"u\":101}}"));
+        assertEquals(1, monitor.check("{\"data\":{\"s\":\"ETH\",\"u\":7}}"));
+        assertEquals(2, monitor.getTrackedKeys());
+    }
+
+    @Test
+    void testUnsequencedPayloadsAreIgnored() {
+        SequenceGapMonitor monitor = new SequenceGapMonitor(JsonScanner.compilePath("u"), null);
+
+        monitor.check("{\"u\":1}");
+        assertEquals(0, monitor.check("{\"type\":\"heartbeat\"}"));
+        assertEquals(0, monitor.check("{\"u\":\"not-a-number\"}"));
+        assertEquals(0, monitor.check("plain text"));
+        assertEquals(0, monitor.check("{\"u\":2}"));
+    }
+
+    @Test
+    void testResetForgetsSequences() {
+        SequenceGapMonitor monitor = new SequenceGapMonitor(JsonScanner.compilePath("u"), null);
+
+        monitor.check("{\"u\":1}");
+        monitor.reset();
+
+        assertEquals(0, monitor.check("{\"u\":500}"));
+    }
+}
@@ -0,0 +1,87 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the message size histogram.
+ */
+class SizeHistogramTest {
+
+    @Test
+    void testEmptyHistogram() {
+        SizeHistogram histogram = new SizeHistogram();
+
+        assertEquals(0, histogram.getMinBytes());
+        assertEquals(0, histogram.getMaxBytes());
+        assertEquals(0.0, histogram.getMeanBytes());
+        assertEquals(0, histogram.getPercentileBytes(0.99));
+    }
+
+    @Test
+    void testBucketsArePowersOfTwo() {
+        SizeHistogram histogram = new SizeHistogram();
+        histogram.record(0);
+        histogram.record(64);
+        histogram.record(65);
+        histogram.record(128);
+        histogram.record(129);
+        histogram.record(Integer.MAX_VALUE);
+
+        long[] counts = histogram.getBucketCounts();
+        assertEquals(SizeHistogram.BUCKET_BOUNDS_BYTES.length + 1, counts.length);
+        assertEquals(2, counts[0]);
+        assertEquals(2, counts[1]);
+        assertEquals(1, counts[2]);
+        assertEquals(1, counts[counts.length - 1], "Beyond 16 MiB goes to the overflow bucket");
+    }
+
+    @Test
+    void testStatistics() {
+        SizeHistogram histogram = new SizeHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+
+        assertEquals(100, histogram.getMinBytes());
+        assertEquals(5000, histogram.getMaxBytes());
+        assertEquals(149.0, histogram.getMeanBytes(), 0.001);
+        assertEquals(128, histogram.getPercentileBytes(0.50));
+        assertEquals(128, histogram.getPercentileBytes(0.99));
+        assertEquals(5000, histogram.getPercentileBytes(1.0), "Capped at the maximum");
+    }
+
+    @Test
+    void testReset() {
+        SizeHistogram histogram = new SizeHistogram();
+        histogram.record(1000);
+
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMinBytes());
+        assertEquals(0, histogram.getMaxBytes());
+        histogram.record(10);
+        assertEquals(10, histogram.getMinBytes());
+    }
+
+    @Test
+    void testResetKeepsLifetimeCounts() {
+        SizeHistogram histogram = new SizeHistogram();
+        histogram.record(1000);
+        histogram.reset();
+        histogram.record(10);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(10.0, histogram.getMeanBytes(), 0.001);
+        assertEquals(10, histogram.getSumBytes());
+        assertEquals(1010, histogram.getLifetimeSumBytes());
+        long lifetime = 0;
+        for (long bucketCount : histogram.getLifetimeBucketCounts()) {
+            lifetime += bucketCount;
+        }
+        assertEquals(2, lifetime);
+    }
+}
@@ -0,0 +1,128 @@
+package io.conduktor.connect.websocket;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.TransactionContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for connector-defined transaction boundaries.
+ */
+class TransactionBoundariesTest {
+
+    private final RecordingContext context = new RecordingContext();
+
+    @Test
+    void testEveryPollBatchByDefault() {
+        TransactionBoundaries boundaries = new TransactionBoundaries(context, 0, 0, null, null);
+        List<SourceRecord> batch = records("a", "b", "c");
+
+        boundaries.onBatch(batch, 0);
+        boundaries.onBatch(Collections.emptyList(), 0);
+
+        assertEquals(Collections.singletonList(batch.get(2)), context.committedAfter);
+    }
+
+    @Test
+    void testCommitEveryNRecordsAcrossBatches() {
+        TransactionBoundaries boundaries = new TransactionBoundaries(context, 3, 0, null, null);
+        List<SourceRecord> first = records("1", "2");
+        List<SourceRecord> second = records("3", "4", "5", "6", "7");
+
+        boundaries.onBatch(first, 0);
+        boundaries.onBatch(second, 0);
+
+        assertEquals(Arrays.asList(second.get(0), second.get(3)), context.committedAfter);
+        assertEquals(2, boundaries.getCommitsRequested());
+    }
+
+    @Test
+    void testCommitWhenIntervalElapsed() {
+        TransactionBoundaries boundaries = new TransactionBoundaries(context, 0, 1000, null, null);
+        List<SourceRecord> first = records("1");
+        List<SourceRecord> second = records("2", "3");
+
+        boundaries.onBatch(first, 0);
+        boundaries.onBatch(second, 1000);
+
+        assertEquals(Collections.singletonList(second.get(0)), context.committedAfter);
+    }
+
+    @Test
+    void testIdlePollCommitsOpenTransactionAfterInterval() {
+        TransactionBoundaries boundaries = new TransactionBoundaries(context, 0, 1000, null, null);
+        boundaries.onBatch(records("1"), 0);
+
+        boundaries.onIdlePoll(500);
+        assertEquals(0, context.plainCommits);
+
+        boundaries.onIdlePoll(1500);
+        assertEquals(1, context.plainCommits);
+
+        boundaries.onIdlePoll(3000);
+        assertEquals(1, context.plainCommits, "Nothing open, nothing to commit");
+    }
+
+    @Test
+    void testMarkerEndsTransaction() {
+        TransactionBoundaries boundaries = new TransactionBoundaries(
+                context, 0, 0, JsonScanner.compilePath("type"), "snapshot_end");
+        List<SourceRecord> batch = records(
+                "{\"type\":\"snapshot\",\"id\":1}",
+                "{\"type\":\"snapshot_end\"}",
+                "{\"type\":\"update\",\"id\":2}");
+
+        boundaries.onBatch(batch, 0);
+
+        assertEquals(Collections.singletonList(batch.get(1)), context.committedAfter);
+    }
+
+    @Test
+    void testMarkerWithoutValueMatchesPresence() {
+        TransactionBoundaries boundaries = new TransactionBoundaries(
+                context, 0, 0, JsonScanner.compilePath("end"), "");
+        List<SourceRecord> batch = records("{\"id\":1}", "{\"id\":2,\"end\":true}");
+
+        boundaries.onBatch(batch, 0);
+
+        assertEquals(Collections.singletonList(batch.get(1)), context.committedAfter);
+    }
+
+    private static List<SourceRecord> records(String... values) {
+        List<SourceRecord> records = new ArrayList<>();
+        for (String value : values) {
+            records.add(new SourceRecord(null, null, "topic", null, null, null, Schema.STRING_SCHEMA, value, 0L));
+        }
+        return records;
+    }
+
+    private static class RecordingContext implements TransactionContext {
+        final List<SourceRecord> committedAfter = new ArrayList<>();
+        int plainCommits = 0;
+
+        @Override
+        public void commitTransaction() {
+            plainCommits++;
+        }
+
+        @Override
+        public void commitTransaction(SourceRecord record) {
+            committedAfter.add(record);
+        }
+
+        @Override
+        public void abortTransaction() {
+        }
+
+        @Override
+        public void abortTransaction(SourceRecord record) {
+        }
+    }
+}
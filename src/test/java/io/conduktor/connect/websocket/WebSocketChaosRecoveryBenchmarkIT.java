@@ -0,0 +1,245 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * How fast WebSocketClient recovers from network and server faults, injected by a
+ * {@link ChaosProxy} between the client and a {@link MockWebSocketServer} streaming a sequenced
+ * {@link FeedGenerator} feed.
+ *
+ * For each scenario, measured from the moment the fault is injected:
+ * - detect_ms: until the client notices (connection reported down)
+ * - reconnect_ms: until the client is connected again for good (after the last fault of a
+ *   flapping scenario)
+ * - first_message_ms: until the first message arrives on that connection
+ * - reconnects: connections re-established along the way
+ * - messages_lost: messages the server sent that never reached the client
+ *
+ * Results are printed and written to target/chaos-recovery.json; pass
+ * -Dbenchmark.baseline=path/to/previous.json to print the change against an earlier run, e.g. to
+ * judge a change to the reconnect backoff. The client uses short intervals (below) so a run takes
+ * about a minute; they are the same in every run, so numbers stay comparable.
+ *
+ * Only runs when asked for: mvn verify -Dbenchmarks=true -Dit.test=WebSocketChaosRecoveryBenchmarkIT
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class WebSocketChaosRecoveryBenchmarkIT {
+
+    private static final long FEED_RATE = 10_000;
+    private static final long RECONNECT_INTERVAL_MS = 250;
+    private static final long MAX_BACKOFF_MS = 5000;
+    private static final long PING_INTERVAL_MS = 1000;
+    private static final long CONNECTION_TIMEOUT_MS = 5000;
+    private static final long STEADY_MS = 1000;
+    private static final long RECOVERY_TIMEOUT_MS = 60000;
+
+    private static final BenchmarkReport results = new BenchmarkReport();
+
+    @FunctionalInterface
+    private interface Fault {
+        void inject(ChaosProxy proxy, Monitor monitor) throws Exception;
+    }
+
+    @AfterAll
+    static void report() throws IOException {
+        results.print();
+        String baseline = System.getProperty("benchmark.baseline");
+        if (baseline != null) {
+            results.printComparison(BenchmarkReport.read(Paths.get(baseline)));
+        }
+        results.write(Paths.get("target", "chaos-recovery.json"));
+    }
+
+    @Test
+    void abruptDisconnect() throws Exception {
+        run("abrupt-disconnect", (proxy, monitor) -> proxy.disconnectAll());
+    }
+
+    @Test
+    void halfOpenConnection() throws Exception {
+        run("half-open", (proxy, monitor) -> proxy.freezeAll());
+    }
+
+    @Test
+    void slowHandshake() throws Exception {
+        run("slow-handshake-3s", (proxy, monitor) -> {
+            proxy.delayNext(1, 3000);
+            proxy.disconnectAll();
+        });
+    }
+
+    @Test
+    void rejectedHandshakes() throws Exception {
+        run("rejected-403-x3", (proxy, monitor) -> {
+            proxy.rejectNext(3, 403, null);
+            proxy.disconnectAll();
+        });
+    }
+
+    @Test
+    void rateLimitedHandshakes() throws Exception {
+        run("rate-limited-429-x3", (proxy, monitor) -> {
+            proxy.rejectNext(3, 429, "1");
+            proxy.disconnectAll();
+        });
+    }
+
+    @Test
+    void flappingConnection() throws Exception {
+        run("flapping-x5", (proxy, monitor) -> {
+            for (int i = 0; i < 5; i++) {
+                int reconnects = monitor.reconnects;
+                proxy.disconnectAll();
+                TestWaiter.waitUntil(() -> monitor.reconnects > reconnects, RECOVERY_TIMEOUT_MS,
+                        "Client should reconnect after flap " + i);
+                Thread.sleep(300);
+            }
+        });
+    }
+
+    private void run(String name, Fault fault) throws Exception {
+        try (MockWebSocketServer server = MockWebSocketServer.builder().autoAccept().build();
+             ChaosProxy proxy = new ChaosProxy(server.getPort())) {
+            WebSocketClient client = new WebSocketClient(proxy.getUrl(), null, true, RECONNECT_INTERVAL_MS, -1,
+                    MAX_BACKOFF_MS, null, 100_000, CONNECTION_TIMEOUT_MS);
+            client.configureLiveness(PING_INTERVAL_MS, 0, null, 0);
+            client.start();
+            Monitor monitor = new Monitor(client);
+            try {
+                TestWaiter.waitUntil(server::hasActiveConnection, "Client should connect through the proxy");
+                FeedGenerator feed = FeedGenerator.builder().rate(FEED_RATE).build();
+                server.startFeed(feed);
+                Thread.sleep(STEADY_MS);
+
+                long faultNanos = System.nanoTime();
+                monitor.markFault(faultNanos);
+                fault.inject(proxy, monitor);
+                TestWaiter.waitUntil(() -> monitor.firstMessageNanos > 0, RECOVERY_TIMEOUT_MS,
+                        "Client should recover in scenario " + name);
+
+                Thread.sleep(STEADY_MS);
+                server.stopFeed();
+                long sent = feed.getMessagesSent();
+                TestWaiter.waitUntil(() -> monitor.received() >= sent || monitor.idleMillis() > 1000,
+                        RECOVERY_TIMEOUT_MS, "Client should drain in scenario " + name);
+                monitor.stop();
+
+                results.add("scenario", name,
+                        "detect_ms", millis(monitor.detectNanos - faultNanos),
+                        "reconnect_ms", millis(monitor.reconnectNanos - faultNanos),
+                        "first_message_ms", millis(monitor.firstMessageNanos - faultNanos),
+                        "reconnects", monitor.reconnects,
+                        "messages_sent", sent,
+                        "messages_lost", sent - monitor.received(),
+                        "connections_accepted", proxy.getConnectionsAccepted());
+
+                assertTrue(monitor.detectNanos > 0, "Fault should be detected in scenario " + name);
+                assertEquals(0, monitor.duplicates, "No message should arrive twice in scenario " + name);
+            } finally {
+                monitor.stop();
+                client.stop();
+            }
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Samples the client's connection state and drains its queue, recording state transitions.
+     */
+    private static final class Monitor {
+        private final WebSocketClient client;
+        private final Thread thread;
+        private final BitSet sequences = new BitSet();
+        private volatile boolean running = true;
+        private volatile long faultNanos = 0;
+        private volatile long lastMessageNanos = System.nanoTime();
+        volatile long detectNanos = 0;
+        volatile long reconnectNanos = 0;
+        volatile long firstMessageNanos = 0;
+        volatile int reconnects = 0;
+        volatile long duplicates = 0;
+
+        Monitor(WebSocketClient client) {
+            this.client = client;
+            this.thread = new Thread(this::sample, "chaos-monitor");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void markFault(long nanos) {
+            faultNanos = nanos;
+        }
+
+        synchronized int received() {
+            return sequences.cardinality();
+        }
+
+        long idleMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastMessageNanos);
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            thread.join(1000);
+        }
+
+        private void sample() {
+            boolean wasConnected = true;
+            while (running) {
+                long now = System.nanoTime();
+                boolean connected = client.isConnected();
+                if (faultNanos > 0) {
+                    if (wasConnected && !connected) {
+                        if (detectNanos == 0) {
+                            detectNanos = now;
+                        }
+                        reconnectNanos = 0;
+                        firstMessageNanos = 0;
+                    } else if (!wasConnected && connected) {
+                        reconnects++;
+                        reconnectNanos = now;
+                        firstMessageNanos = 0;
+                    }
+                }
+                wasConnected = connected;
+
+                List<String> messages = client.getMessages();
+                if (!messages.isEmpty()) {
+                    lastMessageNanos = now;
+                    if (reconnectNanos > 0 && firstMessageNanos == 0) {
+                        firstMessageNanos = now;
+                    }
+                    record(messages);
+                }
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            }
+        }
+
+        private synchronized void record(List<String> messages) {
+            for (String message : messages) {
+                long seq = FeedGenerator.sequenceOf(message);
+                if (seq < 0) {
+                    continue;
+                }
+                if (sequences.get((int) seq)) {
+                    duplicates++;
+                }
+                sequences.set((int) seq);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for mirror probing and scoring in {@link WebSocketClient}.
+ */
+class WebSocketClientFailoverTest {
+
+    private MockWebSocketServer server;
+    private ServerSocket mirror;
+    private WebSocketClient client;
+    private final AtomicInteger mirrorConnections = new AtomicInteger();
+    private final AtomicInteger mirrorBytesReceived = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) {
+            client.stop();
+        }
+        if (server != null) {
+            server.close();
+        }
+        if (mirror != null) {
+            mirror.close();
+        }
+    }
+
+    @Test
+    void testProbesConnectWithoutSendingRequests() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        startMirror();
+        String mirrorUrl = "ws://127.0.0.1:" + mirror.getLocalPort() + "/ws";
+        MirrorSelector selector = new MirrorSelector(Arrays.asList(server.getUrl(), mirrorUrl), 0);
+        client = new WebSocketClient(server.getUrl(), null, false, 100, -1, 1000, null, 10, 5000);
+        client.configureFailover(selector, 200);
+
+        client.start();
+        TestWaiter.waitUntil(client::isConnected, "Client should connect");
+
+        TestWaiter.waitUntil(() -> !selector.describeScores()[1].contains("rtt_ms=-1.0"),
+                "Mirror should be probed");
+        TestWaiter.waitUntil(() -> mirrorConnections.get() >= 2, "Mirror should be probed repeatedly");
+        assertEquals(0, mirrorBytesReceived.get(), "Probes must not send an HTTP request");
+        assertTrue(client.isConnected(), "Active connection is unaffected by probes");
+    }
+
+    @Test
+    void testUpgradesDoNotFeedTheScore() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        startMirror();
+        String mirrorUrl = "ws://127.0.0.1:" + mirror.getLocalPort() + "/ws";
+        MirrorSelector selector = new MirrorSelector(Arrays.asList(server.getUrl(), mirrorUrl), 0);
+        client = new WebSocketClient(server.getUrl(), null, false, 100, -1, 1000, null, 10, 5000);
+        client.configureFailover(selector, 0);
+
+        client.start();
+        TestWaiter.waitUntil(client::isConnected, "Client should connect");
+
+        assertTrue(selector.describeScores()[0].contains("rtt_ms=-1.0"),
+                "Only probes measure round-trip time: " + selector.describeScores()[0]);
+    }
+
+    private void startMirror() throws IOException {
+        mirror = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(() -> {
+            try {
+                while (!mirror.isClosed()) {
+                    Socket socket = mirror.accept();
+                    mirrorConnections.incrementAndGet();
+                    try (InputStream in = socket.getInputStream()) {
+                        while (in.read() >= 0) {
+                            mirrorBytesReceived.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        // Reset by the probe
+                    }
+                }
+            } catch (IOException e) {
+                // Closed
+            }
+        }, "failover-test-mirror");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+}
@@ -0,0 +1,83 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the data-idle watchdog: a connection that stays open but stops delivering is replaced.
+ */
+class WebSocketClientLivenessTest {
+
+    private static final String SUBSCRIBE = "{\"op\":\"subscribe\"}";
+    private static final String HEARTBEAT = "{\"op\":\"ping\"}";
+
+    private MockWebSocketServer server;
+    private WebSocketClient client;
+    private WebSocketMetrics metrics;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) {
+            client.stop();
+        }
+        if (server != null) {
+            server.close();
+        }
+        if (metrics != null) {
+            metrics.close();
+        }
+    }
+
+    @Test
+    void testSilentConnectionIsReplaced() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        metrics = new WebSocketMetrics("liveness-test-" + UUID.randomUUID(), server.getUrl());
+        client = newClient();
+        client.setMetrics(metrics);
+        client.configureLiveness(0, 600, null, 0);
+        client.start();
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+
+        // Given: data flows, then the server goes silent while keeping the connection open
+        FeedGenerator feed = FeedGenerator.builder().rate(200).maxMessages(60).build();
+        server.startFeed(feed);
+        TestWaiter.waitUntil(() -> client.getMessagesReceived() == 60, "Feed should arrive");
+        server.stopFeed();
+        long silentSince = System.nanoTime();
+
+        // Then: the watchdog replaces the connection and records how long it was silent
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS), "Replacement connection subscribes");
+        long detectMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - silentSince);
+        assertEquals(2, server.getConnectionCount());
+        assertEquals(1, metrics.getStaleConnectionsDetected());
+        assertTrue(metrics.getLastStaleDetectMillis() >= 600,
+                "Detected after the idle timeout: " + metrics.getLastStaleDetectMillis());
+        assertTrue(detectMs < 600 + 1000, "Detected soon after the idle timeout: " + detectMs);
+
+        // And: the replacement delivers
+        server.sendMessage("after");
+        TestWaiter.waitUntil(() -> client.getMessagesReceived() == 61, "Replacement should deliver");
+        assertTrue(client.isConnected());
+    }
+
+    @Test
+    void testHeartbeatSentWhileIdle() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient();
+        client.configureLiveness(0, 0, HEARTBEAT, 300);
+        client.start();
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+
+        assertEquals(HEARTBEAT, server.waitForMessage(2, TimeUnit.SECONDS), "Heartbeat sent once idle");
+        assertEquals(1, server.getConnectionCount(), "Heartbeat alone does not replace the connection");
+    }
+
+    private WebSocketClient newClient() {
+        return new WebSocketClient(server.getUrl(), SUBSCRIBE, true, 1000, -1, 1000, null, 1000, 5000);
+    }
+}
@@ -0,0 +1,206 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for pause-aware flow control: what the client does when its queue stops being drained.
+ */
+class WebSocketClientPauseTest {
+
+    private static final String SUBSCRIBE = "{\"op\":\"subscribe\"}";
+    private static final String UNSUBSCRIBE = "{\"op\":\"unsubscribe\"}";
+
+    @TempDir
+    Path tempDir;
+
+    private MockWebSocketServer server;
+    private WebSocketClient client;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) {
+            client.stop();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void testUnsubscribeWhilePausedAndResubscribeOnResume() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient(10);
+        client.configurePauseHandling(WebSocketClient.PauseAction.UNSUBSCRIBE, 300, UNSUBSCRIBE, null, 0);
+        client.start();
+
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+        assertEquals(UNSUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS), "Unsubscribed once not drained");
+
+        client.getMessages();
+
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS), "Resubscribed on the next drain");
+    }
+
+    @Test
+    void testIdleTimeoutDoesNotResubscribeWhilePaused() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient(10);
+        client.configurePauseHandling(WebSocketClient.PauseAction.UNSUBSCRIBE, 300, UNSUBSCRIBE, null, 0);
+        client.configureLiveness(0, 600, null, 0);
+        client.start();
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+        assertEquals(UNSUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+
+        // Then: the silence that follows is not taken for a stale connection
+        assertNull(server.waitForMessage(1500, TimeUnit.MILLISECONDS), "No subscription while paused");
+        assertEquals(1, server.getConnectionCount(), "Connection not replaced while paused");
+
+        client.getMessages();
+
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS), "Resubscribed on the next drain");
+        Thread.sleep(400);
+        assertEquals(1, server.getConnectionCount(), "Idle window restarts on resume");
+    }
+
+    @Test
+    void testNewConnectionWhilePausedDefersSubscription() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient(10);
+        client.configurePauseHandling(WebSocketClient.PauseAction.UNSUBSCRIBE, 300, UNSUBSCRIBE, null, 0);
+        client.configureRotation(0, true, 200, null);
+        client.start();
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+        assertEquals(UNSUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+
+        // When: the server goes away while the task is paused
+        server.closeConnection(1001, "Going away");
+        TestWaiter.waitUntil(() -> server.getConnectionCount() == 2 && client.isConnected(),
+                "Client should open the next connection");
+
+        // Then: the replacement stays unsubscribed until the task polls again
+        assertNull(server.waitForMessage(500, TimeUnit.MILLISECONDS), "No subscription while paused");
+
+        client.getMessages();
+
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS), "Subscribed on the next drain");
+        assertNull(server.waitForMessage(300, TimeUnit.MILLISECONDS), "Subscribed once");
+    }
+
+    @Test
+    void testCloseWhilePausedAndReconnectOnResume() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient(10);
+        client.configurePauseHandling(WebSocketClient.PauseAction.CLOSE, 300, null, null, 0);
+        client.start();
+        TestWaiter.waitUntil(client::isConnected, "Client should connect");
+
+        TestWaiter.waitUntil(() -> !client.isConnected(), "Connection closed once not drained");
+        Thread.sleep(500);
+        assertFalse(client.isConnected(), "No reconnect while paused");
+
+        client.getMessages();
+
+        TestWaiter.waitUntil(client::isConnected, "Reconnected on the next drain");
+    }
+
+    @Test
+    void testSpillKeepsOverflowInOrder() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient(5);
+        client.configurePauseHandling(WebSocketClient.PauseAction.SPILL, 60000,
+                null, new MessageSpool(tempDir.resolve("pause.spool")), 1_000_000);
+        client.start();
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 20; i++) {
+            server.sendMessage(String.valueOf(i));
+        }
+        TestWaiter.waitUntil(() -> client.getMessagesReceived() == 20, "All messages should arrive");
+        assertEquals(0, client.getMessagesDropped());
+
+        List<String> delivered = new ArrayList<>();
+        for (int i = 0; i < 10 && delivered.size() < 20; i++) {
+            delivered.addAll(client.getMessages());
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            expected.add(String.valueOf(i));
+        }
+        assertEquals(expected, delivered);
+    }
+
+    @Test
+    void testSpillReplayedInBoundedChunks() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient(5);
+        client.configurePauseHandling(WebSocketClient.PauseAction.SPILL, 60000,
+                null, new MessageSpool(tempDir.resolve("pause.spool")), 1_000_000);
+        client.start();
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 20; i++) {
+            server.sendMessage(String.valueOf(i));
+        }
+        TestWaiter.waitUntil(() -> client.getMessagesReceived() == 20, "All messages should arrive");
+
+        List<String> delivered = new ArrayList<>(client.getMessages());
+        delivered.addAll(client.getMessages(3));
+        assertEquals(8, delivered.size(), "Replay hands out no more than asked for");
+
+        // Overflow during the replay goes to a fresh spill, after what is still being replayed
+        for (int i = 20; i < 30; i++) {
+            server.sendMessage(String.valueOf(i));
+        }
+        TestWaiter.waitUntil(() -> client.getMessagesReceived() == 30, "All messages should arrive");
+        for (int i = 0; i < 30 && delivered.size() < 30; i++) {
+            List<String> batch = client.getMessages(3);
+            assertTrue(batch.size() <= 3);
+            delivered.addAll(batch);
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            expected.add(String.valueOf(i));
+        }
+        assertEquals(expected, delivered);
+        assertEquals(0, client.getMessagesDropped());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "Spill files removed once replayed");
+        }
+    }
+
+    @Test
+    void testDrainUndeliveredIncludesSpill() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient(2);
+        client.configurePauseHandling(WebSocketClient.PauseAction.SPILL, 60000,
+                null, new MessageSpool(tempDir.resolve("pause.spool")), 1_000_000);
+        client.start();
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+
+        server.sendMessages("a", "b", "c", "d");
+        TestWaiter.waitUntil(() -> client.getMessagesReceived() == 4, "All messages should arrive");
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"), client.drainUndelivered());
+        assertEquals(Collections.emptyList(), client.drainUndelivered());
+    }
+
+    private WebSocketClient newClient(int queueSize) {
+        return new WebSocketClient(server.getUrl(), SUBSCRIBE, true, 100, -1, 1000,
+                null, queueSize, 5000);
+    }
+}
@@ -0,0 +1,130 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for make-before-break connection rotation.
+ */
+class WebSocketClientRotationTest {
+
+    private static final String SUBSCRIBE = "{\"op\":\"subscribe\"}";
+
+    private MockWebSocketServer server;
+    private WebSocketClient client;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) {
+            client.stop();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void testRotatesOnSchedule() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient();
+        client.configureRotation(500, false, 200, null);
+        client.start();
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+
+        // Then: a fresh connection is opened and subscribed while the old one still delivers
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS), "Rotated connection subscribes");
+        assertTrue(server.getConnectionCount() >= 2);
+        TestWaiter.waitUntil(() -> server.getOpenConnectionCount() == 1, "Old connection retired");
+        assertTrue(client.isConnected());
+    }
+
+    @Test
+    void testRotatesImmediatelyOnGoingAway() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient();
+        client.configureRotation(0, true, 200, null);
+        client.start();
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS));
+
+        long closedAt = System.nanoTime();
+        server.closeConnection(1001, "Going away");
+
+        // Then: the next connection is opened right away, not after the 1s reconnect backoff
+        assertEquals(SUBSCRIBE, server.waitForMessage(5, TimeUnit.SECONDS), "New connection subscribes");
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - closedAt) < 900, "No reconnect backoff");
+        TestWaiter.waitUntil(client::isConnected, "Client should be connected again");
+        assertEquals(2, server.getConnectionCount());
+    }
+
+    @Test
+    void testNoGapOrDuplicateAcrossCutover() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient();
+        client.configureRotation(0, false, 500, null);
+        client.start();
+        TestWaiter.waitUntil(client::isConnected, "Client should connect");
+
+        // Given: a feed broadcast to every open connection, as a real server would
+        Thread feed = new Thread(() -> {
+            try {
+                for (int i = 0; i < 600; i++) {
+                    server.broadcast("{\"seq\":" + i + "}");
+                    Thread.sleep(2);
+                    if (i == 100 || i == 350) {
+                        client.resubscribe("test");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "rotation-test-feed");
+        feed.start();
+
+        List<String> delivered = new ArrayList<>();
+        TestWaiter.waitUntil(() -> {
+            delivered.addAll(client.getMessages());
+            return delivered.size() >= 600 || !feed.isAlive() && client.getQueueSize() == 0;
+        }, 10000, "Feed should be delivered");
+        feed.join();
+        Thread.sleep(200);
+        delivered.addAll(client.getMessages());
+
+        // Then: every message exactly once, in order, across both cutovers
+        assertEquals(3, server.getConnectionCount(), "Initial connection plus two rotations");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            expected.add("{\"seq\":" + i + "}");
+        }
+        assertEquals(expected, delivered);
+    }
+
+    @Test
+    void testRetiredConnectionCloseDoesNotReconnect() throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        client = newClient();
+        client.configureRotation(0, false, 100, null);
+        client.start();
+        TestWaiter.waitUntil(client::isConnected, "Client should connect");
+
+        assertTrue(client.resubscribe("test"));
+        TestWaiter.waitUntil(() -> server.getConnectionCount() == 2, "New connection opened");
+        server.broadcast("cut-over");
+        TestWaiter.waitUntil(() -> server.getOpenConnectionCount() == 1, "Old connection retired");
+
+        // Then: the retired connection's close is not treated as a lost connection
+        Thread.sleep(1500);
+        assertEquals(2, server.getConnectionCount(), "No reconnect after the retired connection closed");
+        assertEquals(0, client.getReconnectAttempts());
+        assertTrue(client.isConnected());
+    }
+
+    private WebSocketClient newClient() {
+        return new WebSocketClient(server.getUrl(), SUBSCRIBE, true, 1000, -1, 1000, null, 1000, 5000);
+    }
+}
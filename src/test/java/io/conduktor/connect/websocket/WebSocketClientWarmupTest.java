@@ -0,0 +1,84 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the connection warm-up done on {@link WebSocketClient#start()}.
+ */
+class WebSocketClientWarmupTest {
+
+    private ServerSocket server;
+    private final List<Socket> accepted = new CopyOnWriteArrayList<>();
+    private WebSocketClient client;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) {
+            client.stop();
+        }
+        if (server != null) {
+            server.close();
+        }
+        for (Socket socket : accepted) {
+            socket.close();
+        }
+    }
+
+    @Test
+    void testStartDoesNotWaitForWarmup() throws Exception {
+        // Accepts TCP but never answers the TLS handshake
+        startSilentServer();
+        client = newClient("wss://127.0.0.1:" + server.getLocalPort() + "/ws");
+        client.setWarmupEnabled(true);
+
+        long start = System.nanoTime();
+        client.start();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 1000, "start() should not block on the warm-up, took " + elapsedMs + "ms");
+        TestWaiter.waitUntil(() -> !accepted.isEmpty(), "Warm-up should connect in the background");
+    }
+
+    @Test
+    void testNoWarmupConnectionForPlainWebSocket() throws Exception {
+        startSilentServer();
+        client = newClient("ws://127.0.0.1:" + server.getLocalPort() + "/ws");
+        client.setWarmupEnabled(true);
+
+        client.start();
+        TestWaiter.waitUntil(() -> !accepted.isEmpty(), "Upgrade should connect");
+        Thread.sleep(300);
+
+        assertEquals(1, accepted.size(), "Only the upgrade should open a connection");
+    }
+
+    private void startSilentServer() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(() -> {
+            try {
+                while (!server.isClosed()) {
+                    accepted.add(server.accept());
+                }
+            } catch (IOException e) {
+                // Closed
+            }
+        }, "warmup-test-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    private WebSocketClient newClient(String url) {
+        return new WebSocketClient(url, null, false, 100, -1, 3000, null, 10, 5000);
+    }
+}
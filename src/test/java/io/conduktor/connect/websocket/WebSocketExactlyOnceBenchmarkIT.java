@@ -0,0 +1,264 @@
+package io.conduktor.connect.websocket;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput benchmark: the same feed through a Connect worker without and with exactly-once
+ * source support; the latter both with per-poll transactions and with connector-defined ones.
+ *
+ * Each run pushes MESSAGE_COUNT messages through a MockWebSocketServer as fast as it can and
+ * measures the time until a read_committed consumer has seen all of them. Results, with each
+ * exactly-once run's throughput relative to the run without, are printed and written to
+ * target/exactly-once-benchmark.json; -Dbenchmark.baseline=path/to/previous.json prints the change
+ * against an earlier run. The assertions only check that nothing was lost.
+ *
+ * Starts a broker and two Connect workers in Docker, so it only runs when asked for:
+ * mvn verify -Dbenchmarks=true -Dit.test=WebSocketExactlyOnceBenchmarkIT
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class WebSocketExactlyOnceBenchmarkIT {
+
+    private static final int MESSAGE_COUNT = 50000;
+    private static final String EOS_OFF = "eos-off";
+
+    private static HttpClient httpClient;
+    private static GenericContainer<?> plainWorker;
+    private static GenericContainer<?> exactlyOnceWorker;
+    private static final BenchmarkReport results = new BenchmarkReport();
+    private static double eosOffRecordsPerSecond = 0;
+
+    @Container
+    private static final KafkaContainer kafka = new KafkaContainer(
+            DockerImageName.parse("confluentinc/cp-kafka:7.5.0"))
+            .withNetwork(Network.newNetwork())
+            .withNetworkAliases("kafka");
+
+    @BeforeAll
+    static void setUpAll() throws Exception {
+        httpClient = HttpClient.newHttpClient();
+        String jarPath = findConnectorJar();
+        plainWorker = startWorker(jarPath, "plain", false);
+        exactlyOnceWorker = startWorker(jarPath, "eos", true);
+    }
+
+    @AfterAll
+    static void tearDownAll() throws IOException {
+        try {
+            results.print();
+            String baseline = System.getProperty("benchmark.baseline");
+            if (baseline != null) {
+                results.printComparison(BenchmarkReport.read(Paths.get(baseline)));
+            }
+            results.write(Paths.get("target", "exactly-once-benchmark.json"));
+        } finally {
+            if (plainWorker != null) {
+                plainWorker.stop();
+            }
+            if (exactlyOnceWorker != null) {
+                exactlyOnceWorker.stop();
+            }
+        }
+    }
+
+    @Test
+    @Order(1)
+    void benchmarkWithoutExactlyOnce() throws Exception {
+        run(plainWorker, EOS_OFF, Collections.emptyMap());
+    }
+
+    @Test
+    @Order(2)
+    void benchmarkExactlyOncePerPollBatch() throws Exception {
+        run(exactlyOnceWorker, "eos-poll-batch", Map.of("transaction.boundary", "poll"));
+    }
+
+    @Test
+    @Order(3)
+    void benchmarkExactlyOnceConnectorBoundaries() throws Exception {
+        run(exactlyOnceWorker, "eos-connector-5000", Map.of(
+                "transaction.boundary", "connector",
+                "websocket.transaction.max.records", "5000",
+                "websocket.transaction.interval.ms", "1000"));
+    }
+
+    private void run(GenericContainer<?> worker, String name, Map<String, String> extraConfig) throws Exception {
+        String topic = "eos-benchmark-" + name;
+        try (MockWebSocketServer server = MockWebSocketServer.builder().autoAccept().build()) {
+            org.testcontainers.Testcontainers.exposeHostPorts(server.getPort());
+
+            Map<String, String> config = new LinkedHashMap<>();
+            config.put("connector.class", "io.conduktor.connect.websocket.WebSocketSourceConnector");
+            config.put("tasks.max", "1");
+            config.put("websocket.url", "ws://host.testcontainers.internal:" + server.getPort());
+            config.put("kafka.topic", topic);
+            config.put("websocket.cursor.field", "seq");
+            config.put("websocket.message.queue.size", String.valueOf(MESSAGE_COUNT));
+            config.putAll(extraConfig);
+            createConnector(worker, name, config);
+
+            assertTrue(waitForCondition(server::hasActiveConnection, 60, TimeUnit.SECONDS),
+                    "Connector should connect to the mock server");
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGE_COUNT; i++) {
+                server.sendMessage("{\"seq\":" + i + ",\"payload\":\"benchmark-" + name + "\"}");
+            }
+            int received = countCommitted(topic, MESSAGE_COUNT, Duration.ofMinutes(3));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double recordsPerSecond = received / seconds;
+            if (name.equals(EOS_OFF)) {
+                eosOffRecordsPerSecond = recordsPerSecond;
+            }
+            results.add("benchmark", name, "messages", MESSAGE_COUNT, "received", received,
+                    "seconds", seconds, "records_per_second", recordsPerSecond,
+                    "relative_to_eos_off", eosOffRecordsPerSecond > 0 ? recordsPerSecond / eosOffRecordsPerSecond : -1.0);
+
+            deleteConnector(worker, name);
+            assertEquals(MESSAGE_COUNT, received, "All messages should reach Kafka in run " + name);
+        }
+    }
+
+    // --- Helper methods ---
+
+    private static GenericContainer<?> startWorker(String jarPath, String id, boolean exactlyOnce) {
+        GenericContainer<?> worker = new GenericContainer<>(DockerImageName.parse("confluentinc/cp-kafka-connect:7.5.0"))
+                .withNetwork(kafka.getNetwork())
+                .withNetworkAliases("kafka-connect-" + id)
+                .withExposedPorts(8083)
+                .withEnv("CONNECT_BOOTSTRAP_SERVERS", "kafka:9092")
+                .withEnv("CONNECT_REST_PORT", "8083")
+                .withEnv("CONNECT_GROUP_ID", "websocket-benchmark-" + id)
+                .withEnv("CONNECT_CONFIG_STORAGE_TOPIC", "connect-configs-" + id)
+                .withEnv("CONNECT_CONFIG_STORAGE_REPLICATION_FACTOR", "1")
+                .withEnv("CONNECT_OFFSET_STORAGE_TOPIC", "connect-offsets-" + id)
+                .withEnv("CONNECT_OFFSET_STORAGE_REPLICATION_FACTOR", "1")
+                .withEnv("CONNECT_STATUS_STORAGE_TOPIC", "connect-status-" + id)
+                .withEnv("CONNECT_STATUS_STORAGE_REPLICATION_FACTOR", "1")
+                .withEnv("CONNECT_KEY_CONVERTER", "org.apache.kafka.connect.storage.StringConverter")
+                .withEnv("CONNECT_VALUE_CONVERTER", "org.apache.kafka.connect.storage.StringConverter")
+                .withEnv("CONNECT_REST_ADVERTISED_HOST_NAME", "kafka-connect-" + id)
+                .withEnv("CONNECT_PLUGIN_PATH", "/usr/share/java,/usr/share/confluent-hub-components,/connect-plugins")
+                .withEnv("CONNECT_EXACTLY_ONCE_SOURCE_SUPPORT", exactlyOnce ? "enabled" : "disabled")
+                .withCopyFileToContainer(
+                        MountableFile.forHostPath(jarPath),
+                        "/connect-plugins/kafka-connect-websocket/kafka-connect-websocket.jar")
+                .withAccessToHost(true)
+                .waitingFor(Wait.forHttp("/connectors").forPort(8083).withStartupTimeout(Duration.ofMinutes(2)))
+                .dependsOn(kafka);
+        worker.start();
+        return worker;
+    }
+
+    private static String findConnectorJar() {
+        java.io.File targetDir = new java.io.File("target");
+        java.io.File[] jars = targetDir.listFiles((dir, name) ->
+                name.startsWith("kafka-connect-websocket") && name.endsWith("-jar-with-dependencies.jar"));
+
+        if (jars == null || jars.length == 0) {
+            throw new IllegalStateException(
+                    "Connector JAR not found in target/. Run 'mvn package' first.");
+        }
+        return jars[0].getAbsolutePath();
+    }
+
+    private static void createConnector(GenericContainer<?> worker, String name, Map<String, String> config)
+            throws Exception {
+        StringBuilder json = new StringBuilder("{\"name\":\"").append(name).append("\",\"config\":{");
+        String separator = "";
+        for (Map.Entry<String, String> entry : config.entrySet()) {
+            json.append(separator).append('"').append(entry.getKey()).append("\":\"").append(entry.getValue()).append('"');
+            separator = ",";
+        }
+        json.append("}}");
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(getConnectUrl(worker) + "/connectors"))
+                .POST(HttpRequest.BodyPublishers.ofString(json.toString()))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IOException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static void deleteConnector(GenericContainer<?> worker, String name) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(getConnectUrl(worker) + "/connectors/" + name))
+                .DELETE()
+                .build();
+        httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String getConnectUrl(GenericContainer<?> worker) {
+        return "http://" + worker.getHost() + ":" + worker.getMappedPort(8083);
+    }
+
+    private int countCommitted(String topic, int expectedCount, Duration timeout) {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "benchmark-consumer-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "5000");
+
+        int count = 0;
+        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(props)) {
+            consumer.subscribe(Collections.singletonList(topic));
+            long deadline = System.currentTimeMillis() + timeout.toMillis();
+            while (count < expectedCount && System.currentTimeMillis() < deadline) {
+                ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(200));
+                for (ConsumerRecord<String, String> ignored : records) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean waitForCondition(java.util.function.BooleanSupplier condition, long timeout, TimeUnit unit) {
+        long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+}
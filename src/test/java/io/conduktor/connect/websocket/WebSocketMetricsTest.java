@@ -375,6 +375,54 @@ class WebSocketMetricsTest {
         }
     }
 
+    @Test
+    void testMessageSizeMetrics() throws Exception {
+        // Given: Messages of known sizes, some still queued
+        MessageCounters counters = metrics.getCounters();
+        counters.recordMessageReceived(100);
+        counters.recordMessageReceived(300);
+        counters.recordEnqueued("0123456789");
+        metrics.setQueueCapacity(1000);
+
+        // Then: Sizes, totals and the heap estimate are exposed
+        assertEquals(400L, getAttribute("BytesReceived"));
+        assertEquals(100L, getAttribute("MessageSizeMinBytes"));
+        assertEquals(200.0, getAttribute("MessageSizeMeanBytes"));
+        assertEquals(300L, getAttribute("MessageSizeMaxBytes"));
+        assertEquals(128L, getAttribute("MessageSizeP50Bytes"));
+        assertEquals(10L + WebSocketMetrics.QUEUED_MESSAGE_OVERHEAD_BYTES, getAttribute("QueueEstimatedHeapBytes"));
+        assertEquals(1000 * (200 + WebSocketMetrics.QUEUED_MESSAGE_OVERHEAD_BYTES),
+            getAttribute("QueueEstimatedHeapBytesAtCapacity"));
+
+        // When: Counters are reset
+        metrics.resetCounters();
+
+        // Then: The distribution starts over, the queue estimate does not
+        assertEquals(0L, getAttribute("BytesReceived"));
+        assertEquals(0L, getAttribute("MessageSizeMaxBytes"));
+        assertEquals(10L + WebSocketMetrics.QUEUED_MESSAGE_OVERHEAD_BYTES, getAttribute("QueueEstimatedHeapBytes"));
+    }
+
+    @Test
+    void testRatesSurviveReset() throws Exception {
+        // Given: Traffic sampled by the rate ticker
+        for (int i = 0; i < 10; i++) {
+            metrics.getCounters().recordMessageReceived(100);
+        }
+        TestWaiter.waitUntil(() -> metrics.getMessagesReceivedOneMinuteRate() > 0, 3000,
+            "Rate ticker should sample the counters");
+        assertTrue((Double) getAttribute("BytesReceivedOneMinuteRate") > 0);
+
+        // When: Counters are reset
+        mBeanServer.invoke(objectName, "resetCounters", new Object[]{}, new String[]{});
+        TestWaiter.waitFor(1500);
+
+        // Then: Rates decay instead of jumping negative or to zero
+        double oneMinuteRate = (Double) getAttribute("MessagesReceivedOneMinuteRate");
+        assertTrue(oneMinuteRate > 0, "Got: " + oneMinuteRate);
+        assertEquals(0.0, (Double) getAttribute("MessagesDroppedOneMinuteRate"));
+    }
+
     /**
      * Helper method to get JMX attribute value
      */
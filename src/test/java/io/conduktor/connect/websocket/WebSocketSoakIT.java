@@ -0,0 +1,194 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Soak test for slow leaks: cycles thousands of reconnects of one task, then hundreds of task
+ * start/stop cycles, against a local {@link MockWebSocketServer} (behind a {@link ChaosProxy} that
+ * cuts the connections) with a light feed running throughout.
+ *
+ * Every few cycles it samples heap used after GC, live threads, open file descriptors (where the
+ * JVM reports them) and registered connector MBeans. Threads of OkHttp's shared TaskRunner are
+ * reported but not checked: that pool keeps idle threads for 60 seconds, so under fast reconnect
+ * churn it grows to a plateau and shrinks back once the churn stops. A resource fails the test when it keeps
+ * growing: the medians of the first, middle and last third of the samples increase in that order
+ * and the last exceeds the first by more than the resource's tolerance. One-off growth (lazy
+ * initialisation, a larger but stable pool) does not count. Cycle counts: -Dsoak.reconnects
+ * (default 2000), -Dsoak.restarts (default 300).
+ *
+ * Only runs when asked for: mvn verify -Dbenchmarks=true -Dit.test=WebSocketSoakIT
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class WebSocketSoakIT {
+
+    private static final int RECONNECTS = Integer.getInteger("soak.reconnects", 2000);
+    private static final int RESTARTS = Integer.getInteger("soak.restarts", 300);
+    private static final int SAMPLES = 20;
+
+    private static final long HEAP_TOLERANCE_BYTES = 8L * 1024 * 1024;
+    private static final long THREAD_TOLERANCE = 2;
+    private static final long FD_TOLERANCE = 8;
+    private static final long MBEAN_TOLERANCE = 0;
+
+    private static final class Sample {
+        final long heapBytes;
+        final long threads;
+        final long taskRunnerThreads;
+        final long fileDescriptors;
+        final long mbeans;
+
+        Sample(long heapBytes, long threads, long taskRunnerThreads, long fileDescriptors, long mbeans) {
+            this.heapBytes = heapBytes;
+            this.threads = threads;
+            this.taskRunnerThreads = taskRunnerThreads;
+            this.fileDescriptors = fileDescriptors;
+            this.mbeans = mbeans;
+        }
+
+        @Override
+        public String toString() {
+            return "heap_bytes=" + heapBytes + " threads=" + threads + " okhttp_taskrunner_threads=" + taskRunnerThreads
+                    + " file_descriptors=" + fileDescriptors
+                    + " mbeans=" + mbeans;
+        }
+    }
+
+    @Test
+    void reconnectChurn() throws Exception {
+        try (MockWebSocketServer server = MockWebSocketServer.builder().autoAccept().build();
+             ChaosProxy proxy = new ChaosProxy(server.getPort())) {
+            InProcessConnectRuntime runtime = new InProcessConnectRuntime(config(proxy.getUrl()), 0, 1000);
+            runtime.start();
+            try {
+                WebSocketClient client = runtime.getTask().getClient();
+                TestWaiter.waitUntil(client::isConnected, "Task should connect");
+                server.startFeed(FeedGenerator.builder().rate(1000).build());
+
+                List<Sample> samples = new ArrayList<>();
+                int every = Math.max(1, RECONNECTS / SAMPLES);
+                for (int i = 0; i < RECONNECTS; i++) {
+                    int forwarded = proxy.getConnectionsForwarded();
+                    server.acceptNextConnection();
+                    proxy.disconnectAll();
+                    TestWaiter.waitUntil(() -> proxy.getConnectionsForwarded() > forwarded && client.isConnected(),
+                            10000, "Reconnect " + i + " should succeed");
+                    if (i % every == 0) {
+                        samples.add(sample());
+                    }
+                }
+                server.stopFeed();
+                samples.add(sample());
+                System.out.println("soak=reconnects cycles=" + RECONNECTS + " first={" + samples.get(0)
+                        + "} last={" + samples.get(samples.size() - 1) + "}");
+
+                assertNoSustainedGrowth("heap after GC", samples, s -> s.heapBytes, HEAP_TOLERANCE_BYTES);
+                assertNoSustainedGrowth("threads", samples, s -> s.threads, THREAD_TOLERANCE);
+                assertNoSustainedGrowth("file descriptors", samples, s -> s.fileDescriptors, FD_TOLERANCE);
+                assertNoSustainedGrowth("MBeans", samples, s -> s.mbeans, MBEAN_TOLERANCE);
+            } finally {
+                runtime.stop();
+            }
+        }
+    }
+
+    @Test
+    void taskRestartChurn() throws Exception {
+        try (MockWebSocketServer server = MockWebSocketServer.builder().autoAccept().build()) {
+            server.startFeed(FeedGenerator.builder().rate(1000).build());
+            Map<String, String> props = config(server.getUrl());
+
+            List<Sample> samples = new ArrayList<>();
+            int every = Math.max(1, RESTARTS / SAMPLES);
+            for (int i = 0; i < RESTARTS; i++) {
+                server.acceptNextConnection();
+                InProcessConnectRuntime runtime = new InProcessConnectRuntime(props, 0, 1000);
+                runtime.start();
+                try {
+                    WebSocketClient client = runtime.getTask().getClient();
+                    TestWaiter.waitUntil(client::isConnected, 10000, "Start " + i + " should connect");
+                } finally {
+                    runtime.stop();
+                }
+                if (i % every == 0) {
+                    samples.add(sample());
+                }
+            }
+            server.stopFeed();
+            samples.add(sample());
+            System.out.println("soak=restarts cycles=" + RESTARTS + " first={" + samples.get(0)
+                    + "} last={" + samples.get(samples.size() - 1) + "}");
+
+            assertNoSustainedGrowth("heap after GC", samples, s -> s.heapBytes, HEAP_TOLERANCE_BYTES);
+            assertNoSustainedGrowth("threads", samples, s -> s.threads, THREAD_TOLERANCE);
+            assertNoSustainedGrowth("file descriptors", samples, s -> s.fileDescriptors, FD_TOLERANCE);
+            assertEquals(0, samples.get(samples.size() - 1).mbeans, "Stopped tasks should unregister their MBeans");
+        }
+    }
+
+    private static Map<String, String> config(String url) {
+        Map<String, String> props = new HashMap<>();
+        props.put("name", "soak");
+        props.put(WebSocketSourceConnectorConfig.WEBSOCKET_URL_CONFIG, url);
+        props.put(WebSocketSourceConnectorConfig.KAFKA_TOPIC_CONFIG, "soak");
+        props.put(WebSocketSourceConnectorConfig.RECONNECT_INTERVAL_MS_CONFIG, "20");
+        props.put(WebSocketSourceConnectorConfig.RECONNECT_MAX_ATTEMPTS_CONFIG, "-1");
+        return props;
+    }
+
+    private static Sample sample() throws InterruptedException, MalformedObjectNameException {
+        // Let closing sockets and exiting threads settle, then collect twice for a stable heap
+        Thread.sleep(200);
+        System.gc();
+        Thread.sleep(100);
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heap = runtime.totalMemory() - runtime.freeMemory();
+        long threads = 0;
+        long taskRunnerThreads = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("OkHttp TaskRunner")) {
+                taskRunnerThreads++;
+            } else {
+                threads++;
+            }
+        }
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        long fds = os instanceof com.sun.management.UnixOperatingSystemMXBean
+                ? ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount() : -1;
+        long mbeans = ManagementFactory.getPlatformMBeanServer()
+                .queryNames(new ObjectName("io.conduktor.connect.websocket:*"), null).size();
+        return new Sample(heap, threads, taskRunnerThreads, fds, mbeans);
+    }
+
+    private static void assertNoSustainedGrowth(String resource, List<Sample> samples, ToLongFunction<Sample> value,
+                                                long tolerance) {
+        int third = samples.size() / 3;
+        if (third == 0) {
+            return;
+        }
+        long first = median(samples.subList(0, third), value);
+        long middle = median(samples.subList(third, samples.size() - third), value);
+        long last = median(samples.subList(samples.size() - third, samples.size()), value);
+        boolean growing = first < middle && middle < last && last - first > tolerance;
+        assertFalse(growing, String.format("%s keeps growing: %d -> %d -> %d (tolerance %d)",
+                resource, first, middle, last, tolerance));
+    }
+
+    private static long median(List<Sample> samples, ToLongFunction<Sample> value) {
+        long[] values = samples.stream().mapToLong(value).sorted().toArray();
+        return values[values.length / 2];
+    }
+}
@@ -1,5 +1,7 @@
 package io.conduktor.connect.websocket;
 
+import org.apache.kafka.connect.source.ConnectorTransactionBoundaries;
+import org.apache.kafka.connect.source.ExactlyOnceSupport;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
@@ -64,4 +66,18 @@ class WebSocketSourceConnectorTest {
         assertNotNull(connector.config());
         assertEquals(WebSocketSourceConnectorConfig.CONFIG_DEF, connector.config());
     }
+
+    @Test
+    void testExactlyOnceSupportRequiresCursor() {
+        WebSocketSourceConnector connector = new WebSocketSourceConnector();
+
+        Map<String, String> props = new HashMap<>();
+        props.put(WebSocketSourceConnectorConfig.WEBSOCKET_URL_CONFIG, "wss://example.com/ws");
+        props.put(WebSocketSourceConnectorConfig.KAFKA_TOPIC_CONFIG, "test-topic");
+        assertEquals(ExactlyOnceSupport.UNSUPPORTED, connector.exactlyOnceSupport(props));
+
+        props.put(WebSocketSourceConnectorConfig.CURSOR_FIELD_CONFIG, "seq");
+        assertEquals(ExactlyOnceSupport.SUPPORTED, connector.exactlyOnceSupport(props));
+        assertEquals(ConnectorTransactionBoundaries.SUPPORTED, connector.canDefineTransactionBoundaries(props));
+    }
 }
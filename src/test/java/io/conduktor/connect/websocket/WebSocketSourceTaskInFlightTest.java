@@ -0,0 +1,108 @@
+package io.conduktor.connect.websocket;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-flight window between poll() and commitRecord().
+ */
+class WebSocketSourceTaskInFlightTest {
+
+    private MockWebSocketServer mockServer;
+    private WebSocketSourceTask task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockServer = MockWebSocketServer.builder().build();
+        task = new WebSocketSourceTask();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        task.stop();
+        mockServer.close();
+    }
+
+    @Test
+    void testPollStopsAtWindowAndResumesOnAck() throws Exception {
+        task.start(createConfig("5"));
+        TestWaiter.waitUntil(mockServer::hasActiveConnection, "Server should accept the connection");
+        for (int i = 0; i < 12; i++) {
+            mockServer.sendMessage("{\"n\":" + i + "}");
+        }
+        Thread.sleep(500);
+
+        List<SourceRecord> first = task.poll();
+        assertEquals(5, first.size(), "Only a full window is handed out");
+        assertNull(task.poll(), "Nothing more until records are acknowledged");
+
+        for (int i = 0; i < 3; i++) {
+            task.commitRecord(first.get(i), null);
+        }
+        List<SourceRecord> second = task.poll();
+        assertEquals(3, second.size(), "Acknowledged records free up the window");
+
+        List<String> values = new ArrayList<>();
+        first.forEach(record -> values.add((String) record.value()));
+        second.forEach(record -> values.add((String) record.value()));
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals("{\"n\":" + i + "}", values.get(i), "Messages stay in order");
+        }
+    }
+
+    @Test
+    void testWindowDisabled() throws Exception {
+        task.start(createConfig("0"));
+        TestWaiter.waitUntil(mockServer::hasActiveConnection, "Server should accept the connection");
+        for (int i = 0; i < 12; i++) {
+            mockServer.sendMessage("{\"n\":" + i + "}");
+        }
+        Thread.sleep(500);
+
+        assertEquals(12, task.poll().size());
+    }
+
+    @Test
+    void testFullWindowIsNotTakenForAPause() throws Exception {
+        Map<String, String> props = createConfig("2");
+        props.put(WebSocketSourceConnectorConfig.PAUSE_ACTION_CONFIG, "close");
+        props.put(WebSocketSourceConnectorConfig.PAUSE_DETECT_MS_CONFIG, "300");
+        task.start(props);
+        TestWaiter.waitUntil(mockServer::hasActiveConnection, "Server should accept the connection");
+        for (int i = 0; i < 5; i++) {
+            mockServer.sendMessage("{\"n\":" + i + "}");
+        }
+        TestWaiter.waitUntil(() -> task.getClient().getMessagesReceived() == 5, "Messages should arrive");
+        assertEquals(2, task.poll().size());
+
+        // When: the framework keeps polling for well past the detection window, nothing acknowledged
+        long until = System.currentTimeMillis() + 1500;
+        while (System.currentTimeMillis() < until) {
+            assertNull(task.poll(), "Window is full");
+            Thread.sleep(50);
+        }
+
+        // Then: backpressure did not close the connection as if the connector were paused
+        assertTrue(task.getClient().isConnected(), "Still connected under backpressure");
+        assertTrue(mockServer.hasActiveConnection());
+    }
+
+    private Map<String, String> createConfig(String maxInFlight) {
+        Map<String, String> props = new HashMap<>();
+        props.put(WebSocketSourceConnectorConfig.WEBSOCKET_URL_CONFIG, mockServer.getUrl());
+        props.put(WebSocketSourceConnectorConfig.KAFKA_TOPIC_CONFIG, "test-topic");
+        props.put(WebSocketSourceConnectorConfig.RECONNECT_ENABLED_CONFIG, "false");
+        props.put(WebSocketSourceConnectorConfig.MESSAGE_QUEUE_SIZE_CONFIG, "100");
+        props.put(WebSocketSourceConnectorConfig.INFLIGHT_MAX_RECORDS_CONFIG, maxInFlight);
+        return props;
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -118,6 +119,60 @@ class WebSocketSourceTaskOffsetTest {
         }
     }
 
+    @Test
+    void testCursorStoredInSourceOffset() throws Exception {
+        // Given: MockWebSocketServer sending messages that carry a server cursor
+        try (MockWebSocketServer mockServer = MockWebSocketServer.builder()
+                .sendOnConnect("{\"u\":100,\"p\":\"1.0\"}", "{\"type\":\"heartbeat\"}")
+                .build()) {
+            Map<String, String> props = createMinimalConfigWithMockServer(mockServer);
+            props.put(WebSocketSourceConnectorConfig.CURSOR_FIELD_CONFIG, "u");
+            task.start(props);
+
+            List<SourceRecord> records = new ArrayList<>();
+            TestWaiter.waitUntil(() -> {
+                try {
+                    List<SourceRecord> polled = task.poll();
+                    if (polled != null) {
+                        records.addAll(polled);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return records.size() >= 2;
+            }, 5000, "Should receive both messages");
+
+            // Then: the cursor is stored, and carried over by messages without one
+            assertEquals("100", records.get(0).sourceOffset().get("cursor"));
+            assertEquals("100", records.get(1).sourceOffset().get("cursor"));
+        }
+    }
+
+    @Test
+    void testRestoredCursorIsTemplatedIntoSubscription() throws Exception {
+        // Given: A stored offset carrying a server cursor
+        Map<String, Object> storedOffset = new HashMap<>();
+        storedOffset.put("session_id", "previous-session");
+        storedOffset.put("sequence", 42L);
+        storedOffset.put("cursor", "1001");
+        doReturn(storedOffset).when(mockOffsetReader).offset(anyMap());
+
+        try (MockWebSocketServer mockServer = MockWebSocketServer.builder().build()) {
+            Map<String, String> props = createMinimalConfigWithMockServer(mockServer);
+            props.put(WebSocketSourceConnectorConfig.SUBSCRIPTION_MESSAGE_CONFIG, "{\"op\":\"subscribe\"}");
+            props.put(WebSocketSourceConnectorConfig.CURSOR_SUBSCRIPTION_MESSAGE_CONFIG,
+                    "{\"op\":\"resume\",\"from\":${cursor}}");
+            props.put(WebSocketSourceConnectorConfig.CURSOR_FIELD_CONFIG, "u");
+
+            // When: Task starts
+            task.start(props);
+
+            // Then: The resume message is sent with the restored cursor
+            String subscription = mockServer.waitForMessage(2, TimeUnit.SECONDS);
+            assertEquals("{\"op\":\"resume\",\"from\":1001}", subscription);
+        }
+    }
+
     private Map<String, String> createMinimalConfig() {
         Map<String, String> props = new HashMap<>();
         props.put(WebSocketSourceConnectorConfig.WEBSOCKET_URL_CONFIG, "ws://localhost:9999");
@@ -0,0 +1,142 @@
+package io.conduktor.connect.websocket;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for spooling undelivered messages on task stop and replaying them on the next start.
+ */
+class WebSocketSourceTaskSpoolTest {
+
+    private static final String CONNECTOR_NAME = "spool-test";
+
+    @TempDir
+    Path tempDir;
+
+    private MockWebSocketServer server;
+    private WebSocketSourceTask task;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (task != null) {
+            task.stop();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void testUndeliveredMessagesReplayedBeforeLiveOnes() throws Exception {
+        Map<String, String> props = createConfig();
+        props.put(WebSocketSourceConnectorConfig.SPOOL_ENABLED_CONFIG, "true");
+
+        // Given: messages received but never polled when the task stops
+        stopWithUndelivered(props, "a", "b", "c");
+        assertTrue(Files.exists(tempDir.resolve(CONNECTOR_NAME + "-undelivered.spool")), "Undelivered spooled");
+
+        // When: the task starts again and the feed continues
+        server = MockWebSocketServer.builder().autoAccept().build();
+        props.put(WebSocketSourceConnectorConfig.WEBSOCKET_URL_CONFIG, server.getUrl());
+        task = new WebSocketSourceTask();
+        task.start(props);
+        TestWaiter.waitUntil(server::hasActiveConnection, "Server should accept the connection");
+        server.sendMessage("d");
+
+        // Then: the spooled messages come first, in order
+        assertEquals(Arrays.asList("a", "b", "c", "d"), pollValues(4));
+        assertFalse(Files.exists(tempDir.resolve(CONNECTOR_NAME + "-undelivered.spool")), "Spool consumed");
+    }
+
+    @Test
+    void testNothingSpooledByDefault() throws Exception {
+        stopWithUndelivered(createConfig(), "a", "b");
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "No spool file without opt-in");
+        }
+    }
+
+    @Test
+    void testSpoolDiscardedWhenResumingFromCursor() throws Exception {
+        Map<String, String> props = createConfig();
+        props.put(WebSocketSourceConnectorConfig.SPOOL_ENABLED_CONFIG, "true");
+        props.put(WebSocketSourceConnectorConfig.CURSOR_FIELD_CONFIG, "u");
+        Path spoolFile = tempDir.resolve(CONNECTOR_NAME + "-undelivered.spool");
+        new MessageSpool(spoolFile).appendAll(Collections.singletonList("{\"u\":1}"));
+
+        // When: the task starts from the cursor; the server resends from there
+        server = MockWebSocketServer.builder().autoAccept().build();
+        props.put(WebSocketSourceConnectorConfig.WEBSOCKET_URL_CONFIG, server.getUrl());
+        task = new WebSocketSourceTask();
+        task.start(props);
+        TestWaiter.waitUntil(server::hasActiveConnection, "Server should accept the connection");
+        server.sendMessages("{\"u\":1}", "{\"u\":2}");
+
+        // Then: the spooled copy is not replayed on top of the resent one
+        assertEquals(Arrays.asList("{\"u\":1}", "{\"u\":2}"), pollValues(2));
+        assertFalse(Files.exists(spoolFile), "Stale spool removed");
+
+        // And: nothing is spooled on stop either
+        server.sendMessage("{\"u\":3}");
+        TestWaiter.waitUntil(() -> task.getClient().getMessagesReceived() == 3, "Message should arrive");
+        task.stop();
+        task = null;
+        assertFalse(Files.exists(spoolFile), "Nothing spooled when resuming from a cursor");
+    }
+
+    private void stopWithUndelivered(Map<String, String> props, String... messages) throws Exception {
+        server = MockWebSocketServer.builder().autoAccept().build();
+        props.put(WebSocketSourceConnectorConfig.WEBSOCKET_URL_CONFIG, server.getUrl());
+        task = new WebSocketSourceTask();
+        task.start(props);
+        TestWaiter.waitUntil(server::hasActiveConnection, "Server should accept the connection");
+        server.sendMessages(messages);
+        TestWaiter.waitUntil(() -> task.getClient().getMessagesReceived() == messages.length,
+                "Messages should arrive");
+        task.stop();
+        task = null;
+        server.close();
+        server = null;
+    }
+
+    private List<String> pollValues(int count) throws Exception {
+        List<String> values = new ArrayList<>();
+        TestWaiter.waitUntil(() -> {
+            try {
+                List<SourceRecord> records = task.poll();
+                if (records != null) {
+                    records.forEach(record -> values.add((String) record.value()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return values.size() >= count;
+        }, 5000, "Should receive " + count + " records");
+        return values;
+    }
+
+    private Map<String, String> createConfig() {
+        Map<String, String> props = new HashMap<>();
+        props.put("name", CONNECTOR_NAME);
+        props.put(WebSocketSourceConnectorConfig.KAFKA_TOPIC_CONFIG, "test-topic");
+        props.put(WebSocketSourceConnectorConfig.RECONNECT_ENABLED_CONFIG, "false");
+        props.put(WebSocketSourceConnectorConfig.MESSAGE_QUEUE_SIZE_CONFIG, "100");
+        props.put(WebSocketSourceConnectorConfig.SPOOL_DIR_CONFIG, tempDir.toString());
+        return props;
+    }
+}
@@ -0,0 +1,155 @@
+package io.conduktor.connect.websocket;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end throughput and latency of the connector without Docker or a broker: a synthetic feed
+ * from {@link MockWebSocketServer} into a task run by {@link InProcessConnectRuntime}, for a matrix
+ * of feed rates, payload sizes, queue sizes and in-flight windows.
+ *
+ * Each scenario warms up, then measures sustained records per second (acknowledged into the
+ * in-memory topic), end-to-end latency percentiles (feed send to poll() return) and drops, and
+ * finally drains. Results are printed and written to target/throughput-benchmark.json; the
+ * assertions only check that every message was either delivered once, in order, or counted as
+ * dropped. Durations: -Dbenchmark.warmup.seconds (default 3), -Dbenchmark.duration.seconds
+ * (default 10); -Dbenchmark.baseline=path/to/previous.json prints the change against an earlier run.
+ *
+ * Takes minutes, so it only runs when asked for:
+ * mvn verify -Dbenchmarks=true -Dit.test=WebSocketThroughputBenchmarkIT
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class WebSocketThroughputBenchmarkIT {
+
+    private static final long WARMUP_MS = Long.getLong("benchmark.warmup.seconds", 3) * 1000;
+    private static final long DURATION_MS = Long.getLong("benchmark.duration.seconds", 10) * 1000;
+    private static final long DRAIN_TIMEOUT_MS = 30000;
+
+    private static final BenchmarkReport results = new BenchmarkReport();
+
+    private static final class Scenario {
+        final String name;
+        final FeedGenerator.Builder feed;
+        final int queueSize;
+        final long inFlightMaxRecords;
+        final long ackDelayMs;
+
+        Scenario(String name, FeedGenerator.Builder feed, int queueSize, long inFlightMaxRecords, long ackDelayMs) {
+            this.name = name;
+            this.feed = feed;
+            this.queueSize = queueSize;
+            this.inFlightMaxRecords = inFlightMaxRecords;
+            this.ackDelayMs = ackDelayMs;
+        }
+    }
+
+    private static List<Scenario> matrix() {
+        List<Scenario> matrix = new ArrayList<>();
+        matrix.add(new Scenario("50k-256b-queue-10k",
+                FeedGenerator.builder().rate(50_000).payloadSizes(FeedGenerator.SizeDistribution.fixed(256)),
+                10_000, 0, 0));
+        matrix.add(new Scenario("50k-lognormal-queue-10k",
+                FeedGenerator.builder().rate(50_000)
+                        .payloadSizes(FeedGenerator.SizeDistribution.logNormal(512, 1.0, 65536)),
+                10_000, 0, 0));
+        matrix.add(new Scenario("200k-256b-queue-10k",
+                FeedGenerator.builder().rate(200_000).payloadSizes(FeedGenerator.SizeDistribution.fixed(256)),
+                10_000, 0, 0));
+        matrix.add(new Scenario("200k-256b-queue-100k",
+                FeedGenerator.builder().rate(200_000).payloadSizes(FeedGenerator.SizeDistribution.fixed(256)),
+                100_000, 0, 0));
+        matrix.add(new Scenario("200k-256b-inflight-20k-ack-5ms",
+                FeedGenerator.builder().rate(200_000).payloadSizes(FeedGenerator.SizeDistribution.fixed(256)),
+                100_000, 20_000, 5));
+        matrix.add(new Scenario("500k-128b-queue-100k",
+                FeedGenerator.builder().rate(500_000).payloadSizes(FeedGenerator.SizeDistribution.fixed(128)),
+                100_000, 0, 0));
+        matrix.add(new Scenario("100k-bursts-x5-queue-100k",
+                FeedGenerator.builder().rate(100_000).burst(1000, 200, 5)
+                        .payloadSizes(FeedGenerator.SizeDistribution.uniform(64, 512)),
+                100_000, 0, 0));
+        return matrix;
+    }
+
+    @AfterAll
+    static void report() throws IOException {
+        results.print();
+        String baseline = System.getProperty("benchmark.baseline");
+        if (baseline != null) {
+            results.printComparison(BenchmarkReport.read(Paths.get(baseline)));
+        }
+        results.write(Paths.get("target", "throughput-benchmark.json"));
+    }
+
+    @Test
+    void benchmarkMatrix() throws Exception {
+        for (Scenario scenario : matrix()) {
+            run(scenario);
+        }
+    }
+
+    private void run(Scenario scenario) throws Exception {
+        try (MockWebSocketServer server = MockWebSocketServer.builder().autoAccept().build()) {
+            Map<String, String> props = new HashMap<>();
+            props.put("name", "throughput-" + scenario.name);
+            props.put(WebSocketSourceConnectorConfig.WEBSOCKET_URL_CONFIG, server.getUrl());
+            props.put(WebSocketSourceConnectorConfig.KAFKA_TOPIC_CONFIG, "benchmark");
+            props.put(WebSocketSourceConnectorConfig.RECONNECT_ENABLED_CONFIG, "false");
+            props.put(WebSocketSourceConnectorConfig.MESSAGE_QUEUE_SIZE_CONFIG, String.valueOf(scenario.queueSize));
+            props.put(WebSocketSourceConnectorConfig.INFLIGHT_MAX_RECORDS_CONFIG,
+                    String.valueOf(scenario.inFlightMaxRecords));
+
+            InProcessConnectRuntime runtime = new InProcessConnectRuntime(props, scenario.ackDelayMs, 60000);
+            runtime.start();
+            try {
+                TestWaiter.waitUntil(server::hasActiveConnection, "Task should connect to the mock server");
+                FeedGenerator feed = scenario.feed.build();
+                server.startFeed(feed);
+
+                Thread.sleep(WARMUP_MS);
+                runtime.resetLatencies();
+                long ackedBefore = runtime.getRecordsAcked();
+                long start = System.nanoTime();
+                Thread.sleep(DURATION_MS);
+                long acked = runtime.getRecordsAcked() - ackedBefore;
+                double seconds = (System.nanoTime() - start) / 1e9;
+                double p50 = runtime.getLatencyPercentileMs(50);
+                double p99 = runtime.getLatencyPercentileMs(99);
+                double p999 = runtime.getLatencyPercentileMs(99.9);
+                server.stopFeed();
+
+                WebSocketClient client = runtime.getTask().getClient();
+                long sent = feed.getMessagesSent();
+                TestWaiter.waitUntil(() -> runtime.getRecordsAcked() + client.getMessagesDropped() >= sent,
+                        DRAIN_TIMEOUT_MS, "Scenario " + scenario.name + " should drain");
+                long dropped = client.getMessagesDropped();
+
+                results.add("benchmark", scenario.name,
+                        "feed_per_second", Math.round(feed.getAchievedRate()),
+                        "records_per_second", Math.round(acked / seconds),
+                        "latency_p50_ms", p50,
+                        "latency_p99_ms", p99,
+                        "latency_p999_ms", p999,
+                        "messages_sent", sent,
+                        "messages_dropped", dropped,
+                        "feed_backpressure_stalls", feed.getBackpressureStalls());
+
+                assertEquals(0, runtime.getOutOfOrder(), "Records stay in order in scenario " + scenario.name);
+                assertEquals(sent, runtime.getRecordsAcked() + dropped,
+                        "Every message is delivered or counted as dropped in scenario " + scenario.name);
+            } finally {
+                runtime.stop();
+            }
+        }
+    }
+}